@@ -16,7 +16,7 @@ import java.util.Scanner;
 
 public class CastingManagerApp {
     private static final Scanner sc = new Scanner(System.in);
-    private static final CastingManager castingManager = new CastingManager();
+    private static final CastingManager castingManager = new CastingManager(ConsoleEventSink.CONSOLE_AND_LOG);
     private static Casting casting;
     private static boolean runCasting;
 
@@ -53,6 +53,7 @@ public class CastingManagerApp {
                                 Participant participant = buildParticipant();
                                 try {
                                     castingManager.registerParticipant(participant);
+                                    System.out.println("New participant was added");
                                 } catch (NoRegisteredException exception) {
                                     System.out.println("Participant data entered incorrectly");
                                 }
@@ -151,7 +152,9 @@ public class CastingManagerApp {
         String newStatus = sc.nextLine().trim().toUpperCase();
 
         try {
-            castingManager.updateParticipantStatus(participantId, ParticipantStatus.valueOf(newStatus));
+            if (!castingManager.updateParticipantStatus(participantId, ParticipantStatus.valueOf(newStatus))) {
+                System.out.println("Status was not updated \n");
+            }
         } catch (IllegalArgumentException exception) {
             System.out.println("New status is null \n");
             log.error("attempt enter incorrect status");
@@ -169,6 +172,8 @@ public class CastingManagerApp {
         if (casting == null) {
             System.out.println("No casting found with such id");
             runCasting = false;
+        } else {
+            System.out.println(casting);
         }
         return casting;
     }
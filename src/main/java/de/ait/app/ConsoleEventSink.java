@@ -0,0 +1,21 @@
+package de.ait.app;
+
+import de.ait.notification.AsyncLoggingEventSink;
+import de.ait.notification.DomainEvent;
+import de.ait.notification.DomainEventSink;
+
+/**
+ * Prints the domain events published by the services to the console.
+ * Console output belongs to the app layer; the services only publish domain events.
+ */
+public class ConsoleEventSink implements DomainEventSink {
+    /**
+     * Sink shared by the console apps: prints every domain event and logs it in the background.
+     */
+    static final DomainEventSink CONSOLE_AND_LOG = DomainEventSink.of(new ConsoleEventSink(), new AsyncLoggingEventSink());
+
+    @Override
+    public void publish(DomainEvent event) {
+        System.out.println(event.getMessage());
+    }
+}
@@ -1,6 +1,7 @@
 package de.ait.app;
 
 import de.ait.service.ContractManagerImpl;
+import de.ait.service.ContractStore;
 import de.ait.model.Contract;
 import de.ait.utilities.ContractTerms;
 import lombok.extern.slf4j.Slf4j;
@@ -15,9 +16,18 @@ import java.util.Scanner;
 public class ContractManagerApp {
 
     private static final Scanner sc = new Scanner(System.in);
-    private static final ContractManagerImpl contraсtManager = new ContractManagerImpl();
+    private static final String CONTRACTS_JOURNAL_FILE = "src/main/java/de/ait/files/Contracts.journal";
+    private static final String CONTRACTS_SNAPSHOT_FILE = "src/main/java/de/ait/files/Contracts.snapshot";
+    private static final ContractManagerImpl contraсtManager = new ContractManagerImpl(
+            new ContractStore(CONTRACTS_JOURNAL_FILE, CONTRACTS_SNAPSHOT_FILE));
+    private static final int EXPIRY_WINDOW_DAYS = 30;
     private static boolean runProgram = true;
 
+    static {
+        // announces contracts in the background as they enter the expiry window
+        contraсtManager.startExpiryNotifier(EXPIRY_WINDOW_DAYS, ConsoleEventSink.CONSOLE_AND_LOG);
+    }
+
     public static void main(String[] args) {
         ContractManagerApp app = new ContractManagerApp();
         app.start();
@@ -36,6 +46,7 @@ public class ContractManagerApp {
                 case 4 -> {
                     runProgram = false;
                     log.info("Quit the program ContractManagerApp");
+                    contraсtManager.syncStore();
                     System.out.println("Exiting the program.");
                     return false;
                 }
@@ -130,10 +141,7 @@ public class ContractManagerApp {
     }
 
     private static Contract findContractById(String contractId) {
-        return contraсtManager.getContracts().stream()
-                .filter(contract -> contract.getId().equals(contractId))
-                .findFirst()
-                .orElse(null);
+        return contraсtManager.findById(contractId).orElse(null);
     }
 
     private static void updateContractTerms(Contract contract) {
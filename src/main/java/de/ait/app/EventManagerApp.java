@@ -1,7 +1,7 @@
 package de.ait.app;
 
-import de.ait.repository.EventManagerRepository;
 import de.ait.service.EventManagerImpl;
+import de.ait.service.EventStore;
 import de.ait.exceptions.EventAlreadyInListException;
 import de.ait.exceptions.EventIsNotInListException;
 import de.ait.model.Event;
@@ -17,7 +17,10 @@ import java.util.Scanner;
 @Slf4j
 public class EventManagerApp {
     private static final Scanner sc = new Scanner(System.in);
-    private static final EventManagerRepository eventManager = new EventManagerImpl();
+    private static final String EVENTS_JOURNAL_FILE = "src/main/java/de/ait/files/Events.journal";
+    private static final String EVENTS_SNAPSHOT_FILE = "src/main/java/de/ait/files/Events.snapshot";
+    private static final EventManagerImpl eventManager = new EventManagerImpl(ConsoleEventSink.CONSOLE_AND_LOG,
+            new EventStore(EVENTS_JOURNAL_FILE, EVENTS_SNAPSHOT_FILE));
 
     public static void main(String[] args) {
         EventManagerApp app = new EventManagerApp();
@@ -36,7 +39,7 @@ public class EventManagerApp {
                 case 2 -> deleteEvent(); // Delete an Event by ID
                 case 3 -> {
                     // Working with an Event
-                    if (!eventManager.getEvents().isEmpty()) {
+                    if (!eventManager.isEmpty()) {
                         boolean runEvent = true;
                         byte choiceEvent;
 
@@ -111,6 +114,7 @@ public class EventManagerApp {
 
                     System.out.println("Exiting the program.");
                     log.warn("Quit the program EventManagerApp");
+                    eventManager.syncStore();
                     run = false;
                     return false; // return signal for general menu APP
                 }
@@ -272,7 +276,7 @@ public class EventManagerApp {
     }
 
     private static void deleteEvent() {
-        if (!eventManager.getEvents().isEmpty()) {
+        if (!eventManager.isEmpty()) {
             String eventId = inputEventId();
             try {
                 eventManager.removeEventById(eventId);
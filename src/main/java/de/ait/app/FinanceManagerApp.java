@@ -7,9 +7,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 
@@ -19,6 +21,7 @@ public class FinanceManagerApp {
     private static final FinanceManagerImpl financeManager = new FinanceManagerImpl();
     private static final Scanner sc = new Scanner(System.in);
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MM.yyyy");
 
 
     public boolean start() {
@@ -35,7 +38,8 @@ public class FinanceManagerApp {
                 case 3 -> calculateBalance();
                 case 4 -> saveRecordsToFile();
                 case 5 -> loadRecordsFromFile();
-                case 6 -> {
+                case 6 -> showCategoryReport();
+                case 7 -> {
                     financeManager.clearRecordsOnExit();
                     log.warn("Quit the program FinanceManagerApp");
                     System.out.println("Exiting the program.");
@@ -57,7 +61,8 @@ public class FinanceManagerApp {
         System.out.println("3. Calculate balance for a period");
         System.out.println("4. Save records to file");
         System.out.println("5. Load records from file");
-        System.out.println("6. Exit");
+        System.out.println("6. Show totals by category for a period");
+        System.out.println("7. Exit");
         System.out.print("Choose an action: ");
     }
 
@@ -165,6 +170,42 @@ public class FinanceManagerApp {
         System.out.println("Balance for the period from " + startDate + " to " + endDate + ": " + balance);
     }
 
+    private static void showCategoryReport() {
+        System.out.print("Enter start month (MM.yyyy): ");
+        YearMonth from;
+        try {
+            from = YearMonth.parse(sc.nextLine(), monthFormatter);
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid month format. Use MM.yyyy");
+            System.err.println("Invalid month format. Use MM.yyyy");
+            return;
+        }
+
+        System.out.print("Enter end month (MM.yyyy): ");
+        YearMonth to;
+        try {
+            to = YearMonth.parse(sc.nextLine(), monthFormatter);
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid month format. Use MM.yyyy");
+            System.err.println("Invalid month format. Use MM.yyyy");
+            return;
+        }
+        if (from.isAfter(to)) {
+            log.warn("Invalid month range: {} is after {}", from, to);
+            System.err.println("Error: The start month cannot be after the end month.");
+            return;
+        }
+
+        for (RecordType type : RecordType.values()) {
+            System.out.println(type + " by category from " + from.format(monthFormatter) + " to " + to.format(monthFormatter) + ":");
+            Map<CategoryType, Double> totals = financeManager.getTotalsByCategory(type, from, to);
+            if (totals.isEmpty()) {
+                System.out.println("- no records");
+            }
+            totals.forEach((category, total) -> System.out.println("- " + category + ": " + total));
+        }
+    }
+
     private static void saveRecordsToFile() {
         String fileName = "src/main/java/de/ait/files/FinanceRecord.csv";
         System.out.print("Save records to file: " + fileName);
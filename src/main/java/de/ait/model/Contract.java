@@ -1,6 +1,10 @@
 package de.ait.model;
 
+import de.ait.notification.DomainEvent;
+import de.ait.notification.DomainEventSink;
+import de.ait.utilities.CachedToday;
 import de.ait.utilities.ContractTerms;
+import de.ait.utilities.DomainEventType;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
@@ -11,6 +15,9 @@ import java.util.UUID;
  * The Contract class represents an agreement with an artist.
  * It contains contract details, including the artist's name, start and end dates,
  * contract terms, and a unique contract identifier.
+ * Every change made through a setter is published to the contract's {@link DomainEventSink},
+ * with the name of the changed field as the detail. Before a setter changes anything,
+ * the contract's {@link ChangeGuard} can reject the new values.
  */
 @Slf4j
 public class Contract {
@@ -19,6 +26,8 @@ public class Contract {
     private LocalDate startDate;
     private LocalDate endDate;
     private ContractTerms terms;
+    private volatile DomainEventSink eventSink = DomainEventSink.NONE; // receives the changes made by the setters
+    private volatile ChangeGuard changeGuard = ChangeGuard.NONE; // may reject a change before it is made
 
     /**
      * Constructor for creating a new contract.
@@ -46,6 +55,26 @@ public class Contract {
         log.info("New contract created: {}", this);
     }
 
+    /**
+     * Constructor for restoring a stored contract with its existing identifier.
+     *
+     * @param id         contract ID.
+     * @param artistName name of the artist.
+     * @param startDate  contract start date.
+     * @param endDate    contract end date.
+     * @param terms      contract terms.
+     */
+    public Contract(String id, String artistName, LocalDate startDate, LocalDate endDate, ContractTerms terms) {
+        validateArtistName(artistName);
+        validateDates(startDate, endDate);
+        validateTerms(terms);
+        this.id = id;
+        this.artistName = artistName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.terms = terms;
+    }
+
     /**
      * Get the unique contract identifier.
      *
@@ -71,7 +100,9 @@ public class Contract {
      */
     public void setArtistName(String artistName) {
         validateArtistName(artistName);
+        changeGuard.check(this, artistName, startDate, endDate, terms);
         this.artistName = artistName;
+        publishChange("artistName");
         log.info("Updated artist name for contract {}: {}", id, artistName);
     }
 
@@ -91,7 +122,9 @@ public class Contract {
      */
     public void setStartDate(LocalDate startDate) {
         validateDates(startDate, this.endDate);
+        changeGuard.check(this, artistName, startDate, endDate, terms);
         this.startDate = startDate;
+        publishChange("startDate");
         log.info("Updated start date for contract {}: {}", id, startDate);
     }
 
@@ -111,7 +144,9 @@ public class Contract {
      */
     public void setEndDate(LocalDate endDate) {
         validateDates(this.startDate, endDate);
+        changeGuard.check(this, artistName, startDate, endDate, terms);
         this.endDate = endDate;
+        publishChange("endDate");
         log.info("Updated end date for contract {}: {}", id, endDate);
     }
 
@@ -131,10 +166,34 @@ public class Contract {
      */
     public void setTerms(ContractTerms terms) {
         validateTerms(terms);
+        changeGuard.check(this, artistName, startDate, endDate, terms);
         this.terms = terms;
+        publishChange("terms");
         log.info("Updated terms for contract {}: {}", id, terms);
     }
 
+    /**
+     * Set the sink that receives the changes of this contract.
+     *
+     * @param eventSink sink for domain events, null for none.
+     */
+    public void setEventSink(DomainEventSink eventSink) {
+        this.eventSink = eventSink == null ? DomainEventSink.NONE : eventSink;
+    }
+
+    /**
+     * Set the guard that may reject changes of this contract.
+     *
+     * @param changeGuard guard for changes, null for none.
+     */
+    public void setChangeGuard(ChangeGuard changeGuard) {
+        this.changeGuard = changeGuard == null ? ChangeGuard.NONE : changeGuard;
+    }
+
+    private void publishChange(String field) {
+        eventSink.publish(new DomainEvent(DomainEventType.CONTRACT_UPDATED, id, artistName, field));
+    }
+
     // *** Validation Methods ***
     private void validateArtistName(String artistName) {
         if (artistName == null || artistName.trim().isEmpty()) {
@@ -167,10 +226,20 @@ public class Contract {
      * @return true if the contract is active, otherwise false.
      */
     public boolean isActive() {
+        return isActive(CachedToday.SYSTEM.get());
+    }
+
+    /**
+     * Checks if the contract is active on a given day.
+     * Bulk checks should pass the same day to every contract instead of calling {@link #isActive()}.
+     *
+     * @param today the day to check.
+     * @return true if the contract is active on that day, otherwise false.
+     */
+    public boolean isActive(LocalDate today) {
         if (startDate == null || endDate == null) {
             return false;
         }
-        LocalDate today = LocalDate.now();
         return !today.isBefore(startDate) && !today.isAfter(endDate);
     }
 
@@ -183,7 +252,7 @@ public class Contract {
         if (endDate == null) {
             return -1; // Error if the date is not set
         }
-        LocalDate today = LocalDate.now();
+        LocalDate today = CachedToday.SYSTEM.get();
         LocalDate start = this.startDate;
 
         // If the contract has not started yet, count from the start date instead of today
@@ -208,4 +277,26 @@ public class Contract {
                 '}';
     }
 
-}
\ No newline at end of file
+    /**
+     * Checks the values a setter is about to give a contract, e.g. for conflicts with other contracts.
+     */
+    @FunctionalInterface
+    public interface ChangeGuard {
+        /**
+         * Guard that accepts every change.
+         */
+        ChangeGuard NONE = (contract, artistName, startDate, endDate, terms) -> { };
+
+        /**
+         * Checks the new values of a contract; all values are given, changed or not.
+         *
+         * @param contract   the contract before the change.
+         * @param artistName the new artist name.
+         * @param startDate  the new start date.
+         * @param endDate    the new end date.
+         * @param terms      the new contract terms.
+         * @throws IllegalArgumentException if the change is not allowed.
+         */
+        void check(Contract contract, String artistName, LocalDate startDate, LocalDate endDate, ContractTerms terms);
+    }
+}
@@ -1,21 +1,33 @@
 package de.ait.model;
 
+import de.ait.notification.DomainEvent;
+import de.ait.notification.DomainEventSink;
+import de.ait.utilities.DomainEventType;
 import de.ait.utilities.EventType;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashSet;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * The Event class manages a list of artists and ticket sales.
  * It contains event information such as: name, event type,
  * date, location, total and sold ticket count,
  * ticket price for this event, and a list of artists.
+ * Ticket sales are lock-free: the sold ticket count is only advanced by compare-and-set,
+ * so concurrent buyers can never sell more tickets than the event has. It has no setter;
+ * a stored count is restored through the constructor.
  */
 @Slf4j
 @Getter
@@ -26,11 +38,20 @@ public class Event {
     private EventType eventType; // event type
     private LocalDate date; // date
     private String location; // location
-    private int totalTicketCount; // total ticket count
-    private int soldTicketCount; // sold ticket count
+    private volatile int totalTicketCount; // total ticket count
+    @Setter(AccessLevel.NONE)
+    private volatile int soldTicketCount; // sold ticket count, only advanced by SOLD_TICKET_COUNT
     private double ticketPrice; // price of one ticket
-    HashSet<String> artistList; // list of artists (String - artist name)
+    @Setter(AccessLevel.NONE)
+    private final Set<String> artistList = ConcurrentHashMap.newKeySet(); // artist names, safe to copy while changed
+    @Setter(AccessLevel.NONE)
+    private volatile SeatInventory seatInventory; // seat map, null for events without assigned seats
+    @Getter(AccessLevel.NONE)
+    private volatile DomainEventSink eventSink = DomainEventSink.NONE; // receives ticket and artist changes
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final AtomicIntegerFieldUpdater<Event> SOLD_TICKET_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(Event.class, "soldTicketCount");
+    private static final Duration DIRECT_SALE_HOLD = Duration.ofMinutes(1); // hold used by trySellTicket on seated events
 
     /**
      * Creates a new event object when no tickets have been sold yet and the artists are unknown.
@@ -58,7 +79,6 @@ public class Event {
         this.totalTicketCount = totalTicketCount;
         this.soldTicketCount = 0;
         this.ticketPrice = ticketPrice;
-        this.artistList = new HashSet<>();
     }
 
     /**
@@ -89,7 +109,6 @@ public class Event {
         this.totalTicketCount = totalTicketCount;
         this.soldTicketCount = soldTicketCount;
         this.ticketPrice = ticketPrice;
-        this.artistList = new HashSet<>();
     }
 
     /**
@@ -102,7 +121,7 @@ public class Event {
      * @param totalTicketCount  Total ticket count
      * @param soldTicketCount   Sold ticket count
      * @param ticketPrice       Price of one ticket
-     * @param artistList        List of artists
+     * @param artistList        List of artists, copied
      */
     public Event(String name,
                  EventType eventType,
@@ -122,7 +141,111 @@ public class Event {
         this.totalTicketCount = totalTicketCount;
         this.soldTicketCount = soldTicketCount;
         this.ticketPrice = ticketPrice;
-        this.artistList = artistList;
+        if (artistList != null) {
+            this.artistList.addAll(artistList);
+        }
+    }
+
+    /**
+     * Restores an event with a known identifier, for example from the event store.
+     * @param id                Unique identifier
+     * @param name              Name
+     * @param eventType         Event type
+     * @param date              Date
+     * @param location          Location
+     * @param totalTicketCount  Total ticket count
+     * @param soldTicketCount   Sold ticket count
+     * @param ticketPrice       Price of one ticket
+     * @param artistList        List of artists, copied
+     */
+    public Event(String id,
+                 String name,
+                 EventType eventType,
+                 LocalDate date,
+                 String location,
+                 int totalTicketCount,
+                 int soldTicketCount,
+                 double ticketPrice,
+                 HashSet<String> artistList) {
+        this.id = id;
+        this.name = name;
+        this.eventType = eventType;
+        this.date = date;
+        this.location = location;
+        this.totalTicketCount = totalTicketCount;
+        this.soldTicketCount = soldTicketCount;
+        this.ticketPrice = ticketPrice;
+        if (artistList != null) {
+            this.artistList.addAll(artistList);
+        }
+    }
+
+    /**
+     * Sets the sink that receives the ticket sales and artist changes of this event.
+     * @param eventSink Sink for domain events, null for none
+     */
+    public void setEventSink(DomainEventSink eventSink) {
+        this.eventSink = eventSink == null ? DomainEventSink.NONE : eventSink;
+    }
+
+    /**
+     * Sets the name and publishes the change.
+     * @param name Name
+     */
+    public void setName(String name) {
+        this.name = name;
+        eventSink.publish(new DomainEvent(DomainEventType.EVENT_UPDATED, id, name, null));
+    }
+
+    /**
+     * Sets the event type and publishes the change.
+     * @param eventType Event type
+     */
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+        eventSink.publish(new DomainEvent(DomainEventType.EVENT_UPDATED, id, name, null));
+    }
+
+    /**
+     * Sets the date and publishes the change.
+     * @param date Date
+     */
+    public void setDate(LocalDate date) {
+        this.date = date;
+        eventSink.publish(new DomainEvent(DomainEventType.EVENT_UPDATED, id, name, null));
+    }
+
+    /**
+     * Sets the location and publishes the change.
+     * @param location Location
+     */
+    public void setLocation(String location) {
+        this.location = location;
+        eventSink.publish(new DomainEvent(DomainEventType.EVENT_UPDATED, id, name, null));
+    }
+
+    /**
+     * Sets the total ticket count and publishes the change.
+     * Once a seat map is attached the seats are the tickets, so the count can no longer be set.
+     * @param totalTicketCount Total ticket count
+     * @throws IllegalArgumentException If a seat map is attached to the event
+     */
+    public synchronized void setTotalTicketCount(int totalTicketCount) {
+        if (seatInventory != null) {
+            log.error("Total ticket count of event {} is set by its seat map", name);
+            throw new IllegalArgumentException("Total ticket count cannot be changed after a seat map is attached");
+        }
+        this.totalTicketCount = totalTicketCount;
+        eventSink.publish(new DomainEvent(DomainEventType.EVENT_UPDATED, id, name, null));
+    }
+
+    /**
+     * Sets the ticket price and publishes the change.
+     * @param ticketPrice Price of one ticket
+     */
+    public void setTicketPrice(double ticketPrice) {
+        this.ticketPrice = ticketPrice;
+        eventSink.publish(new DomainEvent(DomainEventType.EVENT_UPDATED, id, name, null));
     }
 
     /**
@@ -136,16 +259,120 @@ public class Event {
     /**
      * Method for selling tickets.
      * @param count Number of tickets to sell.
+     * @throws IllegalArgumentException If the count is not positive or not enough tickets are left,
+     *                                  or, with a seat map, no block of that many adjacent seats is free.
      */
     public void sellTicket(int count) {
+        if (!trySellTicket(count)) {
+            int available = totalTicketCount - soldTicketCount;
+            SeatInventory inventory = seatInventory;
+            if (inventory != null && count <= inventory.getAvailableCount()) {
+                log.warn("No block of {} adjacent seats is free for event {}", count, name);
+                throw new IllegalArgumentException("No block of " + count + " adjacent seats is free. "
+                        + available + " seats are available, but not next to each other.");
+            }
+            throw new IllegalArgumentException("Not enough tickets. Only " + available + " available.");
+        }
+    }
+
+    /**
+     * Sells tickets if enough are left and publishes the sale.
+     * Safe to call from many threads at once: the sale either takes all requested tickets or none.
+     * @param count Number of tickets to sell.
+     * With a seat map the tickets are the best block of adjacent free seats (see {@link SeatInventory#holdBestAvailable}).
+     * @return true if the tickets were sold, false if not enough tickets are left
+     *         or, with a seat map, no block of that many adjacent seats is free.
+     * @throws IllegalArgumentException If the count is not positive.
+     */
+    public boolean trySellTicket(int count) {
         if (count <= 0) {
             throw new IllegalArgumentException("The number of tickets must be greater than 0.");
         }
-        if (soldTicketCount + count > totalTicketCount) {
-            throw new IllegalArgumentException("Not enough tickets. Only " + (totalTicketCount - soldTicketCount) + " available.");
+        SeatInventory inventory = seatInventory;
+        if (inventory != null) {
+            Optional<SeatHold> hold = inventory.holdBestAvailable(count, DIRECT_SALE_HOLD);
+            return hold.isPresent() && commitSeatHold(hold.get().getId());
+        }
+        while (true) {
+            int sold = soldTicketCount;
+            if (count > totalTicketCount - sold) {
+                return false;
+            }
+            if (SOLD_TICKET_COUNT.compareAndSet(this, sold, sold + count)) {
+                publishSale(count);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Attaches a seat map to the event. Afterwards every ticket is a seat:
+     * the total ticket count becomes the number of seats and tickets are sold through seat holds.
+     * @param inventory Seat map of the venue
+     * @throws IllegalArgumentException If the inventory is null or empty, or tickets were already sold
+     */
+    public synchronized void attachSeatInventory(SeatInventory inventory) {
+        if (inventory == null || inventory.getCapacity() == 0) {
+            log.error("Invalid seat inventory: Seat inventory cannot be empty or null");
+            throw new IllegalArgumentException("Invalid seat inventory: Seat inventory cannot be empty or null");
+        }
+        if (soldTicketCount != 0 || inventory.getSoldCount() != 0) {
+            log.error("Seat inventory cannot be attached to event {} after tickets were sold", name);
+            throw new IllegalArgumentException("Seat inventory cannot be attached after tickets were sold");
+        }
+        totalTicketCount = inventory.attach(); // no sections can be added afterwards
+        seatInventory = inventory;
+    }
+
+    /**
+     * Holds the best block of adjacent free seats (see {@link SeatInventory#holdBestAvailable}).
+     * @param count    Number of adjacent seats
+     * @param duration How long the seats stay held
+     * @return The hold, or empty if no block of that size is free
+     * @throws IllegalStateException If the event has no seat inventory
+     */
+    public Optional<SeatHold> holdSeats(int count, Duration duration) {
+        return requireSeatInventory().holdBestAvailable(count, duration);
+    }
+
+    /**
+     * Sells the seats of a hold, counts them as sold tickets and publishes the sale.
+     * @param holdId Identifier of the hold
+     * @return true if the seats were sold, false if the hold does not exist or has expired
+     * @throws IllegalStateException If the event has no seat inventory
+     */
+    public boolean commitSeatHold(String holdId) {
+        Optional<SeatHold> hold = requireSeatInventory().commit(holdId);
+        // every seat is a ticket, so the count can never exceed the total here
+        hold.ifPresent(committed -> {
+            SOLD_TICKET_COUNT.addAndGet(this, committed.getSeatCount());
+            publishSale(committed.getSeatCount());
+        });
+        return hold.isPresent();
+    }
+
+    /**
+     * Releases the seats of a hold.
+     * @param holdId Identifier of the hold
+     * @return true if the hold was active
+     * @throws IllegalStateException If the event has no seat inventory
+     */
+    public boolean releaseSeatHold(String holdId) {
+        return requireSeatInventory().release(holdId);
+    }
+
+    private void publishSale(int count) {
+        eventSink.publish(new DomainEvent(DomainEventType.TICKETS_SOLD, id, name, null,
+                count, totalTicketCount - soldTicketCount));
+    }
+
+    private SeatInventory requireSeatInventory() {
+        SeatInventory inventory = seatInventory;
+        if (inventory == null) {
+            log.error("Event {} has no seat inventory", name);
+            throw new IllegalStateException("Event " + name + " has no seat inventory");
         }
-        soldTicketCount += count;
-        System.out.println(count + " tickets sold. Tickets remaining: " + (totalTicketCount - soldTicketCount));
+        return inventory;
     }
 
     /**
@@ -169,7 +396,7 @@ public class Event {
         if (!artistList.add(artistName)) {
             throw new IllegalArgumentException("Artist is already added to the event.");
         }
-        System.out.println("Artist " + artistName + " added to the event: " + name);
+        eventSink.publish(new DomainEvent(DomainEventType.ARTIST_ADDED, id, name, artistName));
     }
 
     /**
@@ -177,11 +404,10 @@ public class Event {
      * @param artistName Artist name.
      */
     public void removeArtist(String artistName) {
-        if (!artistList.contains(artistName)) {
+        if (artistName == null || !artistList.remove(artistName)) {
             throw new NoSuchElementException("Artist not found in the event.");
         }
-        artistList.remove(artistName);
-        System.out.println("Artist " + artistName + " removed from the event: " + name);
+        eventSink.publish(new DomainEvent(DomainEventType.ARTIST_REMOVED, id, name, artistName));
     }
 
     /**
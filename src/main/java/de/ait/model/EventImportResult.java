@@ -0,0 +1,64 @@
+package de.ait.model;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The EventImportResult class is the outcome of a bulk import of events:
+ * the identifiers of the events that were added and one error per rejected row.
+ */
+@Getter
+@ToString
+public class EventImportResult {
+    private final List<String> addedIds; // identifiers of the added events, in input order
+    private final List<RowError> errors; // rejected rows, in input order
+
+    /**
+     * Creates an import result.
+     * @param addedIds  Identifiers of the added events
+     * @param errors    Rejected rows
+     */
+    public EventImportResult(List<String> addedIds, List<RowError> errors) {
+        this.addedIds = Collections.unmodifiableList(addedIds);
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns the number of added events.
+     * @return Number of added events
+     */
+    public int getAddedCount() {
+        return addedIds.size();
+    }
+
+    /**
+     * Checks whether any row was rejected.
+     * @return true if there are errors
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * A rejected row and the reason it was rejected.
+     */
+    @Getter
+    @ToString
+    public static class RowError {
+        private final int row; // row number, starting at 1
+        private final String message; // reason, as in the exception addEvent would have thrown
+
+        /**
+         * Creates a row error.
+         * @param row     Row number, starting at 1
+         * @param message Reason the row was rejected
+         */
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+    }
+}
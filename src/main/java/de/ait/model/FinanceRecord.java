@@ -32,6 +32,25 @@ public class FinanceRecord implements Serializable {
 
 
     public FinanceRecord(RecordType type, double amount, String description, LocalDate date, CategoryType category) {
+        this(generateNumericUUID(), type, amount, description, date, category); // Generation of unique identifier
+    }
+
+    /**
+     * Restores a financial record with an already known identifier,
+     * e.g. when replaying it from the persistence journal.
+     *
+     * @param id          The identifier the record was originally created with.
+     * @param type        The type of record (INCOME or EXPENSE).
+     * @param amount      The monetary amount of the record.
+     * @param description A brief description of the record.
+     * @param date        The date of the record.
+     * @param category    The type of category (income or expense)
+     */
+    public FinanceRecord(String id, RecordType type, double amount, String description, LocalDate date, CategoryType category) {
+        if (id == null || id.isEmpty()) {
+            log.error("Error: Empty or null id");
+            throw new IllegalArgumentException("Id cannot be empty");
+        }
         if (type == null) {
             log.error("Error: RecordType provided as null");
             throw new IllegalArgumentException("RecordType cannot be null");
@@ -54,7 +73,7 @@ public class FinanceRecord implements Serializable {
             throw new IllegalArgumentException("CategoryType cannot be null");
         }
 
-        this.id = generateNumericUUID(); // Generation of unique identifier
+        this.id = id;
         this.type = type;
         this.amount = amount;
         this.description = description;
@@ -66,8 +85,19 @@ public class FinanceRecord implements Serializable {
      * Generates a unique numeric 16-character ID from UUID.
      */
     private static String generateNumericUUID() {
-        String numericUUID = UUID.randomUUID().toString().replaceAll("[^0-9]", "");
-        return String.format("%-16s", numericUUID).replace(' ', '0').substring(0, 16);
+        String uuid = UUID.randomUUID().toString();
+        char[] digits = new char[16];
+        int count = 0;
+        for (int i = 0; i < uuid.length() && count < digits.length; i++) {
+            char c = uuid.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits[count++] = c;
+            }
+        }
+        while (count < digits.length) {
+            digits[count++] = '0'; // pad like String.format("%-16s") + replace(' ', '0')
+        }
+        return new String(digits);
     }
 
 
@@ -1,16 +1,20 @@
 package de.ait.model;
 
 import de.ait.utilities.ParticipantStatus;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Класс Participant представляет участника с уникальным идентификатором, именем и статусом.
  * Использует Lombok для автоматической генерации геттеров и метода toString.
+ * Статус можно менять только атомарно через {@link #compareAndSetStatus}, иначе индекс статусов
+ * в CastingManager разошелся бы с участником.
  */
 @Slf4j
 @Getter
@@ -23,8 +27,12 @@ public class Participant {
     /** Имя участника */
     private String name;
 
-    /** Статус участника */
-    private ParticipantStatus status;
+    /** Статус участника, меняется только через {@link #compareAndSetStatus} */
+    @Setter(AccessLevel.NONE)
+    private volatile ParticipantStatus status;
+
+    private static final AtomicReferenceFieldUpdater<Participant, ParticipantStatus> STATUS =
+            AtomicReferenceFieldUpdater.newUpdater(Participant.class, ParticipantStatus.class, "status");
 
 
     /**
@@ -54,4 +62,14 @@ public class Participant {
         this.status = status;
     }
 
+    /**
+     * Атомарно меняет статус, если текущий статус равен ожидаемому.
+     *
+     * @param expected  Ожидаемый текущий статус
+     * @param newStatus Новый статус
+     * @return true, если статус был изменен
+     */
+    public boolean compareAndSetStatus(ParticipantStatus expected, ParticipantStatus newStatus) {
+        return STATUS.compareAndSet(this, expected, newStatus);
+    }
 }
@@ -0,0 +1,39 @@
+package de.ait.model;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * The SeatHold class describes a block of adjacent seats in one row
+ * that is reserved in a {@link SeatInventory} until it is committed, released or expires.
+ */
+@Getter
+@ToString
+public class SeatHold {
+    private final String id; // unique identifier of the hold
+    private final String section; // section name
+    private final int row; // row number, starting at 1
+    private final int firstSeat; // first seat number in the row, starting at 1
+    private final int seatCount; // number of adjacent seats
+    private final Instant expiresAt; // the seats are released after this moment
+
+    /**
+     * Creates a new seat hold.
+     * @param id          Unique identifier of the hold
+     * @param section     Section name
+     * @param row         Row number, starting at 1
+     * @param firstSeat   First seat number, starting at 1
+     * @param seatCount   Number of adjacent seats
+     * @param expiresAt   Moment after which the hold expires
+     */
+    SeatHold(String id, String section, int row, int firstSeat, int seatCount, Instant expiresAt) {
+        this.id = id;
+        this.section = section;
+        this.row = row;
+        this.firstSeat = firstSeat;
+        this.seatCount = seatCount;
+        this.expiresAt = expiresAt;
+    }
+}
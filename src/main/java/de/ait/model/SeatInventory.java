@@ -0,0 +1,342 @@
+package de.ait.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * The SeatInventory class manages the individual seats of an event venue.
+ * A venue consists of sections (in order of preference, e.g. closest to the stage first),
+ * each with a number of rows of equal length.
+ * <p>
+ * Every row keeps a bitset of taken (held or sold) seats, so checking a seat costs O(1)
+ * and finding a block of adjacent free seats walks the row a machine word at a time.
+ * Rows also keep their number of free seats, so the best-available search skips full rows
+ * without looking at their bits. A stadium with 100,000 seats needs about 15 KB of bitsets.
+ * <p>
+ * Seats are first held for a limited time and then either committed (sold) or released.
+ * Expired holds are released before every operation that reads or changes seats.
+ * All methods are synchronized, so a hold is committed into a sale atomically.
+ */
+@Slf4j
+public class SeatInventory {
+    private final Clock clock;
+    private final Map<String, Section> sections = new LinkedHashMap<>(); // in order of preference
+    private final Map<String, SeatHold> holds = new HashMap<>(); // active holds by id
+    private final PriorityQueue<SeatHold> holdsByExpiry = new PriorityQueue<>(Comparator.comparing(SeatHold::getExpiresAt));
+    private long holdSequence;
+    private int capacity;
+    private int heldCount;
+    private int soldCount;
+    private boolean attached; // the seat map of an event, whose ticket count is the capacity
+
+    /**
+     * Creates an empty seat inventory that uses the system clock for hold expiry.
+     */
+    public SeatInventory() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Creates an empty seat inventory.
+     * @param clock Clock used for hold expiry
+     */
+    public SeatInventory(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a section of equal-length rows behind the sections added before.
+     * @param name        Section name
+     * @param rowCount    Number of rows
+     * @param seatsPerRow Number of seats in every row
+     * @throws IllegalArgumentException If the name is empty or already used, or a size is not positive
+     * @throws IllegalStateException    If the inventory is already attached to an event
+     */
+    public synchronized void addSection(String name, int rowCount, int seatsPerRow) {
+        if (attached) {
+            log.error("Section {} cannot be added to a seat map that is attached to an event", name);
+            throw new IllegalStateException("Sections cannot be added after the seat map is attached to an event");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            log.error("Invalid section name: Section name cannot be empty or null");
+            throw new IllegalArgumentException("Invalid section name: Section name cannot be empty or null");
+        }
+        if (rowCount <= 0 || seatsPerRow <= 0) {
+            log.error("Invalid section size: {} rows with {} seats", rowCount, seatsPerRow);
+            throw new IllegalArgumentException("Invalid section size: Rows and seats per row must be greater than zero");
+        }
+        if (sections.containsKey(name)) {
+            log.error("Section {} already exists", name);
+            throw new IllegalArgumentException("Section " + name + " already exists");
+        }
+        sections.put(name, new Section(rowCount, seatsPerRow));
+        capacity = Math.addExact(capacity, Math.multiplyExact(rowCount, seatsPerRow));
+    }
+
+    /**
+     * Fixes the sections once the inventory becomes the seat map of an event.
+     * @return Number of seats in all sections
+     */
+    synchronized int attach() {
+        attached = true;
+        return capacity;
+    }
+
+    /**
+     * Checks whether a seat is neither held nor sold.
+     * @param section Section name
+     * @param row     Row number, starting at 1
+     * @param seat    Seat number, starting at 1
+     * @return true if the seat is free
+     * @throws IllegalArgumentException If the seat does not exist
+     */
+    public synchronized boolean isAvailable(String section, int row, int seat) {
+        releaseExpiredHolds();
+        Section s = section(section);
+        s.checkSeats(row, seat, 1);
+        return !s.taken[row - 1].get(seat - 1);
+    }
+
+    /**
+     * Holds the best block of adjacent free seats: the first section and row (in order of preference)
+     * that has enough adjacent free seats, and within that row the block closest to the middle.
+     * @param seatCount Number of adjacent seats
+     * @param duration  How long the seats stay held
+     * @return The hold, or empty if no row has enough adjacent free seats
+     * @throws IllegalArgumentException If the seat count or the duration is not positive
+     */
+    public synchronized Optional<SeatHold> holdBestAvailable(int seatCount, Duration duration) {
+        validateHold(seatCount, duration);
+        releaseExpiredHolds();
+        if (seatCount > capacity - heldCount - soldCount) {
+            return Optional.empty();
+        }
+        for (Map.Entry<String, Section> entry : sections.entrySet()) {
+            Section section = entry.getValue();
+            if (seatCount > section.seatsPerRow) {
+                continue;
+            }
+            for (int row = 0; row < section.taken.length; row++) {
+                if (section.freeInRow[row] < seatCount) {
+                    continue;
+                }
+                int first = section.bestBlock(row, seatCount);
+                if (first >= 0) {
+                    return Optional.of(createHold(entry.getKey(), section, row, first, seatCount, duration));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Holds a specific block of adjacent seats.
+     * @param section   Section name
+     * @param row       Row number, starting at 1
+     * @param firstSeat First seat number, starting at 1
+     * @param seatCount Number of adjacent seats
+     * @param duration  How long the seats stay held
+     * @return The hold, or empty if any of the seats is held or sold
+     * @throws IllegalArgumentException If the seats do not exist, or the seat count or the duration is not positive
+     */
+    public synchronized Optional<SeatHold> hold(String section, int row, int firstSeat, int seatCount, Duration duration) {
+        validateHold(seatCount, duration);
+        releaseExpiredHolds();
+        Section s = section(section);
+        s.checkSeats(row, firstSeat, seatCount);
+        BitSet taken = s.taken[row - 1];
+        int next = taken.nextSetBit(firstSeat - 1);
+        if (next >= 0 && next < firstSeat - 1 + seatCount) {
+            return Optional.empty();
+        }
+        return Optional.of(createHold(section, s, row - 1, firstSeat - 1, seatCount, duration));
+    }
+
+    /**
+     * Turns a hold into a sale. The seats stay taken and the hold ends.
+     * @param holdId Identifier of the hold
+     * @return The committed hold, or empty if the hold does not exist, was released or has expired
+     */
+    public synchronized Optional<SeatHold> commit(String holdId) {
+        releaseExpiredHolds();
+        SeatHold hold = holds.remove(holdId);
+        if (hold == null) {
+            return Optional.empty();
+        }
+        heldCount -= hold.getSeatCount();
+        soldCount += hold.getSeatCount();
+        return Optional.of(hold);
+    }
+
+    /**
+     * Releases a hold so that its seats become available again.
+     * @param holdId Identifier of the hold
+     * @return true if the hold was active
+     */
+    public synchronized boolean release(String holdId) {
+        releaseExpiredHolds();
+        SeatHold hold = holds.get(holdId);
+        if (hold == null) {
+            return false;
+        }
+        releaseHold(hold);
+        return true;
+    }
+
+    /**
+     * Releases all holds whose expiry time has passed.
+     * @return Number of released holds
+     */
+    public synchronized int releaseExpiredHolds() {
+        Instant now = clock.instant();
+        int released = 0;
+        while (!holdsByExpiry.isEmpty() && !holdsByExpiry.peek().getExpiresAt().isAfter(now)) {
+            SeatHold hold = holdsByExpiry.poll();
+            if (holds.get(hold.getId()) == hold) { // committed and released holds stay queued until they expire
+                releaseHold(hold);
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.info("Released {} expired seat holds", released);
+        }
+        return released;
+    }
+
+    /**
+     * Returns the total number of seats.
+     * @return Number of seats in all sections
+     */
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of seats that are neither held nor sold.
+     * @return Number of free seats
+     */
+    public synchronized int getAvailableCount() {
+        releaseExpiredHolds();
+        return capacity - heldCount - soldCount;
+    }
+
+    /**
+     * Returns the number of seats in active holds.
+     * @return Number of held seats
+     */
+    public synchronized int getHeldCount() {
+        releaseExpiredHolds();
+        return heldCount;
+    }
+
+    /**
+     * Returns the number of sold seats.
+     * @return Number of sold seats
+     */
+    public synchronized int getSoldCount() {
+        return soldCount;
+    }
+
+    private SeatHold createHold(String sectionName, Section section, int row, int first, int seatCount, Duration duration) {
+        section.taken[row].set(first, first + seatCount);
+        section.freeInRow[row] -= seatCount;
+        heldCount += seatCount;
+        SeatHold hold = new SeatHold(Long.toString(++holdSequence), sectionName, row + 1, first + 1, seatCount,
+                clock.instant().plus(duration));
+        holds.put(hold.getId(), hold);
+        holdsByExpiry.add(hold);
+        return hold;
+    }
+
+    private void releaseHold(SeatHold hold) {
+        holds.remove(hold.getId());
+        Section section = sections.get(hold.getSection());
+        int row = hold.getRow() - 1;
+        section.taken[row].clear(hold.getFirstSeat() - 1, hold.getFirstSeat() - 1 + hold.getSeatCount());
+        section.freeInRow[row] += hold.getSeatCount();
+        heldCount -= hold.getSeatCount();
+    }
+
+    private Section section(String name) {
+        Section section = sections.get(name);
+        if (section == null) {
+            log.error("Section {} does not exist", name);
+            throw new IllegalArgumentException("Section " + name + " does not exist");
+        }
+        return section;
+    }
+
+    private static void validateHold(int seatCount, Duration duration) {
+        if (seatCount <= 0) {
+            throw new IllegalArgumentException("The number of seats must be greater than 0.");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("The hold duration must be positive.");
+        }
+    }
+
+    /**
+     * Rows of one section; index 0 is row 1 and bit 0 is seat 1.
+     */
+    private static final class Section {
+        private final int seatsPerRow;
+        private final BitSet[] taken; // held or sold seats per row
+        private final int[] freeInRow;
+
+        private Section(int rowCount, int seatsPerRow) {
+            this.seatsPerRow = seatsPerRow;
+            this.taken = new BitSet[rowCount];
+            this.freeInRow = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                taken[row] = new BitSet(seatsPerRow);
+                freeInRow[row] = seatsPerRow;
+            }
+        }
+
+        private void checkSeats(int row, int firstSeat, int seatCount) {
+            if (row < 1 || row > taken.length || firstSeat < 1 || firstSeat - 1 + seatCount > seatsPerRow) {
+                throw new IllegalArgumentException("Seat does not exist: row " + row + ", seat " + firstSeat);
+            }
+        }
+
+        /**
+         * Returns the start of the free block of the given size closest to the middle of the row, or -1.
+         */
+        private int bestBlock(int row, int seatCount) {
+            BitSet bits = taken[row];
+            int best = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            int start = bits.nextClearBit(0);
+            while (start + seatCount <= seatsPerRow) {
+                int end = bits.nextSetBit(start);
+                if (end < 0 || end > seatsPerRow) {
+                    end = seatsPerRow;
+                }
+                if (end - start >= seatCount) {
+                    // the centred position inside this free run, clamped to the run
+                    int centred = Math.min(Math.max(start, (seatsPerRow - seatCount) / 2), end - seatCount);
+                    int distance = Math.abs(2 * centred + seatCount - seatsPerRow);
+                    if (distance < bestDistance) {
+                        best = centred;
+                        bestDistance = distance;
+                    }
+                }
+                if (end >= seatsPerRow) {
+                    break;
+                }
+                start = bits.nextClearBit(end);
+            }
+            return best;
+        }
+    }
+}
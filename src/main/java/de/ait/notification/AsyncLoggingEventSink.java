@@ -0,0 +1,99 @@
+package de.ait.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The AsyncLoggingEventSink class writes domain events to the log on a background thread.
+ * <p>
+ * {@link #publish(DomainEvent)} only puts the event into a bounded queue; a daemon thread
+ * takes the events out in batches and formats and logs them. When the queue is full,
+ * events are dropped and counted instead of blocking the publishing service.
+ */
+@Slf4j
+public class AsyncLoggingEventSink implements DomainEventSink, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 16_384;
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<DomainEvent> queue;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Creates a sink with room for 16,384 pending events and starts its background thread.
+     */
+    public AsyncLoggingEventSink() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a sink and starts its background thread.
+     * @param capacity Maximum number of pending events
+     */
+    public AsyncLoggingEventSink(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::writeLoop, "domain-event-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        if (closed || !queue.offer(event)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns how many events were dropped because the queue was full or the sink was closed.
+     * @return Number of dropped events
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Stops accepting events, logs the pending ones and stops the background thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<DomainEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                DomainEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (DomainEvent event : batch) {
+                    log.info("{}", event.getMessage());
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long dropped = droppedCount.get();
+        if (dropped > 0) {
+            log.warn("{} domain events were dropped", dropped);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package de.ait.notification;
+
+import de.ait.utilities.DomainEventType;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The DomainEvent class describes something that happened in a service,
+ * e.g. an event was added or tickets were sold.
+ * Services only fill in the raw values; the text is built by {@link #getMessage()}
+ * when a sink actually needs it, so publishing costs no string formatting.
+ */
+@Getter
+@ToString
+public class DomainEvent {
+    private final DomainEventType type; // what happened
+    private final String subjectId; // identifier of the event, casting or contract
+    private final String subjectName; // name of the event or casting, may be null
+    private final String detail; // e.g. the artist name, may be null
+    private final int quantity; // e.g. the number of sold tickets
+    private final int remaining; // e.g. the number of remaining tickets
+
+    /**
+     * Creates a new domain event.
+     * @param type        What happened
+     * @param subjectId   Identifier of the event or casting
+     * @param subjectName Name of the event or casting, may be null
+     * @param detail      Additional text such as an artist name, may be null
+     * @param quantity    Quantity such as the number of sold tickets
+     * @param remaining   Remaining quantity such as the number of remaining tickets
+     */
+    public DomainEvent(DomainEventType type, String subjectId, String subjectName, String detail, int quantity, int remaining) {
+        this.type = type;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.detail = detail;
+        this.quantity = quantity;
+        this.remaining = remaining;
+    }
+
+    /**
+     * Creates a new domain event without quantities.
+     * @param type        What happened
+     * @param subjectId   Identifier of the event or casting
+     * @param subjectName Name of the event or casting, may be null
+     * @param detail      Additional text such as an artist name, may be null
+     */
+    public DomainEvent(DomainEventType type, String subjectId, String subjectName, String detail) {
+        this(type, subjectId, subjectName, detail, 0, 0);
+    }
+
+    /**
+     * Returns the human-readable description of the domain event.
+     * @return Message text
+     */
+    public String getMessage() {
+        return switch (type) {
+            case EVENT_ADDED -> "Event " + subjectName + " with Id " + subjectId + " added to the list";
+            case EVENT_REMOVED -> subjectName == null
+                    ? "Event with Id " + subjectId + " removed from the list"
+                    : "Event " + subjectName + " with Id " + subjectId + " removed from the list";
+            case EVENT_UPDATED -> "Event " + subjectName + " with Id " + subjectId + " was updated";
+            case TICKETS_SOLD -> quantity + " tickets sold. Tickets remaining: " + remaining;
+            case ARTIST_ADDED -> "Artist " + detail + " added to the event: " + subjectName;
+            case ARTIST_REMOVED -> "Artist " + detail + " removed from the event: " + subjectName;
+            case CASTING_REGISTERED -> "Casting was added: " + subjectId;
+            case CONTRACT_UPDATED -> "Contract " + subjectId + " was updated: " + detail;
+            case CONTRACT_EXPIRING -> "Contract " + subjectId + " with " + subjectName + " expires on " + detail
+                    + " (in " + quantity + " days)";
+        };
+    }
+}
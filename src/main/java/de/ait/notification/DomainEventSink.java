@@ -0,0 +1,33 @@
+package de.ait.notification;
+
+/**
+ * Receives the domain events published by the services.
+ * Implementations must be cheap and must not block: services publish from their core operations.
+ */
+@FunctionalInterface
+public interface DomainEventSink {
+    /**
+     * Sink that ignores all domain events.
+     */
+    DomainEventSink NONE = event -> { };
+
+    /**
+     * Publishes a domain event.
+     * @param event Domain event
+     */
+    void publish(DomainEvent event);
+
+    /**
+     * Returns a sink that publishes every domain event to all given sinks in order.
+     * @param sinks Sinks to publish to
+     * @return Combined sink
+     */
+    static DomainEventSink of(DomainEventSink... sinks) {
+        DomainEventSink[] copy = sinks.clone();
+        return event -> {
+            for (DomainEventSink sink : copy) {
+                sink.publish(event);
+            }
+        };
+    }
+}
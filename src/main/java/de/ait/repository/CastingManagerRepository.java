@@ -5,6 +5,8 @@ import de.ait.model.Casting;
 import de.ait.model.Participant;
 import de.ait.utilities.ParticipantStatus;
 
+import java.util.List;
+
 public interface CastingManagerRepository {
     void registerCasting(Casting casting);
 
@@ -16,7 +18,11 @@ public interface CastingManagerRepository {
 
     void registerParticipant(Participant participant) throws NoRegisteredException;
 
-    void updateParticipantStatus(String participantId, ParticipantStatus newStatus);
+    boolean updateParticipantStatus(String participantId, ParticipantStatus newStatus);
 
     void showParticipants();
+
+    int countParticipants(ParticipantStatus status);
+
+    List<Participant> getParticipantsByStatus(ParticipantStatus status, String afterId, int limit);
 }
@@ -1,8 +1,11 @@
 package de.ait.repository;
 
 import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Manages a collection of contracts and provides methods for basic operations.
@@ -26,11 +29,77 @@ public interface ContractManagerRepository {
      */
     List<Contract> getContracts();
 
+    /**
+     * Finds a contract by its id.
+     * @param contractId the contract id
+     * @return the contract, or empty if there is none with this id
+     */
+    Optional<Contract> findById(String contractId);
+
+    /**
+     * Removes a contract by its id.
+     * @param contractId the contract id
+     * @return true if a contract was removed
+     */
+    boolean removeById(String contractId);
+
+    /**
+     * Retrieves the contracts of an artist that are active on a date.
+     * @param artistName the artist name
+     * @param date the date
+     * @return active contracts, ordered by start date
+     */
+    List<Contract> getActiveContracts(String artistName, LocalDate date);
+
+    /**
+     * Retrieves all contracts of an artist.
+     * @param artistName the artist name
+     * @return contracts of the artist, ordered by start date
+     */
+    List<Contract> getContractsByArtist(String artistName);
+
+    /**
+     * Counts the contracts with the given terms that are active today.
+     * @param terms the contract terms
+     * @return number of active contracts
+     */
+    int countActiveContracts(ContractTerms terms);
+
+    /**
+     * Counts the contracts with the given terms that are active on a date.
+     * @param terms the contract terms
+     * @param date the date
+     * @return number of active contracts
+     */
+    int countActiveContracts(ContractTerms terms, LocalDate date);
+
+    /**
+     * Counts the contracts with the given terms that are active on at least one day of a period.
+     * @param terms the contract terms
+     * @param from first day of the period
+     * @param to last day of the period
+     * @return number of contracts active in the period
+     */
+    int countActiveContracts(ContractTerms terms, LocalDate from, LocalDate to);
+
+    /**
+     * Retrieves the contracts expiring within the given number of days, counting today.
+     * @param days size of the window in days
+     * @return expiring contracts, ordered by end date
+     */
+    List<Contract> getExpiringContracts(int days);
+
     /**
      * Checks contracts expiring within the next 30 days.
      */
     void checkExpiringContracts();
 
+    /**
+     * Checks contracts expiring within the given number of days.
+     * @param days size of the window in days
+     */
+    void checkExpiringContracts(int days);
+
     /**
      * Notifies the user about contracts expiring soon.
      */
@@ -3,19 +3,51 @@ package de.ait.repository;
 import de.ait.exceptions.EventAlreadyInListException;
 import de.ait.exceptions.EventIsNotInListException;
 import de.ait.model.Event;
+import de.ait.model.EventImportResult;
+import de.ait.utilities.EventType;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface EventManagerRepository {
     HashMap<String, Event> getEvents();
 
+    int size();
+
+    boolean isEmpty();
+
+    Set<String> getEventIds();
+
+    Map<String, Event> getEventsView();
+
+    Map<String, Event> getEventsSnapshot();
+
     Event getEventById(String eventId) throws EventIsNotInListException;
 
     String addEvent(Event event) throws EventAlreadyInListException;
 
+    EventImportResult addEvents(Collection<Event> events);
+
+    EventImportResult importEventsFromCsv(String fileName) throws IOException;
+
     void removeEvent(Event event) throws EventIsNotInListException;
 
     void removeEventById(String eventId) throws EventIsNotInListException;
 
     void displayAllEvents();
+
+    List<Event> getEventsBetween(LocalDate from, LocalDate to);
+
+    List<Event> getEventsByType(EventType eventType);
+
+    List<Event> getEventsByLocation(String location);
+
+    List<Event> getEventsByTypeAndLocation(EventType eventType, String location);
+
+    List<Event> getEventsByArtist(String artistName);
 }
@@ -3,13 +3,23 @@ package de.ait.service;
 import de.ait.exceptions.NoRegisteredException;
 import de.ait.model.Casting;
 import de.ait.model.Participant;
+import de.ait.notification.DomainEvent;
+import de.ait.notification.DomainEventSink;
 import de.ait.repository.CastingManagerRepository;
+import de.ait.utilities.DomainEventType;
 import de.ait.utilities.ParticipantStatus;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Класс {@code CastingManager} управляет кастингами ({@link Casting}).
@@ -20,6 +30,13 @@ import java.util.Map;
  *
  * The {@code CastingManager} class manages castings ({@link Casting}).
  * It allows registering castings, searching for them by ID, and displaying a list of all castings.
+ * Registered castings are published to a {@link DomainEventSink} instead of being printed.
+ * Castings and participants are kept in concurrent maps, and participant statuses are changed with
+ * compare-and-set, so many casting assistants can update statuses in parallel. Only the transitions
+ * allowed by {@link ParticipantStatus#canMoveTo} are made.
+ * Participant ids are also indexed by status, with a count per status, so shortlists and funnel
+ * dashboards read one status without scanning all participants. Statuses must be changed through
+ * {@link #updateParticipantStatus} to keep the index in sync.
  *
  * @author Anton Cheban
  * @version 1.1
@@ -27,8 +44,38 @@ import java.util.Map;
 @Slf4j
 @Getter
 public class CastingManager implements CastingManagerRepository {
-    private Map<String, Casting> castings = new HashMap<>();
-    private Map<String, Participant> participants = new HashMap<>();
+    private final Map<String, Casting> castings = new ConcurrentHashMap<>();
+    private final Map<String, Participant> participants = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<ParticipantStatus, NavigableSet<String>> idsByStatus = new EnumMap<>(ParticipantStatus.class);
+    @Getter(AccessLevel.NONE)
+    private final Map<ParticipantStatus, AtomicInteger> countsByStatus = new EnumMap<>(ParticipantStatus.class);
+    @Getter(AccessLevel.NONE)
+    private final DomainEventSink eventSink;
+
+    /**
+     * Создает менеджер кастингов без получателя событий.
+     *
+     * Creates a casting manager that publishes no domain events.
+     */
+    public CastingManager() {
+        this(DomainEventSink.NONE);
+    }
+
+    /**
+     * Создает менеджер кастингов, публикующий события в {@code eventSink}.
+     *
+     * Creates a casting manager that publishes its domain events to a sink.
+     *
+     * @param eventSink получатель событий / the sink for domain events
+     */
+    public CastingManager(DomainEventSink eventSink) {
+        this.eventSink = eventSink == null ? DomainEventSink.NONE : eventSink;
+        for (ParticipantStatus status : ParticipantStatus.values()) {
+            idsByStatus.put(status, new ConcurrentSkipListSet<>());
+            countsByStatus.put(status, new AtomicInteger());
+        }
+    }
 
     /**
      * Регистрирует новый кастинг.
@@ -42,24 +89,20 @@ public class CastingManager implements CastingManagerRepository {
     @Override
     public void registerCasting(Casting casting) {
         if (casting == null) {
-            System.out.println("Casting is null");
             log.error("Casting is null");
         }
         else {
             castings.put(casting.getId(), casting);
-            System.out.println("Casting was added: " + casting.getId());
-            log.info("Casting was added: " + casting.getId());
+            eventSink.publish(new DomainEvent(DomainEventType.CASTING_REGISTERED, casting.getId(), casting.getName(), null));
         }
     }
 
     /**
      * Ищет кастинг по его идентификатору.
-     * Если идентификатор пустой или равен {@code null}, выводится сообщение об ошибке.
-     * Если кастинг найден, он выводится в консоль.
+     * Если идентификатор пустой или равен {@code null}, возвращается {@code null}.
      *
      * Searches for a casting by its ID.
-     * If the ID is empty or {@code null}, an error message is printed.
-     * If the casting is found, it is printed to the console.
+     * If the ID is empty or {@code null}, {@code null} is returned.
      *
      * @param castingId идентификатор кастинга / the casting ID
      * @return найденный {@link Casting} или {@code null}, если кастинг не найден /
@@ -68,16 +111,11 @@ public class CastingManager implements CastingManagerRepository {
     @Override
     public Casting findCasting(String castingId) {
         if (castingId == null || castingId.isEmpty()) {
-            System.out.println("Wrong Casting name");
             log.warn("attempt to find Casting with wrong name");
             return null;
         }
         else {
-            Casting casting = castings.get(castingId);
-            System.out.println(casting);
-            log.info("attempt find Casting");
-
-            return casting;
+            return castings.get(castingId);
         }
     }
 
@@ -96,32 +134,60 @@ public class CastingManager implements CastingManagerRepository {
     @Override
     public void registerParticipant(Participant participant) throws NoRegisteredException {
         if (participant == null) {
-            System.out.println("Participant is null");
             log.warn("attempt to registered null");
             throw new NoRegisteredException("Participant is null");
         }
         else {
-            this.participants.put(participant.getId(), participant);
-            System.out.println("New participant was added");
+            Participant replaced = this.participants.put(participant.getId(), participant);
+            if (replaced != null && replaced != participant) {
+                synchronized (replaced) {
+                    unindex(replaced.getId(), replaced.getStatus());
+                }
+            }
+            synchronized (participant) {
+                index(participant.getId(), participant.getStatus());
+            }
             log.info("new participant was added");
         }
     }
 
 
+    /**
+     * Меняет статус участника, если такой переход разрешен.
+     * Одновременные обновления одного участника не теряются: переход выполняется через compare-and-set
+     * и проверяется заново, если статус успели изменить. Затем участник переносится в индексе по статусам.
+     *
+     * Changes the status of a participant if the transition is allowed.
+     * Concurrent updates of the same participant are not lost: the transition is made with compare-and-set
+     * and checked again if the status was changed in the meantime.
+     * The participant is then moved in the status index.
+     *
+     * @param participantId идентификатор участника / the participant ID
+     * @param newStatus     новый статус / the new status
+     * @return {@code true}, если статус изменен / {@code true} if the status was changed;
+     *         {@code false} if the participant is not registered or the transition is not allowed
+     */
     @Override
-    public void updateParticipantStatus(String participantId, ParticipantStatus newStatus) {
+    public boolean updateParticipantStatus(String participantId, ParticipantStatus newStatus) {
         if (participantId == null || participantId.isEmpty() || newStatus == null) {
-            System.out.println("Participant or new status is null");
             log.error("Status update is not possible. Participant: {}, Status: {}", participantId, newStatus);
             throw new IllegalArgumentException("new status is null");
-        } else {
-            if (participants.containsKey(participantId)) {
-                Participant participant = this.participants.get(participantId);
-                participant.setStatus(newStatus);
+        }
+        Participant participant = participants.get(participantId);
+        if (participant == null) {
+            log.warn("attempt update states for not registered participant");
+            return false;
+        }
+        while (true) {
+            ParticipantStatus current = participant.getStatus();
+            if (!current.canMoveTo(newStatus)) {
+                log.warn("Status of Participant {} cannot change from {} to {}", participantId, current, newStatus);
+                return false;
+            }
+            if (participant.compareAndSetStatus(current, newStatus)) {
+                moveInIndex(participant, current);
                 log.info("Status of Participant {} was updated to {}", participantId, newStatus);
-            } else {
-                System.out.println("This participant has not yet registered");
-                log.warn("attempt update states for not registered participant");
+                return true;
             }
         }
     }
@@ -134,4 +200,94 @@ public class CastingManager implements CastingManagerRepository {
             System.out.println(participant);
         }
     }
+
+    /**
+     * Возвращает число участников с данным статусом без перебора участников.
+     *
+     * Returns the number of participants with a status without scanning the participants.
+     *
+     * @param status статус / the status
+     * @return число участников / the number of participants
+     */
+    @Override
+    public int countParticipants(ParticipantStatus status) {
+        return status == null ? 0 : countsByStatus.get(status).get();
+    }
+
+    /**
+     * Возвращает число участников для каждого статуса.
+     *
+     * Returns the number of participants for every status.
+     *
+     * @return число участников по статусам / the number of participants by status
+     */
+    public Map<ParticipantStatus, Integer> getParticipantCounts() {
+        Map<ParticipantStatus, Integer> counts = new EnumMap<>(ParticipantStatus.class);
+        countsByStatus.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+
+    /**
+     * Возвращает страницу участников с данным статусом, упорядоченных по идентификатору.
+     * Следующая страница начинается после идентификатора последнего участника текущей страницы,
+     * поэтому каждая страница стоит O(log n + limit), а не перебор всех участников.
+     *
+     * Returns a page of the participants with a status, ordered by id.
+     * The next page starts after the id of the last participant of the current page,
+     * so every page costs O(log n + limit) instead of a scan of all participants.
+     *
+     * @param status  статус / the status
+     * @param afterId идентификатор, после которого начинается страница, или {@code null} для первой страницы /
+     *                the id after which the page starts, or {@code null} for the first page
+     * @param limit   максимальный размер страницы / the maximum page size
+     * @return участники страницы / the participants of the page
+     * @throws IllegalArgumentException if the status is null or the limit is not positive
+     */
+    @Override
+    public List<Participant> getParticipantsByStatus(ParticipantStatus status, String afterId, int limit) {
+        if (status == null || limit <= 0) {
+            log.error("Participant page is not possible. Status: {}, limit: {}", status, limit);
+            throw new IllegalArgumentException("status is null or limit is not positive");
+        }
+        NavigableSet<String> ids = idsByStatus.get(status);
+        List<Participant> page = new ArrayList<>(Math.min(limit, 1024));
+        for (String id : afterId == null ? ids : ids.tailSet(afterId, false)) {
+            Participant participant = participants.get(id);
+            if (participant != null && participant.getStatus() == status) { // skip a move in progress
+                page.add(participant);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Moves a participant whose status was changed from {@code from} to the set of its current status.
+     * Runs under the participant's monitor and reads the status there, so when two transitions of the
+     * same participant finish out of order, the participant still ends up in the set of its last status.
+     * The id is added before it is removed, so readers never miss it, but may briefly see it twice.
+     */
+    private void moveInIndex(Participant participant, ParticipantStatus from) {
+        synchronized (participant) {
+            ParticipantStatus current = participant.getStatus();
+            if (current != from) {
+                index(participant.getId(), current);
+                unindex(participant.getId(), from);
+            }
+        }
+    }
+
+    private void index(String participantId, ParticipantStatus status) {
+        if (idsByStatus.get(status).add(participantId)) {
+            countsByStatus.get(status).incrementAndGet();
+        }
+    }
+
+    private void unindex(String participantId, ParticipantStatus status) {
+        if (idsByStatus.get(status).remove(participantId)) {
+            countsByStatus.get(status).decrementAndGet();
+        }
+    }
 }
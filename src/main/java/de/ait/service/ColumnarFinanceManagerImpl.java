@@ -0,0 +1,379 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.repository.FinanceManagerRepository;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ColumnarFinanceManagerImpl class is a {@link FinanceManagerRepository} that stores
+ * financial records column-wise in primitive arrays instead of one heap object per record:
+ * ids as {@code long}, amounts as {@code double}, dates as epoch-day {@code int},
+ * type and category as {@code byte} ordinals and descriptions dictionary-encoded as {@code int} codes.
+ * <p>
+ * A record costs 26 bytes (8 + 8 + 4 + 1 + 1 + 4) plus its share of the description dictionary.
+ * {@link FinanceRecord} objects are only materialized by {@link #getFinanceRecords()},
+ * and aggregations such as {@link #calculateBalance(LocalDate, LocalDate)} run as tight
+ * loops over the primitive columns.
+ */
+@Slf4j
+public class ColumnarFinanceManagerImpl implements FinanceManagerRepository {
+    private static final String CSV_FILE = "src/main/java/de/ait/files/FinanceRecord.csv";
+    private static final String COLUMNS_FILE = "src/main/java/de/ait/files/FinanceRecordColumns.bin";
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final RecordType[] RECORD_TYPES = RecordType.values();
+    private static final CategoryType[] CATEGORY_TYPES = CategoryType.values();
+
+    private int size;
+    private long[] ids;
+    private double[] amounts;
+    private int[] epochDays;
+    private byte[] types;
+    private byte[] categories;
+    private int[] descriptionCodes;
+
+    private final Map<String, Integer> descriptionDictionary = new HashMap<>();
+    private final List<String> descriptions = new ArrayList<>();
+    private final FinanceDuplicateIndex duplicateIndex = new FinanceDuplicateIndex();
+    private long rejectedDuplicateCount;
+
+    /**
+     * Initializes the columnar store with empty columns.
+     */
+    public ColumnarFinanceManagerImpl() {
+        clear(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Adds a new financial record.
+     *
+     * @param type        The type of record (INCOME or EXPENSE).
+     * @param amount      The monetary amount of the record.
+     * @param description A brief description of the record.
+     * @param date        The date of the record.
+     * @param category    The type of category (income or expense)
+     */
+    @Override
+    public void addRecord(RecordType type, double amount, String description, LocalDate date, CategoryType category) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }
+        if (date.isAfter(LocalDate.now())) {
+            log.error("Attempt to add a record with a future date: {}", date);
+            throw new IllegalArgumentException("Date cannot be in the future");
+        }
+        FinanceRecord record = new FinanceRecord(type, amount, description, date, category); // validates and generates the id
+        if (duplicateIndex.add(record)) {
+            append(record);
+            log.info("New record added: {}", record);
+        } else {
+            rejectedDuplicateCount++;
+            log.warn("Attempted to add duplicate record: {}", record);
+        }
+    }
+
+    /**
+     * Calculates the financial balance within a given period
+     * with a single pass over the amount, date and type columns.
+     *
+     * @param startDate The start date of the period.
+     * @param endDate   The end date of the period.
+     * @return The balance calculated as income minus expenses.
+     * @throws IllegalArgumentException If the start date is after the end date.
+     */
+    @Override
+    public double calculateBalance(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            log.error("Invalid date range: startDate {} is after endDate {}", startDate, endDate);
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        long from = startDate.toEpochDay();
+        long to = endDate.toEpochDay();
+        byte income = (byte) RecordType.INCOME.ordinal();
+
+        double balance = 0;
+        for (int i = 0; i < size; i++) {
+            int day = epochDays[i];
+            if (day >= from && day <= to) {
+                balance += types[i] == income ? amounts[i] : -amounts[i];
+            }
+        }
+        log.info("Balance calculated for the period from {} to {}: {}", startDate, endDate, balance);
+        return balance;
+    }
+
+    /**
+     * Saves financial records to a CSV file.
+     *
+     * @param fileName The path of the file to save the records.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    @Override
+    public void saveRecordsToFile(String fileName) throws IOException {
+        if (size == 0) {
+            log.warn("The financial records list is empty. Nothing will be saved.");
+            return;
+        }
+        try {
+            FinanceRecordCsv.write(Paths.get(fileName), getFinanceRecordsView());
+            log.info("Financial records saved to CSV file: {}", fileName);
+        } catch (IOException e) {
+            log.error("Error saving records to CSV file: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Loads financial records from a CSV file, replacing the current columns.
+     *
+     * @param fileName The path of the file to load the records from.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    @Override
+    public void loadRecordsFromFile(String fileName) throws IOException {
+        Path filePath = Paths.get(fileName);
+        if (!Files.exists(filePath)) {
+            log.error("CSV file not found: {}", fileName);
+            throw new FileNotFoundException("File not found: " + fileName);
+        }
+        try {
+            List<FinanceRecord> records = FinanceRecordCsv.read(filePath);
+            clear(Math.max(INITIAL_CAPACITY, records.size()));
+            int duplicates = 0;
+            for (FinanceRecord record : records) {
+                if (duplicateIndex.add(record)) {
+                    append(record);
+                } else {
+                    duplicates++;
+                }
+            }
+            rejectedDuplicateCount += duplicates;
+            if (duplicates > 0) {
+                log.warn("Skipped {} duplicate records in CSV file: {}", duplicates, fileName);
+            }
+            log.info("Financial records loaded from CSV file: {}", fileName);
+        } catch (IOException e) {
+            log.error("Error loading records from CSV file: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the financial records, materialized from the columns.
+     *
+     * @return A list of financial records.
+     */
+    @Override
+    public List<FinanceRecord> getFinanceRecords() {
+        List<FinanceRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(materialize(i));
+        }
+        return records;
+    }
+
+    /**
+     * Returns a read-only list that materializes a {@link FinanceRecord} only when an element is accessed.
+     *
+     * @return A lazy view of the financial records.
+     */
+    public List<FinanceRecord> getFinanceRecordsView() {
+        return new AbstractList<>() {
+            @Override
+            public FinanceRecord get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return materialize(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of stored records.
+     *
+     * @return The record count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns how many records were rejected as duplicates by {@link #addRecord} and CSV imports.
+     *
+     * @return The number of rejected duplicates.
+     */
+    public long getRejectedDuplicateCount() {
+        return rejectedDuplicateCount;
+    }
+
+    /**
+     * Saves the columns as-is to a binary file.
+     */
+    @Override
+    public void saveRecordsToFileSerialized() {
+        Path filePath = Paths.get(COLUMNS_FILE);
+        try {
+            if (filePath.getParent() != null) {
+                Files.createDirectories(filePath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(filePath)))) {
+                out.writeInt(descriptions.size());
+                for (String description : descriptions) {
+                    out.writeUTF(description);
+                }
+                out.writeInt(size);
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(ids[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeDouble(amounts[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(epochDays[i]);
+                }
+                out.write(types, 0, size);
+                out.write(categories, 0, size);
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(descriptionCodes[i]);
+                }
+            }
+            log.info("Financial records saved to columnar file.");
+        } catch (IOException e) {
+            log.error("Error saving records: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the columns from the binary file written by {@link #saveRecordsToFileSerialized()}.
+     */
+    @Override
+    public void loadRecordsFromFileSerialized() {
+        Path filePath = Paths.get(COLUMNS_FILE);
+        if (!Files.exists(filePath)) {
+            log.warn("No previous financial records found.");
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(filePath)))) {
+            int dictionarySize = in.readInt();
+            List<String> loadedDescriptions = new ArrayList<>(dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                loadedDescriptions.add(in.readUTF());
+            }
+            int count = in.readInt();
+            clear(Math.max(INITIAL_CAPACITY, count));
+            for (int i = 0; i < count; i++) {
+                ids[i] = in.readLong();
+            }
+            for (int i = 0; i < count; i++) {
+                amounts[i] = in.readDouble();
+            }
+            for (int i = 0; i < count; i++) {
+                epochDays[i] = in.readInt();
+            }
+            in.readFully(types, 0, count);
+            in.readFully(categories, 0, count);
+            for (int i = 0; i < count; i++) {
+                descriptionCodes[i] = in.readInt();
+            }
+            for (String description : loadedDescriptions) {
+                encodeDescription(description);
+            }
+            size = count;
+            for (int i = 0; i < count; i++) {
+                duplicateIndex.add(RECORD_TYPES[types[i]], amounts[i], descriptions.get(descriptionCodes[i]),
+                        epochDays[i], CATEGORY_TYPES[categories[i]]);
+            }
+            log.info("Financial records successfully loaded from columnar file.");
+        } catch (IOException e) {
+            clear(INITIAL_CAPACITY);
+            log.error("Error loading records: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void clearRecordsOnExit() {
+        try {
+            Files.deleteIfExists(Paths.get(CSV_FILE));
+            Files.deleteIfExists(Paths.get(COLUMNS_FILE));
+            log.info("Financial records cleared on exit.");
+        } catch (IOException e) {
+            log.error("Error clearing financial records on exit: {}", e.getMessage());
+        }
+    }
+
+    private void append(FinanceRecord record) {
+        ensureCapacity(size + 1);
+        ids[size] = Long.parseLong(record.getId());
+        amounts[size] = record.getAmount();
+        epochDays[size] = Math.toIntExact(record.getDate().toEpochDay());
+        types[size] = (byte) record.getType().ordinal();
+        categories[size] = (byte) record.getCategory().ordinal();
+        descriptionCodes[size] = encodeDescription(record.getDescription());
+        size++;
+    }
+
+    private FinanceRecord materialize(int index) {
+        return new FinanceRecord(FinanceSnapshot.formatId(ids[index]),
+                RECORD_TYPES[types[index]],
+                amounts[index],
+                descriptions.get(descriptionCodes[index]),
+                LocalDate.ofEpochDay(epochDays[index]),
+                CATEGORY_TYPES[categories[index]]);
+    }
+
+    private int encodeDescription(String description) {
+        Integer code = descriptionDictionary.get(description);
+        if (code == null) {
+            code = descriptions.size();
+            descriptions.add(description);
+            descriptionDictionary.put(description, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        amounts = Arrays.copyOf(amounts, newCapacity);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        categories = Arrays.copyOf(categories, newCapacity);
+        descriptionCodes = Arrays.copyOf(descriptionCodes, newCapacity);
+    }
+
+    private void clear(int capacity) {
+        size = 0;
+        ids = new long[capacity];
+        amounts = new double[capacity];
+        epochDays = new int[capacity];
+        types = new byte[capacity];
+        categories = new byte[capacity];
+        descriptionCodes = new int[capacity];
+        descriptionDictionary.clear();
+        descriptions.clear();
+        duplicateIndex.clear();
+    }
+}
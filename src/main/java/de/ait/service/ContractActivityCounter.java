@@ -0,0 +1,295 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.CachedToday;
+import de.ait.utilities.ContractTerms;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The ContractActivityCounter class counts active contracts per {@link ContractTerms} and day.
+ * <p>
+ * A contract is active from its start date to its end date (both inclusive), which is a difference array
+ * over epoch days: +1 on the start date, -1 on the day after the end date. Both halves are kept per terms
+ * in Fenwick trees (binary indexed trees, as in {@link FinanceLedgerIndex}), so the number of contracts
+ * active on a day is {@code starts up to the day - ends before the day}, and the number of contracts active
+ * at some point of a date range is {@code starts up to the last day - ends before the first day}.
+ * Adding, moving and removing a contract as well as both counts cost O(log d), where d is the number
+ * of days covered, regardless of how many contracts exist.
+ * <p>
+ * The covered day range grows on demand (doubling), but only within a window of {@value #WINDOW_YEARS} years
+ * before and after the day the counter was created, so the trees never take more than a few megabytes.
+ * Start and end dates outside the window (e.g. an open-ended contract running until 9999-12-31) are kept
+ * per terms in sorted maps of day to count instead, which cost O(log m + k) for m such dates, k of them
+ * before the requested day. The terms and dates a contract was counted under
+ * are remembered, so it can be moved after its dates or terms have changed, or removed.
+ * All methods are synchronized. The counter is maintained by {@link ContractManagerImpl}.
+ */
+public class ContractActivityCounter {
+    private static final int INITIAL_DAYS = 366;
+    private static final int WINDOW_YEARS = 100;
+    private static final int TERMS_COUNT = ContractTerms.values().length;
+
+    private final Map<String, Counted> countedById = new HashMap<>();
+    private final long windowFirstDay; // the trees never cover days outside the window
+    private final long windowLastDay;
+    private final NavigableMap<Long, Integer>[] startsOutside; // per-terms counts of days outside the window
+    private final NavigableMap<Long, Integer>[] endsOutside;
+    private long baseDay;        // epoch day stored at position 0
+    private int[][] startsByDay; // raw per-terms, per-day counts, used to rebuild the trees
+    private int[][] endsByDay;
+    private int[][] startTrees;  // Fenwick trees per terms, 1-based
+    private int[][] endTrees;
+    private boolean empty = true;
+
+    /**
+     * Creates an empty counter with a window around today.
+     */
+    public ContractActivityCounter() {
+        this(CachedToday.SYSTEM.get());
+    }
+
+    /**
+     * Creates an empty counter.
+     * @param today Day in the middle of the window covered by the trees
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"}) // generic arrays cannot be created directly
+    public ContractActivityCounter(LocalDate today) {
+        windowFirstDay = today.minusYears(WINDOW_YEARS).toEpochDay();
+        windowLastDay = today.plusYears(WINDOW_YEARS).toEpochDay();
+        startsOutside = new NavigableMap[TERMS_COUNT];
+        endsOutside = new NavigableMap[TERMS_COUNT];
+        for (int terms = 0; terms < TERMS_COUNT; terms++) {
+            startsOutside[terms] = new TreeMap<>();
+            endsOutside[terms] = new TreeMap<>();
+        }
+        startsByDay = new int[TERMS_COUNT][INITIAL_DAYS];
+        endsByDay = new int[TERMS_COUNT][INITIAL_DAYS];
+        startTrees = new int[TERMS_COUNT][INITIAL_DAYS + 1];
+        endTrees = new int[TERMS_COUNT][INITIAL_DAYS + 1];
+    }
+
+    /**
+     * Counts a contract under its current terms and dates.
+     * @param contract Contract to count
+     */
+    public synchronized void add(Contract contract) {
+        Counted counted = new Counted(contract);
+        countedById.put(contract.getId(), counted);
+        change(counted, 1);
+    }
+
+    /**
+     * Stops counting a contract.
+     * @param contractId Identifier of the contract
+     */
+    public synchronized void remove(String contractId) {
+        Counted counted = countedById.remove(contractId);
+        if (counted != null) {
+            change(counted, -1);
+        }
+    }
+
+    /**
+     * Moves a contract whose dates or terms may have changed.
+     * @param contract The changed contract
+     */
+    public synchronized void update(Contract contract) {
+        Counted counted = countedById.get(contract.getId());
+        if (counted == null) {
+            return;
+        }
+        Counted current = new Counted(contract);
+        if (counted.terms != current.terms || counted.start != current.start || counted.end != current.end) {
+            change(counted, -1);
+            countedById.put(contract.getId(), current);
+            change(current, 1);
+        }
+    }
+
+    /**
+     * Returns the number of contracts with the given terms that are active on a day.
+     * @param terms Contract terms
+     * @param date  The day
+     * @return Number of active contracts
+     */
+    public synchronized int activeOn(ContractTerms terms, LocalDate date) {
+        long day = date.toEpochDay();
+        return startsUpTo(terms.ordinal(), day) - endsUpTo(terms.ordinal(), day - 1);
+    }
+
+    /**
+     * Returns the number of contracts with the given terms that are active on at least one day
+     * of a date range (both dates inclusive).
+     * @param terms Contract terms
+     * @param from  First day
+     * @param to    Last day
+     * @return Number of contracts active in the range
+     */
+    public synchronized int activeBetween(ContractTerms terms, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        return startsUpTo(terms.ordinal(), to.toEpochDay()) - endsUpTo(terms.ordinal(), from.toEpochDay() - 1);
+    }
+
+    /**
+     * Returns the number of active contracts on a day for every kind of terms.
+     * @param date The day
+     * @return Active contracts by terms, including terms without active contracts
+     */
+    public synchronized Map<ContractTerms, Integer> activeOn(LocalDate date) {
+        Map<ContractTerms, Integer> counts = new EnumMap<>(ContractTerms.class);
+        for (ContractTerms terms : ContractTerms.values()) {
+            counts.put(terms, activeOn(terms, date));
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of counted contracts.
+     * @return Number of contracts
+     */
+    public synchronized int size() {
+        return countedById.size();
+    }
+
+    private void change(Counted counted, int delta) {
+        int terms = counted.terms.ordinal();
+        if (ensureCovered(counted.start)) {
+            int position = (int) (counted.start - baseDay);
+            startsByDay[terms][position] += delta;
+            update(startTrees[terms], position, delta);
+        } else {
+            changeOutside(startsOutside[terms], counted.start, delta);
+        }
+        if (ensureCovered(counted.end)) {
+            int position = (int) (counted.end - baseDay);
+            endsByDay[terms][position] += delta;
+            update(endTrees[terms], position, delta);
+        } else {
+            changeOutside(endsOutside[terms], counted.end, delta);
+        }
+    }
+
+    private static void changeOutside(NavigableMap<Long, Integer> counts, long day, int delta) {
+        counts.merge(day, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    private int startsUpTo(int terms, long day) {
+        return prefixCount(startTrees[terms], day) + countOutside(startsOutside[terms], day);
+    }
+
+    private int endsUpTo(int terms, long day) {
+        return prefixCount(endTrees[terms], day) + countOutside(endsOutside[terms], day);
+    }
+
+    private static int countOutside(NavigableMap<Long, Integer> counts, long day) {
+        int sum = 0;
+        for (int count : counts.headMap(day, true).values()) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of a tree up to and including a day; days past the covered range see the whole tree.
+     */
+    private int prefixCount(int[] tree, long day) {
+        if (empty || day < baseDay) {
+            return 0;
+        }
+        return prefixSum(tree, (int) Math.min(day - baseDay, tree.length - 2));
+    }
+
+    /**
+     * Grows the trees so they cover a day, unless it lies outside the window.
+     * @return Whether the day is covered by the trees
+     */
+    private boolean ensureCovered(long day) {
+        if (day < windowFirstDay || day > windowLastDay) {
+            return false;
+        }
+        if (empty) {
+            baseDay = Math.max(windowFirstDay, Math.min(day - INITIAL_DAYS / 2, windowLastDay - INITIAL_DAYS + 1));
+            empty = false;
+        }
+        int length = startsByDay[0].length;
+        long lastDay = baseDay + length - 1;
+        if (day >= baseDay && day <= lastDay) {
+            return true;
+        }
+        long newBase = Math.min(baseDay, day);
+        long newLast = Math.max(lastDay, day);
+        // the window bounds the span, so doubling stops at twice the window at most
+        long newLength = length;
+        while (newLength < newLast - newBase + 1) {
+            newLength *= 2;
+        }
+        // grow towards the side that needed the extension
+        if (day < baseDay) {
+            newBase = newLast - newLength + 1;
+        }
+        int shift = (int) (baseDay - newBase);
+        for (int terms = 0; terms < TERMS_COUNT; terms++) {
+            startsByDay[terms] = shifted(startsByDay[terms], shift, (int) newLength);
+            endsByDay[terms] = shifted(endsByDay[terms], shift, (int) newLength);
+            startTrees[terms] = build(startsByDay[terms]);
+            endTrees[terms] = build(endsByDay[terms]);
+        }
+        baseDay = newBase;
+        return true;
+    }
+
+    private static int[] shifted(int[] values, int shift, int newLength) {
+        int[] result = new int[newLength];
+        System.arraycopy(values, 0, result, shift, values.length);
+        return result;
+    }
+
+    private static int[] build(int[] values) {
+        int[] tree = new int[values.length + 1];
+        for (int i = 1; i <= values.length; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= values.length) {
+                tree[parent] += tree[i];
+            }
+        }
+        return tree;
+    }
+
+    private static void update(int[] tree, int position, int delta) {
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static int prefixSum(int[] tree, int position) {
+        int sum = 0;
+        for (int i = position + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * The terms and dates a contract was counted under.
+     */
+    private static final class Counted {
+        private final ContractTerms terms;
+        private final long start;
+        private final long end;
+
+        private Counted(Contract contract) {
+            this.terms = contract.getTerms();
+            this.start = contract.getStartDate().toEpochDay();
+            this.end = contract.getEndDate().toEpochDay();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The ContractExpiryIndex class keeps contracts sorted by their end date,
+ * so "which contracts expire between two dates" is a range query whose cost
+ * depends on the number of matching contracts, not on the size of the contract list.
+ * <p>
+ * The end date a contract was indexed under is remembered, so a contract can be
+ * re-indexed after {@link Contract#setEndDate} or removed. All methods are synchronized.
+ * The index is maintained by {@link ContractManagerImpl}.
+ */
+public class ContractExpiryIndex {
+    private final TreeMap<LocalDate, Map<String, Contract>> byEndDate = new TreeMap<>(); // end date -> id -> contract
+    private final Map<String, LocalDate> endDateById = new HashMap<>();
+
+    /**
+     * Indexes a contract under its current end date.
+     * @param contract Contract to index
+     */
+    public synchronized void add(Contract contract) {
+        LocalDate endDate = contract.getEndDate();
+        endDateById.put(contract.getId(), endDate);
+        byEndDate.computeIfAbsent(endDate, date -> new LinkedHashMap<>()).put(contract.getId(), contract);
+    }
+
+    /**
+     * Removes a contract from the index.
+     * @param contractId Identifier of the contract
+     */
+    public synchronized void remove(String contractId) {
+        LocalDate endDate = endDateById.remove(contractId);
+        if (endDate != null) {
+            Map<String, Contract> sameDay = byEndDate.get(endDate);
+            sameDay.remove(contractId);
+            if (sameDay.isEmpty()) {
+                byEndDate.remove(endDate);
+            }
+        }
+    }
+
+    /**
+     * Re-indexes a contract whose end date may have changed.
+     * @param contractId Identifier of the contract
+     * @return The contract if it was moved to a new end date, otherwise null
+     */
+    public synchronized Contract update(String contractId) {
+        LocalDate indexed = endDateById.get(contractId);
+        if (indexed == null) {
+            return null;
+        }
+        Contract contract = byEndDate.get(indexed).get(contractId);
+        if (indexed.equals(contract.getEndDate())) {
+            return null;
+        }
+        remove(contractId);
+        add(contract);
+        return contract;
+    }
+
+    /**
+     * Returns the contracts that end between two dates (both inclusive), ordered by end date.
+     * @param from First end date
+     * @param to   Last end date
+     * @return Contracts ending in the range
+     */
+    public synchronized List<Contract> endingBetween(LocalDate from, LocalDate to) {
+        List<Contract> result = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return result;
+        }
+        for (Map<String, Contract> sameDay : byEndDate.subMap(from, true, to, true).values()) {
+            result.addAll(sameDay.values());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the earliest end date on or after a date.
+     * @param from First date to consider
+     * @return The earliest end date, or null if no contract ends on or after the date
+     */
+    public synchronized LocalDate firstEndDateFrom(LocalDate from) {
+        return byEndDate.ceilingKey(from);
+    }
+
+    /**
+     * Returns the number of indexed contracts.
+     * @return Number of contracts
+     */
+    public synchronized int size() {
+        return endDateById.size();
+    }
+}
@@ -0,0 +1,165 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.notification.DomainEvent;
+import de.ait.notification.DomainEventSink;
+import de.ait.utilities.DomainEventType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ContractExpiryNotifier class publishes a {@link DomainEventType#CONTRACT_EXPIRING} domain event
+ * when a contract enters the expiry window, i.e. when its end date is less than {@code windowDays}
+ * days away (counting today as the first day).
+ * <p>
+ * Instead of polling the contract list, the notifier asks the {@link ContractExpiryIndex} for the
+ * next end date that has not been announced yet and sleeps until the midnight on which that
+ * contract enters the window. Contracts that are added, or whose end date is moved, into the part
+ * of the window that was already announced are published immediately
+ * (see {@link ContractManagerImpl#startExpiryNotifier}).
+ * <p>
+ * The published domain event carries the artist name as subject name, the end date as detail
+ * and the number of days left as quantity. Delivery runs on a single daemon thread.
+ */
+@Slf4j
+public class ContractExpiryNotifier implements AutoCloseable {
+    private final ContractExpiryIndex index;
+    private final int windowDays;
+    private final DomainEventSink listener;
+    private final Clock clock;
+    private final ScheduledExecutorService timer;
+
+    private LocalDate announcedThrough; // contracts ending on or before this date were already announced
+    private ScheduledFuture<?> nextCheck;
+    private boolean closed;
+
+    /**
+     * Creates a notifier. It does nothing until {@link #start()} is called.
+     * @param index      Contracts by end date
+     * @param windowDays Size of the expiry window in days
+     * @param listener   Receives the expiring contracts
+     * @param clock      Clock that defines today
+     * @throws IllegalArgumentException If the window is not positive or the listener is null
+     */
+    ContractExpiryNotifier(ContractExpiryIndex index, int windowDays, DomainEventSink listener, Clock clock) {
+        if (windowDays <= 0 || listener == null) {
+            log.error("Invalid expiry notifier: window {} days, listener {}", windowDays, listener);
+            throw new IllegalArgumentException("Error: The expiry window must be at least one day and the listener cannot be null.");
+        }
+        this.index = index;
+        this.windowDays = windowDays;
+        this.listener = listener;
+        this.clock = clock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "contract-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Announces the contracts that are already in the window and schedules the next check.
+     */
+    synchronized void start() {
+        announcedThrough = LocalDate.now(clock).minusDays(1);
+        timer.execute(this::check);
+    }
+
+    /**
+     * Returns the size of the expiry window.
+     * @return Window size in days
+     */
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    /**
+     * Stops the notifier. No more domain events are published afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        timer.shutdownNow();
+    }
+
+    /**
+     * Checks whether the notifier was closed.
+     * @return true if closed
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Called after a contract was indexed under a new end date.
+     * @param contract The added or changed contract
+     */
+    synchronized void contractIndexed(Contract contract) {
+        if (closed || announcedThrough == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDate endDate = contract.getEndDate();
+        if (endDate.isBefore(today)) {
+            return;
+        }
+        if (!endDate.isAfter(announcedThrough)) {
+            timer.execute(() -> announce(contract, today)); // the window already passed this end date
+        } else {
+            scheduleNext();
+        }
+    }
+
+    private synchronized void check() {
+        if (closed) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDate windowEnd = today.plusDays(windowDays - 1);
+        LocalDate from = announcedThrough.isBefore(today) ? today : announcedThrough.plusDays(1);
+        for (Contract contract : index.endingBetween(from, windowEnd)) {
+            announce(contract, today);
+        }
+        if (windowEnd.isAfter(announcedThrough)) {
+            announcedThrough = windowEnd;
+        }
+        scheduleNext();
+    }
+
+    /**
+     * Schedules the next check for the midnight on which the next unannounced end date enters the window.
+     */
+    private void scheduleNext() {
+        LocalDate nextEndDate = index.firstEndDateFrom(announcedThrough.plusDays(1));
+        if (nextCheck != null) {
+            nextCheck.cancel(false);
+            nextCheck = null;
+        }
+        if (nextEndDate == null) {
+            return; // nothing to wait for until a contract is added or changed
+        }
+        LocalDate entersWindow = nextEndDate.minusDays(windowDays - 1);
+        long delayMillis = Math.max(0, Duration.between(clock.instant(),
+                entersWindow.atStartOfDay(clock.getZone()).toInstant()).toMillis());
+        nextCheck = timer.schedule(this::check, delayMillis, TimeUnit.MILLISECONDS);
+        log.debug("Next contract expiry check on {} for end date {}", entersWindow, nextEndDate);
+    }
+
+    private void announce(Contract contract, LocalDate today) {
+        int daysLeft = (int) ChronoUnit.DAYS.between(today, contract.getEndDate());
+        try {
+            listener.publish(new DomainEvent(DomainEventType.CONTRACT_EXPIRING, contract.getId(),
+                    contract.getArtistName(), contract.getEndDate().toString(), daysLeft, 0));
+        } catch (RuntimeException e) {
+            log.error("Expiry listener failed for contract {}: {}", contract.getId(), e.getMessage());
+        }
+    }
+}
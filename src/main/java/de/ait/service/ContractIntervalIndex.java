@@ -0,0 +1,328 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The ContractIntervalIndex class keeps the contracts of every artist in an interval tree
+ * over their start and end dates.
+ * <p>
+ * Each artist has a treap (a randomized balanced search tree) ordered by start date, in which every
+ * node also stores the latest end date of its subtree, and the latest end date of an
+ * {@link ContractTerms#EXCLUSIVE} contract in it. A query for the contracts overlapping a date
+ * range only descends into subtrees that can contain a match, so it costs O(log n + k) for an artist
+ * with n contracts and k matches. A conflict check stops at the first match.
+ * <p>
+ * The artist, dates and exclusivity a contract was indexed under are remembered, so a contract can be
+ * re-indexed after they have changed, or removed. All methods are synchronized.
+ * The index is maintained by {@link ContractManagerImpl}.
+ */
+public class ContractIntervalIndex {
+    private final Map<String, Node> rootByArtist = new HashMap<>();
+    private final Map<String, Node> nodeById = new HashMap<>();
+
+    /**
+     * Indexes a contract under its current artist and dates.
+     * @param contract Contract to index
+     */
+    public synchronized void add(Contract contract) {
+        Node node = new Node(contract);
+        nodeById.put(contract.getId(), node);
+        rootByArtist.put(node.artistName, insert(rootByArtist.get(node.artistName), node));
+    }
+
+    /**
+     * Indexes many contracts at once, e.g. after recovery. The tree of an artist without indexed
+     * contracts is built in linear time from the sorted contracts instead of by single inserts.
+     * @param added Contracts to index
+     */
+    public synchronized void addAll(Collection<Contract> added) {
+        Map<String, List<Node>> nodesByArtist = new HashMap<>();
+        for (Contract contract : added) {
+            Node node = new Node(contract);
+            nodeById.put(contract.getId(), node);
+            nodesByArtist.computeIfAbsent(node.artistName, artistName -> new ArrayList<>()).add(node);
+        }
+        nodesByArtist.forEach((artistName, nodes) -> {
+            Node root = rootByArtist.get(artistName);
+            if (root == null) {
+                nodes.sort(null);
+                root = build(nodes);
+            } else {
+                for (Node node : nodes) {
+                    root = insert(root, node);
+                }
+            }
+            rootByArtist.put(artistName, root);
+        });
+    }
+
+    /**
+     * Removes a contract from the index.
+     * @param contractId Identifier of the contract
+     */
+    public synchronized void remove(String contractId) {
+        Node node = nodeById.remove(contractId);
+        if (node == null) {
+            return;
+        }
+        Node root = delete(rootByArtist.get(node.artistName), node);
+        if (root == null) {
+            rootByArtist.remove(node.artistName);
+        } else {
+            rootByArtist.put(node.artistName, root);
+        }
+    }
+
+    /**
+     * Re-indexes a contract whose artist, dates or terms may have changed.
+     * @param contractId Identifier of the contract
+     */
+    public synchronized void update(String contractId) {
+        Node node = nodeById.get(contractId);
+        if (node == null) {
+            return;
+        }
+        Contract contract = node.contract;
+        if (!node.artistName.equals(contract.getArtistName())
+                || node.start != contract.getStartDate().toEpochDay()
+                || node.end != contract.getEndDate().toEpochDay()
+                || node.exclusive != (contract.getTerms() == ContractTerms.EXCLUSIVE)) {
+            remove(contractId);
+            add(contract);
+        }
+    }
+
+    /**
+     * Returns the contracts of an artist that overlap a date range (both dates inclusive),
+     * ordered by start date.
+     * @param artistName Artist name
+     * @param from       First date
+     * @param to         Last date
+     * @return Overlapping contracts
+     */
+    public synchronized List<Contract> overlapping(String artistName, LocalDate from, LocalDate to) {
+        List<Contract> result = new ArrayList<>();
+        collect(rootByArtist.get(artistName), from.toEpochDay(), to.toEpochDay(), result);
+        return result;
+    }
+
+    /**
+     * Returns all contracts of an artist, ordered by start date.
+     * @param artistName Artist name
+     * @return Contracts of the artist
+     */
+    public synchronized List<Contract> byArtist(String artistName) {
+        List<Contract> result = new ArrayList<>();
+        collect(rootByArtist.get(artistName), Long.MIN_VALUE, Long.MAX_VALUE, result);
+        return result;
+    }
+
+    /**
+     * Finds a contract that would conflict with a contract of an artist running between two dates:
+     * another contract of the artist overlapping the dates, where at least one of the two is exclusive.
+     * @param contractId Identifier of the checked contract, which never conflicts with itself
+     * @param artistName Artist name
+     * @param from       First date
+     * @param to         Last date
+     * @param exclusive  Whether the checked contract is exclusive
+     * @return A conflicting contract, or null if there is none
+     */
+    public synchronized Contract findConflict(String contractId, String artistName, LocalDate from, LocalDate to,
+                                              boolean exclusive) {
+        Node conflict = find(rootByArtist.get(artistName), from.toEpochDay(), to.toEpochDay(), !exclusive, contractId);
+        return conflict == null ? null : conflict.contract;
+    }
+
+    /**
+     * Returns the number of indexed contracts.
+     * @return Number of contracts
+     */
+    public synchronized int size() {
+        return nodeById.size();
+    }
+
+    /**
+     * Appends, in start date order, the contracts of a subtree that start on or before {@code to}
+     * and end on or after {@code from}.
+     */
+    private static void collect(Node node, long from, long to, List<Contract> result) {
+        if (node == null || node.maxEnd < from) {
+            return; // nothing in this subtree ends late enough
+        }
+        collect(node.left, from, to, result);
+        if (node.start > to) {
+            return; // this node and the right subtree start too late
+        }
+        if (node.end >= from) {
+            result.add(node.contract);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    /**
+     * Returns the first node of a subtree, other than the excluded contract, that overlaps the dates
+     * and, if {@code exclusiveOnly} is set, is exclusive.
+     */
+    private static Node find(Node node, long from, long to, boolean exclusiveOnly, String excludedId) {
+        if (node == null || (exclusiveOnly ? node.maxExclusiveEnd : node.maxEnd) < from) {
+            return null;
+        }
+        Node found = find(node.left, from, to, exclusiveOnly, excludedId);
+        if (found != null || node.start > to) {
+            return found;
+        }
+        if (node.end >= from && (node.exclusive || !exclusiveOnly) && !node.contract.getId().equals(excludedId)) {
+            return node;
+        }
+        return find(node.right, from, to, exclusiveOnly, excludedId);
+    }
+
+    /**
+     * Builds a tree from sorted nodes by keeping its right spine on a stack: every node becomes the right
+     * child of the last spine node with a higher priority and takes the nodes it pushes off as its left subtree.
+     * A node is popped only when its subtree is complete, so that is when its maximum end dates are computed.
+     */
+    private static Node build(List<Node> sorted) {
+        List<Node> spine = new ArrayList<>();
+        for (Node node : sorted) {
+            Node last = null;
+            while (!spine.isEmpty() && spine.get(spine.size() - 1).priority < node.priority) {
+                last = spine.remove(spine.size() - 1).update();
+            }
+            node.left = last;
+            if (!spine.isEmpty()) {
+                spine.get(spine.size() - 1).right = node;
+            }
+            spine.add(node);
+        }
+        Node root = null;
+        while (!spine.isEmpty()) {
+            root = spine.remove(spine.size() - 1).update();
+        }
+        return root;
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.priority > root.priority) {
+            Node[] parts = split(root, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return node.update();
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+        } else {
+            root.right = insert(root.right, node);
+        }
+        return root.update();
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        if (root == node) {
+            return merge(root.left, root.right);
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = delete(root.left, node);
+        } else {
+            root.right = delete(root.right, node);
+        }
+        return root.update();
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before the key node and the nodes ordered after it.
+     */
+    private static Node[] split(Node root, Node key) {
+        if (root == null) {
+            return new Node[2];
+        }
+        if (root.compareTo(key) < 0) {
+            Node[] parts = split(root.right, key);
+            root.right = parts[0];
+            parts[0] = root.update();
+            return parts;
+        }
+        Node[] parts = split(root.left, key);
+        root.left = parts[1];
+        parts[1] = root.update();
+        return parts;
+    }
+
+    /**
+     * Merges two subtrees where every node of the first is ordered before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return first.update();
+        }
+        second.left = merge(first, second.left);
+        return second.update();
+    }
+
+    /**
+     * A contract in the tree of its artist, ordered by start date and then by id.
+     */
+    private static final class Node implements Comparable<Node> {
+        private final Contract contract;
+        private final String artistName; // artist, dates and exclusivity at the time of indexing
+        private final long start;
+        private final long end;
+        private final boolean exclusive;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private long maxEnd; // latest end date in this subtree
+        private long maxExclusiveEnd; // latest end date of an exclusive contract in this subtree
+        private Node left;
+        private Node right;
+
+        private Node(Contract contract) {
+            this.contract = contract;
+            this.artistName = contract.getArtistName();
+            this.start = contract.getStartDate().toEpochDay();
+            this.end = contract.getEndDate().toEpochDay();
+            this.exclusive = contract.getTerms() == ContractTerms.EXCLUSIVE;
+            update();
+        }
+
+        private Node update() {
+            maxEnd = end;
+            maxExclusiveEnd = exclusive ? end : Long.MIN_VALUE;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+                maxExclusiveEnd = Math.max(maxExclusiveEnd, left.maxExclusiveEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+                maxExclusiveEnd = Math.max(maxExclusiveEnd, right.maxExclusiveEnd);
+            }
+            return this;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int byStart = Long.compare(start, other.start);
+            return byStart != 0 ? byStart : contract.getId().compareTo(other.contract.getId());
+        }
+    }
+}
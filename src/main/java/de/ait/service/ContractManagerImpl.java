@@ -1,35 +1,84 @@
 package de.ait.service;
 
 import de.ait.model.Contract;
+import de.ait.notification.DomainEvent;
+import de.ait.notification.DomainEventSink;
 import de.ait.repository.ContractManagerRepository;
+import de.ait.utilities.CachedToday;
+import de.ait.utilities.ContractTerms;
+import de.ait.utilities.DomainEventType;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.time.LocalDate;
-import java.util.stream.Collectors;
 
 /**
  * The ContractManager class manages a list of contracts.
  * It provides methods for adding, displaying, and checking contracts.
+ * Contracts are kept in a map keyed by their id (in insertion order), so looking up
+ * or removing a contract by id takes constant time.
+ * Contracts are also kept in a {@link ContractExpiryIndex} sorted by end date, which follows
+ * every end date change, so expiry checks only touch the contracts that actually expire.
+ * A {@link ContractExpiryNotifier} started with {@link #startExpiryNotifier} announces contracts
+ * in the background as they enter the expiry window.
+ * A {@link ContractIntervalIndex} keeps the contracts of every artist in an interval tree. It answers
+ * which contracts of an artist are active on a date, and it is used to reject contracts, and changes
+ * of added contracts, that would make an exclusive contract overlap another contract of the same artist.
+ * A {@link ContractActivityCounter} counts active contracts per {@link ContractTerms} and day, so
+ * "how many exclusive contracts are active today" does not check every contract.
+ * With a {@link ContractStore}, every change is also written to the store's change log
+ * and the contracts are recovered from the store when the manager is created.
  */
 @Slf4j
 public class ContractManagerImpl implements ContractManagerRepository {
-    private final List<Contract> contracts; // Using final since the collection itself does not change
+    private static final int DEFAULT_EXPIRY_WINDOW_DAYS = 30;
+
+    private final Map<String, Contract> contracts; // id -> contract, in insertion order
+    private final ContractExpiryIndex expiryIndex = new ContractExpiryIndex(); // contracts by end date
+    private final ContractIntervalIndex intervalIndex = new ContractIntervalIndex(); // contracts by artist and dates
+    private final ContractActivityCounter activityCounter = new ContractActivityCounter(); // active contracts by terms and day
+    private final CachedToday today = CachedToday.SYSTEM;
+    private final ContractStore store; // change log and snapshots, null for an in-memory list
+    private volatile ContractExpiryNotifier expiryNotifier; // null until started
 
     /**
      * Constructor for creating a new contract manager.
      * Initializes an empty contract collection.
      */
     public ContractManagerImpl() {
-        this.contracts = new ArrayList<>();
+        this(null);
+    }
+
+    /**
+     * Constructor for creating a contract manager that persists its contracts in a store.
+     * The stored contracts are recovered first. If the store cannot be read, the manager is not created,
+     * because its first compaction would replace the stored contracts with an empty snapshot.
+     *
+     * @param store store for the contracts, null for an in-memory collection.
+     * @throws UncheckedIOException if the stored contracts cannot be recovered.
+     */
+    public ContractManagerImpl(ContractStore store) {
+        this.contracts = new LinkedHashMap<>();
+        this.store = store;
+        if (store != null) {
+            recover();
+        }
     }
 
     /**
      * Adds a new contract to the list.
      *
      * @param contract the contract to add.
-     *                 If the provided contract is null, an error message is logged, and an exception is thrown.
+     *                 If the provided contract is null, a contract with the same id was already added,
+     *                 or the contract conflicts with an exclusive contract of the same artist,
+     *                 an error message is logged, and an exception is thrown.
      */
 
     @Override
@@ -38,7 +87,15 @@ public class ContractManagerImpl implements ContractManagerRepository {
             log.error("Error: Cannot add a null contract.");
             throw new IllegalArgumentException("Error: Cannot add a null contract.");
         }
-        contracts.add(contract);
+        if (contracts.containsKey(contract.getId())) {
+            log.error("Error: A contract with ID {} already exists.", contract.getId());
+            throw new IllegalArgumentException("Error: A contract with this ID already exists.");
+        }
+        checkConflict(contract, contract.getArtistName(), contract.getStartDate(), contract.getEndDate(),
+                contract.getTerms());
+        attach(contract);
+        persist(target -> target.logAdded(contract));
+        contractIndexed(contract);
         log.info("Contract added: {}", contract.getId());
     }
 
@@ -55,7 +112,7 @@ public class ContractManagerImpl implements ContractManagerRepository {
             return;
         }
         System.out.println("List of all contracts:");
-        contracts.forEach(System.out::println);
+        contracts.values().forEach(System.out::println);
     }
 
     /**
@@ -66,7 +123,137 @@ public class ContractManagerImpl implements ContractManagerRepository {
 
     @Override
     public List<Contract> getContracts() {
-        return new ArrayList<>(contracts);
+        return new ArrayList<>(contracts.values());
+    }
+
+    /**
+     * Finds a contract by its id.
+     *
+     * @param contractId the contract id.
+     * @return the contract, or an empty Optional if there is no contract with this id.
+     */
+
+    @Override
+    public Optional<Contract> findById(String contractId) {
+        return contractId == null ? Optional.empty() : Optional.ofNullable(contracts.get(contractId));
+    }
+
+    /**
+     * Removes a contract by its id.
+     *
+     * @param contractId the contract id.
+     * @return true if the contract was removed, false if there is no contract with this id.
+     */
+
+    @Override
+    public boolean removeById(String contractId) {
+        Contract removed = contractId == null ? null : contracts.remove(contractId);
+        if (removed == null) {
+            log.warn("No contract found with ID {}", contractId);
+            return false;
+        }
+        removed.setEventSink(null);
+        removed.setChangeGuard(null);
+        expiryIndex.remove(contractId);
+        intervalIndex.remove(contractId);
+        activityCounter.remove(contractId);
+        persist(target -> target.logRemoved(contractId));
+        log.info("Contract removed: {}", contractId);
+        return true;
+    }
+
+    /**
+     * Returns the contracts of an artist that are active on a date, ordered by start date.
+     *
+     * @param artistName the artist name.
+     * @param date       the date.
+     * @return the contracts running on that date, both start and end date included.
+     * @throws IllegalArgumentException if the artist name or the date is null.
+     */
+
+    @Override
+    public List<Contract> getActiveContracts(String artistName, LocalDate date) {
+        if (artistName == null || date == null) {
+            log.error("Invalid active contract query: artist {}, date {}", artistName, date);
+            throw new IllegalArgumentException("Error: Artist name and date cannot be null.");
+        }
+        return intervalIndex.overlapping(artistName, date, date);
+    }
+
+    /**
+     * Returns all contracts of an artist, ordered by start date.
+     *
+     * @param artistName the artist name.
+     * @return the contracts of the artist, empty if there are none.
+     */
+
+    @Override
+    public List<Contract> getContractsByArtist(String artistName) {
+        return artistName == null ? new ArrayList<>() : intervalIndex.byArtist(artistName);
+    }
+
+    /**
+     * Counts the contracts with the given terms that are active today.
+     *
+     * @param terms the contract terms.
+     * @return the number of active contracts.
+     */
+
+    @Override
+    public int countActiveContracts(ContractTerms terms) {
+        return countActiveContracts(terms, today.get());
+    }
+
+    /**
+     * Counts the contracts with the given terms that are active on a date.
+     *
+     * @param terms the contract terms.
+     * @param date  the date.
+     * @return the number of active contracts.
+     * @throws IllegalArgumentException if the terms or the date are null.
+     */
+
+    @Override
+    public int countActiveContracts(ContractTerms terms, LocalDate date) {
+        return countActiveContracts(terms, date, date);
+    }
+
+    /**
+     * Counts the contracts with the given terms that are active on at least one day of a period.
+     *
+     * @param terms the contract terms.
+     * @param from  the first day of the period.
+     * @param to    the last day of the period.
+     * @return the number of contracts active in the period, 0 if the period is empty.
+     * @throws IllegalArgumentException if the terms or a date are null.
+     */
+
+    @Override
+    public int countActiveContracts(ContractTerms terms, LocalDate from, LocalDate to) {
+        if (terms == null || from == null || to == null) {
+            log.error("Invalid active contract count: terms {}, from {}, to {}", terms, from, to);
+            throw new IllegalArgumentException("Error: Contract terms and dates cannot be null.");
+        }
+        return activityCounter.activeBetween(terms, from, to);
+    }
+
+    /**
+     * Returns the contracts that expire within the given number of days, counting today as the first day,
+     * ordered by end date.
+     *
+     * @param days the size of the window in days.
+     * @return the expiring contracts.
+     * @throws IllegalArgumentException if the number of days is not positive.
+     */
+
+    @Override
+    public List<Contract> getExpiringContracts(int days) {
+        if (days <= 0) {
+            log.error("Invalid expiry window: {} days", days);
+            throw new IllegalArgumentException("Error: The expiry window must be at least one day.");
+        }
+        LocalDate firstDay = today.get();
+        return expiryIndex.endingBetween(firstDay, firstDay.plusDays(days - 1));
     }
 
     /**
@@ -76,25 +263,56 @@ public class ContractManagerImpl implements ContractManagerRepository {
 
     @Override
     public void checkExpiringContracts() {
-        LocalDate today = LocalDate.now();
-        LocalDate threshold = today.plusDays(29);
+        checkExpiringContracts(DEFAULT_EXPIRY_WINDOW_DAYS);
+    }
+
+    /**
+     * Checks for contracts that are expiring within the given number of days.
+     * Displays such contracts in the console. If none are found, an appropriate message is displayed.
+     *
+     * @param days the size of the window in days.
+     */
 
-        List<Contract> expiringContracts = contracts.stream()
-                .filter(contract -> contract.getEndDate() != null &&
-                        !contract.getEndDate().isBefore(today) &&
-                        contract.getEndDate().isBefore(threshold.plusDays(1)))
-                .collect(Collectors.toList());
+    @Override
+    public void checkExpiringContracts(int days) {
+        List<Contract> expiringContracts = getExpiringContracts(days);
 
         if (expiringContracts.isEmpty()) {
-            log.info("No contracts are expiring within the next 30 days.");
-            System.out.println("No contracts are expiring within the next 30 days.");
+            log.info("No contracts are expiring within the next {} days.", days);
+            System.out.println("No contracts are expiring within the next " + days + " days.");
         } else {
-            log.info("Contracts expiring within the next 30 days: {}", expiringContracts.size());
-            System.out.println("Contracts expiring within the next 30 days:");
+            log.info("Contracts expiring within the next {} days: {}", days, expiringContracts.size());
+            System.out.println("Contracts expiring within the next " + days + " days:");
             expiringContracts.forEach(System.out::println);
         }
     }
 
+    /**
+     * Starts announcing contracts in the background when they enter the expiry window.
+     * Contracts already in the window are announced right away.
+     *
+     * @param windowDays the size of the expiry window in days.
+     * @param listener   receives a {@link DomainEventType#CONTRACT_EXPIRING} domain event per contract.
+     * @return the running notifier; close it to stop the notifications.
+     * @throws IllegalStateException if a notifier is already running.
+     */
+    public ContractExpiryNotifier startExpiryNotifier(int windowDays, DomainEventSink listener) {
+        return startExpiryNotifier(windowDays, listener, Clock.systemDefaultZone());
+    }
+
+    synchronized ContractExpiryNotifier startExpiryNotifier(int windowDays, DomainEventSink listener, Clock clock) {
+        ContractExpiryNotifier running = expiryNotifier;
+        if (running != null && !running.isClosed()) {
+            log.error("Error: The contract expiry notifier is already running.");
+            throw new IllegalStateException("Error: The contract expiry notifier is already running.");
+        }
+        ContractExpiryNotifier notifier = new ContractExpiryNotifier(expiryIndex, windowDays, listener, clock);
+        notifier.start();
+        expiryNotifier = notifier;
+        log.info("Contract expiry notifier started with a window of {} days.", windowDays);
+        return notifier;
+    }
+
     /**
      * Notifies about expiring contracts when the program starts.
      * Calls {@link #checkExpiringContracts()} to perform the check.
@@ -106,4 +324,116 @@ public class ContractManagerImpl implements ContractManagerRepository {
         System.out.println("Checking contracts for expiration...");
         checkExpiringContracts();
     }
-}
\ No newline at end of file
+
+    /**
+     * Syncs the pending changes of the contract store to disk, if there is a store.
+     */
+    public void syncStore() {
+        if (store != null) {
+            try {
+                store.sync();
+            } catch (IOException e) {
+                log.error("Error syncing contract store: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void attach(Contract contract) {
+        contracts.put(contract.getId(), contract);
+        expiryIndex.add(contract);
+        intervalIndex.add(contract);
+        activityCounter.add(contract);
+        contract.setChangeGuard(this::checkConflict);
+        contract.setEventSink(this::onContractChanged);
+    }
+
+    private void recover() {
+        try {
+            List<Contract> recovered = store.recover();
+            for (Contract contract : recovered) {
+                contracts.put(contract.getId(), contract);
+                expiryIndex.add(contract);
+                activityCounter.add(contract);
+                contract.setChangeGuard(this::checkConflict);
+                contract.setEventSink(this::onContractChanged);
+            }
+            intervalIndex.addAll(recovered);
+            log.info("Recovered {} contracts from the contract store", contracts.size());
+        } catch (IOException e) {
+            log.error("Error recovering contracts: {}", e.getMessage());
+            throw new UncheckedIOException("Error recovering contracts: " + e.getMessage(), e);
+        }
+    }
+
+    private void contractIndexed(Contract contract) {
+        ContractExpiryNotifier notifier = expiryNotifier;
+        if (notifier != null) {
+            notifier.contractIndexed(contract);
+        }
+    }
+
+    /**
+     * Rejects a contract with the given values if it would overlap another contract of the same artist
+     * while one of the two is exclusive. Used for new contracts and as the change guard of added ones.
+     */
+    private void checkConflict(Contract contract, String artistName, LocalDate startDate, LocalDate endDate,
+                               ContractTerms terms) {
+        Contract conflict = intervalIndex.findConflict(contract.getId(), artistName, startDate, endDate,
+                terms == ContractTerms.EXCLUSIVE);
+        if (conflict != null) {
+            log.error("Error: Contract {} for {} ({} to {}, {}) overlaps with contract {} ({} to {}, {}).",
+                    contract.getId(), artistName, startDate, endDate, terms,
+                    conflict.getId(), conflict.getStartDate(), conflict.getEndDate(), conflict.getTerms());
+            throw new IllegalArgumentException("Error: The contract overlaps with another contract of the same artist, "
+                    + "and one of them is exclusive.");
+        }
+    }
+
+    /**
+     * Keeps the expiry and interval indexes and the store in sync with the changes a contract publishes.
+     */
+    private void onContractChanged(DomainEvent change) {
+        Contract contract = change.getType() == DomainEventType.CONTRACT_UPDATED
+                ? contracts.get(change.getSubjectId()) : null;
+        if (contract == null) {
+            return;
+        }
+        String contractId = contract.getId();
+        intervalIndex.update(contractId);
+        activityCounter.update(contract);
+        switch (change.getDetail()) {
+            case "artistName" -> persist(target -> target.logArtistName(contractId, contract.getArtistName()));
+            case "startDate" -> persist(target -> target.logStartDate(contractId, contract.getStartDate()));
+            case "terms" -> persist(target -> target.logTerms(contractId, contract.getTerms()));
+            case "endDate" -> {
+                persist(target -> target.logEndDate(contractId, contract.getEndDate()));
+                if (expiryIndex.update(contractId) != null) {
+                    contractIndexed(contract);
+                }
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Writes one change to the store, if there is one, and compacts the store when it is due.
+     */
+    private void persist(StoreWrite write) {
+        if (store == null) {
+            return;
+        }
+        try {
+            write.writeTo(store);
+            if (store.isCompactionDue()) {
+                store.compact(contracts.values());
+            }
+        } catch (IOException e) {
+            log.error("Error writing to the contract store: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface StoreWrite {
+        void writeTo(ContractStore store) throws IOException;
+    }
+}
@@ -0,0 +1,364 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The ContractStore class persists contracts as an append-only change log plus periodic snapshots.
+ * <p>
+ * Every change is appended to the log as a small binary entry: added contracts, removed contracts,
+ * and one operation per setter of {@link Contract} carrying only the changed field. The log is a
+ * group-committed {@link FramedJournal} whose entry payloads start with the operation code.
+ * Once the log holds {@code compactionThreshold} entries, {@link #compact(Collection)} writes all
+ * contracts to a snapshot file and empties the log, so recovery reads one snapshot and a short log
+ * instead of the full history.
+ * <p>
+ * The snapshot stores every artist name once in a name table and the contracts as compact records
+ * referring to it, checked by one CRC over the whole file, so recovery is a single sequential read
+ * whose time grows with the number of contracts, not with the number of changes ever made.
+ * Log entries are replayed through an id-keyed map of plain field values, without the validation,
+ * guards and logging of the setters: a log that was written before the snapshot (after a crash between
+ * writing the snapshot and emptying the log) passes through states that the setters would reject.
+ * The contracts are created once all entries are applied.
+ */
+@Slf4j
+public class ContractStore implements Closeable {
+    private static final int SNAPSHOT_MAGIC = 0x53424353; // "SBCS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 256; // log entries synced to disk together
+    private static final long DEFAULT_GROUP_COMMIT_INTERVAL_MILLIS = 200; // max time an entry waits for sync
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 100_000; // log entries before a new snapshot is written
+
+    private static final byte OP_ADDED = 1;
+    private static final byte OP_REMOVED = 2;
+    private static final byte OP_ARTIST_NAME = 3;
+    private static final byte OP_START_DATE = 4;
+    private static final byte OP_END_DATE = 5;
+    private static final byte OP_TERMS = 6;
+
+    private final FramedJournal journal;
+    private final Path snapshotPath;
+    private final int compactionThreshold;
+
+    /**
+     * Creates a store that syncs every 256 entries or 200 ms and compacts every 100,000 entries.
+     * @param journalFile  The path of the change log
+     * @param snapshotFile The path of the snapshot
+     */
+    public ContractStore(String journalFile, String snapshotFile) {
+        this(journalFile, snapshotFile, DEFAULT_GROUP_COMMIT_SIZE, DEFAULT_GROUP_COMMIT_INTERVAL_MILLIS,
+                DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a store. The change log is opened lazily on the first append.
+     * @param journalFile               The path of the change log
+     * @param snapshotFile              The path of the snapshot
+     * @param groupCommitSize           The number of entries after which pending entries are synced
+     * @param groupCommitIntervalMillis The maximum time pending entries may wait before being synced
+     * @param compactionThreshold       The number of log entries after which a snapshot is due
+     * @throws IllegalArgumentException If a size is not positive or the interval is not positive
+     */
+    public ContractStore(String journalFile, String snapshotFile, int groupCommitSize,
+                         long groupCommitIntervalMillis, int compactionThreshold) {
+        if (groupCommitSize <= 0 || compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Group commit size and compaction threshold must be greater than 0");
+        }
+        if (groupCommitIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Group commit interval must be greater than 0");
+        }
+        this.journal = new FramedJournal(journalFile, "contract-store-sync", groupCommitSize, groupCommitIntervalMillis);
+        this.snapshotPath = Paths.get(snapshotFile);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Loads the snapshot and replays the change log written after it.
+     * A torn or corrupt log tail is cut off, so new entries follow the last valid one.
+     * @return The stored contracts, in the order they were added
+     * @throws IOException If the snapshot is corrupt or an error occurs while reading
+     */
+    public synchronized List<Contract> recover() throws IOException {
+        Map<String, StoredContract> stored = new LinkedHashMap<>();
+        if (Files.exists(snapshotPath)) {
+            readSnapshot(stored);
+        }
+        int snapshotSize = stored.size();
+        long entryCount = journal.replay(payload -> apply(stored, payload));
+        List<Contract> contracts = new ArrayList<>(stored.size());
+        for (StoredContract contract : stored.values()) {
+            try {
+                contracts.add(contract.toContract());
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new IOException("Invalid stored contract " + contract.id + ": " + e.getMessage(), e);
+            }
+        }
+        log.info("Recovered {} contracts from snapshot ({} contracts) and {} log entries",
+                contracts.size(), snapshotSize, entryCount);
+        return contracts;
+    }
+
+    /**
+     * Logs an added contract with all its data.
+     * @param contract The added contract
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logAdded(Contract contract) throws IOException {
+        FramedJournal.Payload payload = startEntry(OP_ADDED, contract.getId());
+        payload.writeUTF(contract.getArtistName());
+        payload.writeLong(contract.getStartDate().toEpochDay());
+        payload.writeLong(contract.getEndDate().toEpochDay());
+        payload.writeByte(contract.getTerms().ordinal());
+        append(payload);
+    }
+
+    /**
+     * Logs a removed contract.
+     * @param contractId Identifier of the removed contract
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logRemoved(String contractId) throws IOException {
+        append(startEntry(OP_REMOVED, contractId));
+    }
+
+    /**
+     * Logs a new artist name, as set by {@link Contract#setArtistName}.
+     * @param contractId Identifier of the contract
+     * @param artistName New artist name
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logArtistName(String contractId, String artistName) throws IOException {
+        FramedJournal.Payload payload = startEntry(OP_ARTIST_NAME, contractId);
+        payload.writeUTF(artistName);
+        append(payload);
+    }
+
+    /**
+     * Logs a new start date, as set by {@link Contract#setStartDate}.
+     * @param contractId Identifier of the contract
+     * @param startDate  New start date
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logStartDate(String contractId, LocalDate startDate) throws IOException {
+        logDate(OP_START_DATE, contractId, startDate);
+    }
+
+    /**
+     * Logs a new end date, as set by {@link Contract#setEndDate}.
+     * @param contractId Identifier of the contract
+     * @param endDate    New end date
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logEndDate(String contractId, LocalDate endDate) throws IOException {
+        logDate(OP_END_DATE, contractId, endDate);
+    }
+
+    /**
+     * Logs new contract terms, as set by {@link Contract#setTerms}.
+     * @param contractId Identifier of the contract
+     * @param terms      New contract terms
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logTerms(String contractId, ContractTerms terms) throws IOException {
+        FramedJournal.Payload payload = startEntry(OP_TERMS, contractId);
+        payload.writeByte(terms.ordinal());
+        append(payload);
+    }
+
+    /**
+     * Checks whether the change log has grown enough for {@link #compact(Collection)}.
+     * @return true if a snapshot is due
+     */
+    public synchronized boolean isCompactionDue() {
+        return journal.getEntryCount() >= compactionThreshold;
+    }
+
+    /**
+     * Writes all contracts to a new snapshot and empties the change log.
+     * Appends wait while the snapshot is written, so every change is either in the snapshot,
+     * in the emptied log, or both.
+     * @param contracts All current contracts
+     * @throws IOException If an error occurs while writing the snapshot
+     */
+    public synchronized void compact(Collection<Contract> contracts) throws IOException {
+        journal.sync();
+        List<Contract> copy = new ArrayList<>(contracts);
+        Map<String, Integer> artistIndexes = new LinkedHashMap<>();
+        for (Contract contract : copy) {
+            artistIndexes.putIfAbsent(contract.getArtistName(), artistIndexes.size());
+        }
+        FramedJournal.replaceFile(snapshotPath, file -> {
+            CRC32 crc = new CRC32();
+            DataOutputStream snapshot = new DataOutputStream(new CheckedOutputStream(file, crc));
+            snapshot.writeInt(SNAPSHOT_MAGIC);
+            snapshot.writeInt(SNAPSHOT_VERSION);
+            snapshot.writeInt(artistIndexes.size());
+            for (String artistName : artistIndexes.keySet()) {
+                snapshot.writeUTF(artistName);
+            }
+            snapshot.writeInt(copy.size());
+            for (Contract contract : copy) {
+                snapshot.writeUTF(contract.getId());
+                snapshot.writeInt(artistIndexes.get(contract.getArtistName()));
+                snapshot.writeLong(contract.getStartDate().toEpochDay());
+                snapshot.writeLong(contract.getEndDate().toEpochDay());
+                snapshot.writeByte(contract.getTerms().ordinal());
+            }
+            snapshot.writeInt((int) crc.getValue());
+            snapshot.flush();
+        });
+        journal.reset();
+        log.info("Contract store compacted: {} contracts of {} artists written to snapshot {}",
+                copy.size(), artistIndexes.size(), snapshotPath);
+    }
+
+    /**
+     * Flushes all pending entries and forces them to disk.
+     * @throws IOException If an error occurs while syncing the log
+     */
+    public synchronized void sync() throws IOException {
+        journal.sync();
+    }
+
+    /**
+     * Returns the number of entries written since the last snapshot.
+     * @return The number of log entries
+     */
+    public synchronized long getEntryCount() {
+        return journal.getEntryCount();
+    }
+
+    /**
+     * Deletes the change log and the snapshot.
+     * @throws IOException If an error occurs while deleting the files
+     */
+    public synchronized void delete() throws IOException {
+        journal.delete();
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    /**
+     * Syncs pending entries, stops the background sync and closes the change log.
+     * @throws IOException If an error occurs while closing the log
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+
+    private void logDate(byte op, String contractId, LocalDate date) throws IOException {
+        FramedJournal.Payload payload = startEntry(op, contractId);
+        payload.writeLong(date.toEpochDay());
+        append(payload);
+    }
+
+    private void append(FramedJournal.Payload payload) throws IOException {
+        journal.append(payload.toByteArray());
+    }
+
+    private void readSnapshot(Map<String, StoredContract> contracts) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotPath), 64 * 1024), crc))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a contract snapshot: " + snapshotPath);
+            }
+            String[] artistNames = new String[in.readInt()];
+            for (int i = 0; i < artistNames.length; i++) {
+                artistNames[i] = in.readUTF();
+            }
+            int count = in.readInt();
+            ContractTerms[] terms = ContractTerms.values();
+            for (int i = 0; i < count; i++) {
+                StoredContract contract = new StoredContract(in.readUTF());
+                contract.artistName = artistNames[in.readInt()];
+                contract.startDay = in.readLong();
+                contract.endDay = in.readLong();
+                contract.terms = terms[in.readByte()];
+                contracts.put(contract.id, contract);
+            }
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Corrupt contract snapshot: " + snapshotPath);
+            }
+        } catch (EOFException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt contract snapshot: " + snapshotPath, e);
+        }
+    }
+
+    /**
+     * Applies one log entry. Every operation sets a value rather than changing it,
+     * so entries that are also contained in the snapshot can be replayed again.
+     */
+    private static void apply(Map<String, StoredContract> contracts, byte[] bytes) throws IOException {
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte op = payload.readByte();
+        String id = payload.readUTF();
+        if (op == OP_ADDED) {
+            StoredContract contract = new StoredContract(id);
+            contract.artistName = payload.readUTF();
+            contract.startDay = payload.readLong();
+            contract.endDay = payload.readLong();
+            contract.terms = ContractTerms.values()[payload.readByte()];
+            contracts.put(id, contract);
+            return;
+        }
+        if (op == OP_REMOVED) {
+            contracts.remove(id);
+            return;
+        }
+        StoredContract contract = contracts.get(id);
+        if (contract == null) {
+            return;
+        }
+        switch (op) {
+            case OP_ARTIST_NAME -> contract.artistName = payload.readUTF();
+            case OP_START_DATE -> contract.startDay = payload.readLong();
+            case OP_END_DATE -> contract.endDay = payload.readLong();
+            case OP_TERMS -> contract.terms = ContractTerms.values()[payload.readByte()];
+            default -> throw new IOException("Unknown contract log operation " + op);
+        }
+    }
+
+    private static FramedJournal.Payload startEntry(byte op, String contractId) throws IOException {
+        FramedJournal.Payload payload = new FramedJournal.Payload();
+        payload.writeByte(op);
+        payload.writeUTF(contractId);
+        return payload;
+    }
+
+    /**
+     * The field values of a contract while the snapshot and the log are applied.
+     */
+    private static final class StoredContract {
+        private final String id;
+        private String artistName;
+        private long startDay;
+        private long endDay;
+        private ContractTerms terms;
+
+        private StoredContract(String id) {
+            this.id = id;
+        }
+
+        private Contract toContract() {
+            return new Contract(id, artistName, LocalDate.ofEpochDay(startDay), LocalDate.ofEpochDay(endDay), terms);
+        }
+    }
+}
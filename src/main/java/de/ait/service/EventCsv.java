@@ -0,0 +1,197 @@
+package de.ait.service;
+
+import de.ait.model.Event;
+import de.ait.utilities.EventType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The EventCsv class reads and writes events in the CSV format used for bulk imports:
+ * {@code name,eventType,date,location,totalTicketCount,soldTicketCount,ticketPrice,artists}
+ * with an ISO date ({@code 2025-06-01}) and the artists separated by semicolons.
+ * Fields cannot contain commas.
+ * <p>
+ * Rows are parsed without throwing: a row that cannot be parsed gets an error message instead
+ * of an event, so a file with many bad rows costs no more than a file without them.
+ * Large files are parsed in parallel.
+ */
+public final class EventCsv {
+    static final String HEADER = "name,eventType,date,location,totalTicketCount,soldTicketCount,ticketPrice,artists";
+    private static final int PARALLEL_THRESHOLD = 4096; // rows, below this parsing is not worth splitting
+    private static final int NOT_A_NUMBER = -1;
+    private static final Map<String, EventType> EVENT_TYPES = new HashMap<>();
+
+    static {
+        for (EventType type : EventType.values()) {
+            EVENT_TYPES.put(type.name(), type);
+        }
+    }
+
+    private EventCsv() {
+    }
+
+    /**
+     * Writes events to a CSV file with a header line, creating missing parent directories.
+     * @param filePath The path of the file to write
+     * @param events   The events to write
+     * @throws IOException If an error occurs while writing the file
+     */
+    public static void write(Path filePath, Collection<Event> events) throws IOException {
+        if (filePath.getParent() != null) {
+            Files.createDirectories(filePath.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            StringBuilder line = new StringBuilder(128);
+            for (Event event : events) {
+                line.setLength(0);
+                line.append(event.getName()).append(',')
+                        .append(event.getEventType()).append(',')
+                        .append(event.getDate()).append(',')
+                        .append(event.getLocation()).append(',')
+                        .append(event.getTotalTicketCount()).append(',')
+                        .append(event.getSoldTicketCount()).append(',')
+                        .append(event.getTicketPrice()).append(',')
+                        .append(String.join(";", event.getArtistList()));
+                writer.write(line.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Parses data rows (without the header line). For every row either {@code events[i]}
+     * is set to a new event or {@code errors[i]} to the reason the row cannot be parsed.
+     * @param rows   Data rows
+     * @param events Receives the parsed events, same length as rows
+     * @param errors Receives the parse errors, same length as rows
+     */
+    static void parse(List<String> rows, Event[] events, String[] errors) {
+        IntStream indexes = IntStream.range(0, rows.size());
+        if (rows.size() >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> {
+            Object parsed = parseRow(rows.get(i));
+            if (parsed instanceof Event event) {
+                events[i] = event;
+            } else {
+                errors[i] = (String) parsed;
+            }
+        });
+    }
+
+    /**
+     * Returns the event of a row, or the error message if the row cannot be parsed.
+     */
+    private static Object parseRow(String row) {
+        int commas = 0;
+        for (int i = 0; i < row.length(); i++) {
+            if (row.charAt(i) == ',') {
+                commas++;
+            }
+        }
+        if (commas != 6 && commas != 7) { // the artists column may be left out
+            return "Invalid row: expected 8 fields, found " + (commas + 1);
+        }
+        String[] fields = row.split(",", -1);
+
+        EventType type = EVENT_TYPES.get(fields[1].trim());
+        if (type == null) {
+            return "Invalid event type: " + fields[1];
+        }
+        LocalDate date = parseDate(fields[2].trim());
+        if (date == null) {
+            return "Invalid date: " + fields[2];
+        }
+        int total = parseCount(fields[4].trim());
+        int sold = parseCount(fields[5].trim());
+        if (total == NOT_A_NUMBER || sold == NOT_A_NUMBER) {
+            return "Invalid ticket count: " + fields[4] + ", " + fields[5];
+        }
+        double price = parsePrice(fields[6].trim());
+        if (Double.isNaN(price)) {
+            return "Invalid ticket price: " + fields[6];
+        }
+        HashSet<String> artists = new HashSet<>();
+        if (fields.length == 8) {
+            for (String artist : fields[7].split(";")) {
+                if (!artist.isBlank()) {
+                    artists.add(artist.trim());
+                }
+            }
+        }
+        return new Event(fields[0].trim(), type, date, fields[3].trim(), total, sold, price, artists);
+    }
+
+    /**
+     * Parses an ISO date, returning null instead of throwing.
+     */
+    private static LocalDate parseDate(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = parseCount(text.substring(0, 4));
+        int month = parseCount(text.substring(5, 7));
+        int day = parseCount(text.substring(8, 10));
+        if (year == NOT_A_NUMBER || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) { // e.g. the 31st of a 30-day month
+            return null;
+        }
+    }
+
+    /**
+     * Parses a non-negative integer, returning {@link #NOT_A_NUMBER} instead of throwing.
+     */
+    private static int parseCount(String text) {
+        if (text.isEmpty() || text.length() > 10) {
+            return NOT_A_NUMBER;
+        }
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_A_NUMBER;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? NOT_A_NUMBER : (int) value;
+    }
+
+    /**
+     * Parses a decimal price, returning NaN instead of throwing.
+     */
+    private static double parsePrice(String text) {
+        if (text.isEmpty()) {
+            return Double.NaN;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'E' && c != 'e') {
+                return Double.NaN;
+            }
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) { // only for rows that look numeric but are not, e.g. "1..2"
+            return Double.NaN;
+        }
+    }
+}
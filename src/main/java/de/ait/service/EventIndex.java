@@ -0,0 +1,209 @@
+package de.ait.service;
+
+import de.ait.model.Event;
+import de.ait.utilities.EventType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The EventIndex class keeps secondary indexes of event ids
+ * by date, by {@link EventType}, by location and by artist.
+ * <p>
+ * Every index maps a key to a concurrent set of event ids, so queries never scan the events.
+ * Locations are matched ignoring case and surrounding whitespace; artist names exactly,
+ * like the artist list of an {@link Event}. The keys an event was indexed under are remembered,
+ * so an event can be re-indexed or removed after its fields have changed.
+ * <p>
+ * Updates are serialized; queries run without locking and see each update either fully
+ * or, for an update that is still running, partially. The index is maintained by {@link EventManagerImpl}.
+ */
+public class EventIndex {
+    private final ConcurrentSkipListMap<LocalDate, Set<String>> byDate = new ConcurrentSkipListMap<>();
+    private final Map<EventType, Set<String>> byType = new EnumMap<>(EventType.class); // keys are fixed, sets are concurrent
+    private final ConcurrentHashMap<String, Set<String>> byLocation = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> byArtist = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, IndexedKeys> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty index.
+     */
+    public EventIndex() {
+        for (EventType type : EventType.values()) {
+            byType.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Indexes an event under its current date, type, location and artists.
+     * @param event Event to index
+     */
+    public synchronized void add(Event event) {
+        IndexedKeys keys = new IndexedKeys(event.getDate(), event.getEventType(), locationKey(event.getLocation()),
+                event.getArtistList());
+        keysById.put(event.getId(), keys);
+        addKeys(event.getId(), keys);
+    }
+
+    /**
+     * Removes an event from all indexes.
+     * @param eventId Identifier of the event
+     */
+    public synchronized void remove(String eventId) {
+        IndexedKeys keys = keysById.remove(eventId);
+        if (keys != null) {
+            removeKeys(eventId, keys);
+        }
+    }
+
+    /**
+     * Re-indexes an event whose date, type or location may have changed.
+     * @param event Event to re-index
+     */
+    public synchronized void update(Event event) {
+        IndexedKeys old = keysById.get(event.getId());
+        if (old == null) {
+            return;
+        }
+        IndexedKeys keys = new IndexedKeys(event.getDate(), event.getEventType(), locationKey(event.getLocation()),
+                old.artists);
+        removeKeys(event.getId(), new IndexedKeys(old.date, old.type, old.location, Set.of()));
+        keysById.put(event.getId(), keys);
+        addKeys(event.getId(), new IndexedKeys(keys.date, keys.type, keys.location, Set.of()));
+    }
+
+    /**
+     * Adds an artist of an indexed event to the artist index.
+     * @param eventId    Identifier of the event
+     * @param artistName Artist name
+     */
+    public synchronized void addArtist(String eventId, String artistName) {
+        IndexedKeys keys = keysById.get(eventId);
+        if (keys != null && keys.artists.add(artistName)) {
+            add(byArtist, artistName, eventId);
+        }
+    }
+
+    /**
+     * Removes an artist of an indexed event from the artist index.
+     * @param eventId    Identifier of the event
+     * @param artistName Artist name
+     */
+    public synchronized void removeArtist(String eventId, String artistName) {
+        IndexedKeys keys = keysById.get(eventId);
+        if (keys != null && keys.artists.remove(artistName)) {
+            remove(byArtist, artistName, eventId);
+        }
+    }
+
+    /**
+     * Returns the ids of the events between two dates (both inclusive), ordered by date.
+     * @param from First date
+     * @param to   Last date
+     * @return Event ids
+     */
+    public List<String> idsBetween(LocalDate from, LocalDate to) {
+        List<String> ids = new ArrayList<>();
+        for (Set<String> sameDay : byDate.subMap(from, true, to, true).values()) {
+            ids.addAll(sameDay);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the ids of the events of a type.
+     * @param type Event type
+     * @return Read-only view of the event ids
+     */
+    public Set<String> idsByType(EventType type) {
+        return Collections.unmodifiableSet(byType.get(type));
+    }
+
+    /**
+     * Returns the ids of the events at a location, ignoring case and surrounding whitespace.
+     * @param location Location
+     * @return Read-only view of the event ids
+     */
+    public Set<String> idsByLocation(String location) {
+        Set<String> ids = location == null ? null : byLocation.get(locationKey(location));
+        return ids == null ? Set.of() : Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Returns the ids of the events an artist plays at.
+     * @param artistName Artist name
+     * @return Read-only view of the event ids
+     */
+    public Set<String> idsByArtist(String artistName) {
+        Set<String> ids = artistName == null ? null : byArtist.get(artistName);
+        return ids == null ? Set.of() : Collections.unmodifiableSet(ids);
+    }
+
+    private void addKeys(String eventId, IndexedKeys keys) {
+        if (keys.date != null) {
+            add(byDate, keys.date, eventId);
+        }
+        if (keys.type != null) {
+            byType.get(keys.type).add(eventId);
+        }
+        if (keys.location != null) {
+            add(byLocation, keys.location, eventId);
+        }
+        for (String artist : keys.artists) {
+            add(byArtist, artist, eventId);
+        }
+    }
+
+    private void removeKeys(String eventId, IndexedKeys keys) {
+        if (keys.date != null) {
+            remove(byDate, keys.date, eventId);
+        }
+        if (keys.type != null) {
+            byType.get(keys.type).remove(eventId);
+        }
+        if (keys.location != null) {
+            remove(byLocation, keys.location, eventId);
+        }
+        for (String artist : keys.artists) {
+            remove(byArtist, artist, eventId);
+        }
+    }
+
+    private static <K> void add(Map<K, Set<String>> index, K key, String eventId) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(eventId);
+    }
+
+    private static <K> void remove(Map<K, Set<String>> index, K key, String eventId) {
+        index.computeIfPresent(key, (k, ids) -> ids.remove(eventId) && ids.isEmpty() ? null : ids);
+    }
+
+    private static String locationKey(String location) {
+        return location == null ? null : location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The keys an event is currently indexed under.
+     */
+    private static final class IndexedKeys {
+        private final LocalDate date;
+        private final EventType type;
+        private final String location;
+        private final Set<String> artists;
+
+        private IndexedKeys(LocalDate date, EventType type, String location, Set<String> artists) {
+            this.date = date;
+            this.type = type;
+            this.location = location;
+            this.artists = new HashSet<>(artists);
+        }
+    }
+}
@@ -3,10 +3,30 @@ package de.ait.service;
 import de.ait.exceptions.EventAlreadyInListException;
 import de.ait.exceptions.EventIsNotInListException;
 import de.ait.model.Event;
+import de.ait.model.EventImportResult;
+import de.ait.notification.DomainEvent;
+import de.ait.notification.DomainEventSink;
 import de.ait.repository.EventManagerRepository;
+import de.ait.utilities.DomainEventType;
+import de.ait.utilities.EventType;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
 
 /**
  * The EventManager class manages a list of events.
@@ -14,17 +34,65 @@ import java.util.HashMap;
  * and the value is an object of the Event class.
  * It allows adding and removing events, searching for them by identifier,
  * and displaying a list of all events.
+ * The events are kept in a ConcurrentHashMap, so events can be added, removed and looked up
+ * from several threads while tickets are sold.
+ * Changes are published to a {@link DomainEventSink} instead of being printed.
+ * Secondary indexes by date, event type, location and artist (see {@link EventIndex})
+ * answer the query methods without scanning the events; they follow every change
+ * an event publishes while it is in the list.
+ * Readers that only need the size, the ids or a read-only view should use those methods
+ * instead of {@link #getEvents()}, which copies the whole list.
+ * Whole schedules are loaded with {@link #addEvents(Collection)} or {@link #importEventsFromCsv(String)},
+ * which report invalid rows instead of throwing.
+ * With an {@link EventStore}, every change is also written to the store's change log
+ * and the events are recovered from the store when the manager is created.
  */
 @Slf4j
 public class EventManagerImpl implements EventManagerRepository {
-    private final HashMap<String, Event> events; // list of events (String - id, Event - event)
+    private static final int PARALLEL_VALIDATION_THRESHOLD = 4096; // bulk adds of fewer events validate sequentially
+
+    private final ConcurrentHashMap<String, Event> events; // list of events (String - id, Event - event)
+    private final ConcurrentHashMap<String, Event> inserting = new ConcurrentHashMap<>(); // logged, not yet in events
+    private final DomainEventSink eventSink; // receives added and removed events, ticket sales and artist changes
+    private final EventIndex index = new EventIndex(); // secondary indexes by date, type, location and artist
+    private final EventStore store; // change log and snapshots, null for an in-memory list
+    private final DomainEventSink eventChanges; // installed on every added event: index, store, then eventSink
+    // writers share the read lock; building a snapshot takes the write lock so no change is half visible
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private volatile Map<String, Event> snapshot; // immutable copy of events, null after every change
 
     public EventManagerImpl() {
-        events = new HashMap<>();
+        this(DomainEventSink.NONE);
+    }
+
+    /**
+     * Creates an event manager that publishes its changes, and those of its events, to a sink.
+     * @param eventSink Sink for domain events
+     */
+    public EventManagerImpl(DomainEventSink eventSink) {
+        this(eventSink, null);
+    }
+
+    /**
+     * Creates an event manager that persists its events in a store.
+     * The stored events are recovered first; if recovery fails, the error is logged
+     * and the manager starts with an empty list.
+     * @param eventSink Sink for domain events
+     * @param store     Store for the events, null for an in-memory list
+     */
+    public EventManagerImpl(DomainEventSink eventSink, EventStore store) {
+        this.events = new ConcurrentHashMap<>();
+        this.eventSink = eventSink == null ? DomainEventSink.NONE : eventSink;
+        this.store = store;
+        this.eventChanges = DomainEventSink.of(this::updateIndex, this::persistChange, this.eventSink);
+        if (store != null) {
+            recover();
+        }
     }
 
     /**
      * Returns a copy of the event list.
+     * Copies every entry; prefer {@link #isEmpty()}, {@link #getEventsView()} or {@link #getEventsSnapshot()}.
      * @return Copy of the event list
      */
     @Override
@@ -32,6 +100,69 @@ public class EventManagerImpl implements EventManagerRepository {
         return new HashMap<>(events);
     }
 
+    /**
+     * Returns the number of events in the list.
+     * @return Number of events
+     */
+    @Override
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Checks whether the event list is empty.
+     * @return true if there are no events
+     */
+    @Override
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    /**
+     * Returns a read-only live view of the event identifiers.
+     * @return Event identifiers
+     */
+    @Override
+    public Set<String> getEventIds() {
+        return Collections.unmodifiableSet(events.keySet());
+    }
+
+    /**
+     * Returns a read-only live view of the event list without copying it.
+     * The view reflects later changes; iterating it while events change is safe
+     * but may or may not see those changes.
+     * @return Read-only view of the event list
+     */
+    @Override
+    public Map<String, Event> getEventsView() {
+        return Collections.unmodifiableMap(events);
+    }
+
+    /**
+     * Returns an immutable, consistent snapshot of the event list.
+     * The snapshot is built once after each change and then shared by all readers,
+     * so repeated reads without changes in between cost nothing.
+     * @return Immutable snapshot of the event list
+     */
+    @Override
+    public Map<String, Event> getEventsSnapshot() {
+        Map<String, Event> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            current = snapshot;
+            if (current == null) {
+                current = Map.copyOf(events);
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
     /**
      * Returns an event by its unique identifier,
      * if not found, displays an appropriate error message.
@@ -41,11 +172,12 @@ public class EventManagerImpl implements EventManagerRepository {
      */
     @Override
     public Event getEventById(String eventId) throws EventIsNotInListException {
-        if (!events.containsKey(eventId)){
+        Event event = eventId == null ? null : events.get(eventId);
+        if (event == null) {
             log.error("Error! This event is not in the list");
             throw new EventIsNotInListException("Error! This event is not in the list");
         } else {
-            return events.get(eventId);
+            return event;
         }
     }
 
@@ -56,52 +188,54 @@ public class EventManagerImpl implements EventManagerRepository {
      */
     @Override
     public String addEvent(Event event) throws EventAlreadyInListException {
-        if (event == null) {
-            log.error("Error! Event is null");
-            throw new IllegalArgumentException("Error! Event is null");
-        } else if (event.getName() == null || event.getName().isEmpty()) {
-            log.error("Invalid name: Name cannot be empty or null");
-            throw new IllegalArgumentException(
-                    "Invalid name: Name cannot be empty or null");
-        } else if (event.getEventType() == null) {
-            log.error("Invalid event type: Event type cannot be empty or null");
-            throw new IllegalArgumentException(
-                    "Invalid event type: Event type cannot be empty or null");
-        } else if (event.getDate() == null) {
-            log.error("Invalid date: Date cannot be empty");
-            throw new IllegalArgumentException(
-                    "Invalid date: Date cannot be empty");
-        } else if (event.getLocation() == null || event.getLocation().isEmpty()) {
-            log.error("Invalid location: Location cannot be empty or null");
-            throw new IllegalArgumentException(
-                    "Invalid location: Location cannot be empty or null");
-        } else if (event.getTotalTicketCount() <= 0) {
-            log.error("Invalid ticket count: Ticket count cannot be less than or equal to zero");
-            throw new IllegalArgumentException(
-                    "Invalid ticket count: Ticket count cannot be less than or equal to zero");
-        } else if (event.getSoldTicketCount() < 0) {
-            log.error("Invalid sold ticket count: Ticket count cannot be less than or equal to zero");
-            throw new IllegalArgumentException(
-                    "Invalid sold ticket count: Ticket count cannot be less than or equal to zero");
-        } else if (event.getTotalTicketCount() < event.getSoldTicketCount()) {
-            log.error("Invalid sold ticket count: Sold ticket count cannot exceed the total number");
-            throw new IllegalArgumentException(
-                    "Invalid sold ticket count: Sold ticket count cannot exceed the total number");
-        } else if (event.getTicketPrice() < 0) {
-            log.error("Invalid ticket price: Ticket price cannot be less than zero");
-            throw new IllegalArgumentException(
-                    "Invalid ticket price: Ticket price cannot be less than zero");
-        } else if (events.containsKey(event.getId())){
+        String error = validationError(event);
+        if (error != null) {
+            log.error(error);
+            throw new IllegalArgumentException(error);
+        } else if (!putIfAbsent(event)) {
             log.error("Error! This event already exists in the list");
             throw new EventAlreadyInListException("Error! This event already exists in the list");
         } else {
-            events.put(event.getId(), event);
-            log.info("Event {} with Id {} added to the list", event.getName(), event.getId());
-            System.out.println("Event " + event.getName() + " with Id " + event.getId() + " added to the list ");
+            publishAdded(event);
             return event.getId();
         }
     }
 
+    /**
+     * Adds many events at once. The events are validated in parallel and the valid ones
+     * are inserted in one pass; invalid events and events already in the list are not added
+     * and reported as row errors (rows are counted from 1 in the order of the collection)
+     * instead of being thrown.
+     * @param newEvents Events to be added
+     * @return The identifiers of the added events and the rejected rows
+     */
+    @Override
+    public EventImportResult addEvents(Collection<Event> newEvents) {
+        Event[] batch = newEvents.toArray(new Event[0]);
+        return addAll(batch, new String[batch.length]);
+    }
+
+    /**
+     * Adds the events of a CSV file (see {@link EventCsv} for the format).
+     * Rows that cannot be parsed or validated are reported as row errors, counted from 1
+     * after the header line; all other rows are added.
+     * @param fileName The path of the file to read
+     * @return The identifiers of the added events and the rejected rows
+     * @throws IOException If an error occurs while reading the file
+     */
+    @Override
+    public EventImportResult importEventsFromCsv(String fileName) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8);
+        List<String> rows = lines.isEmpty() ? List.of() : lines.subList(1, lines.size()); // skip the header
+        Event[] batch = new Event[rows.size()];
+        String[] errors = new String[rows.size()];
+        EventCsv.parse(rows, batch, errors);
+        EventImportResult result = addAll(batch, errors);
+        log.info("Imported {} events from {}, {} rows rejected", result.getAddedCount(), fileName,
+                result.getErrors().size());
+        return result;
+    }
+
     /**
      * Removes an event from the list.
      * @param event Event to be removed
@@ -109,48 +243,17 @@ public class EventManagerImpl implements EventManagerRepository {
      */
     @Override
     public void removeEvent(Event event) throws EventIsNotInListException {
-        if (event == null) {
-            log.error("Error! Event is null");
-            throw new IllegalArgumentException("Error! Event is null");
-        } else if (event.getName() == null || event.getName().isEmpty()) {
-            log.error("Invalid name: Name cannot be empty or null");
-            throw new IllegalArgumentException(
-                    "Invalid name: Name cannot be empty or null");
-        } else if (event.getEventType() == null) {
-            log.error("Invalid event type: Event type cannot be empty or null");
-            throw new IllegalArgumentException(
-                    "Invalid event type: Event type cannot be empty or null");
-        } else if (event.getDate() == null) {
-            log.error("Invalid date: Date cannot be empty");
-            throw new IllegalArgumentException(
-                    "Invalid date: Date cannot be empty");
-        } else if (event.getLocation() == null || event.getLocation().isEmpty()) {
-            log.error("Invalid location: Location cannot be empty or null");
-            throw new IllegalArgumentException(
-                    "Invalid location: Location cannot be empty or null");
-        } else if (event.getTotalTicketCount() <= 0) {
-            log.error("Invalid ticket count: Ticket count cannot be less than or equal to zero");
-            throw new IllegalArgumentException(
-                    "Invalid ticket count: Ticket count cannot be less than or equal to zero");
-        } else if (event.getSoldTicketCount() < 0) {
-            log.error("Invalid sold ticket count: Ticket count cannot be less than or equal to zero");
-            throw new IllegalArgumentException(
-                    "Invalid sold ticket count: Ticket count cannot be less than or equal to zero");
-        } else if (event.getTotalTicketCount() < event.getSoldTicketCount()) {
-            log.error("Invalid sold ticket count: Sold ticket count cannot exceed the total number");
-            throw new IllegalArgumentException(
-                    "Invalid sold ticket count: Sold ticket count cannot exceed the total number");
-        } else if (event.getTicketPrice() < 0) {
-            log.error("Invalid ticket price: Ticket price cannot be less than zero");
-            throw new IllegalArgumentException(
-                    "Invalid ticket price: Ticket price cannot be less than zero");
-        } else if (!events.containsKey(event.getId())){
+        String error = validationError(event);
+        if (error != null) {
+            log.error(error);
+            throw new IllegalArgumentException(error);
+        } else if (removeById(event.getId()) == null) {
             log.error("Error! This event is not in the list");
             throw new EventIsNotInListException("Error! This event is not in the list");
         } else {
-            events.remove(event.getId());
-            log.info("Event {} with Id {} removed from the list", event.getName(), event.getId());
-            System.out.println("Event " + event.getName() + " with Id " + event.getId() + " removed from the list ");
+            detach(event);
+            persist(target -> target.logRemoved(event.getId()));
+            eventSink.publish(new DomainEvent(DomainEventType.EVENT_REMOVED, event.getId(), event.getName(), null));
         }
     }
 
@@ -161,13 +264,28 @@ public class EventManagerImpl implements EventManagerRepository {
      */
     @Override
     public void removeEventById(String eventId) throws EventIsNotInListException {
-        if (!events.containsKey(eventId)){
+        Event removed = eventId == null ? null : removeById(eventId);
+        if (removed == null) {
             log.error("Error! This event is not in the list");
             throw new EventIsNotInListException("Error! This event is not in the list");
         } else {
-            events.remove(eventId);
-            log.info("Event with Id {} removed from the list", eventId);
-            System.out.println("Event with Id " + eventId + " removed from the list ");
+            detach(removed);
+            persist(target -> target.logRemoved(eventId));
+            eventSink.publish(new DomainEvent(DomainEventType.EVENT_REMOVED, eventId, null, null));
+        }
+    }
+
+    /**
+     * Forces the changes logged so far to disk.
+     * Changes are synced in groups on their own; call this before the program exits.
+     */
+    public void syncStore() {
+        if (store != null) {
+            try {
+                store.sync();
+            } catch (IOException e) {
+                log.error("Error syncing event store: {}", e.getMessage());
+            }
         }
     }
 
@@ -190,4 +308,302 @@ public class EventManagerImpl implements EventManagerRepository {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the events between two dates (both inclusive), ordered by date.
+     * @param from First date
+     * @param to   Last date
+     * @return Events in the date range
+     * @throws IllegalArgumentException If a date is null or the first date is after the last date
+     */
+    @Override
+    public List<Event> getEventsBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            log.error("Invalid date range: {} - {}", from, to);
+            throw new IllegalArgumentException("Invalid date range: Start date cannot be after end date");
+        }
+        return resolve(index.idsBetween(from, to));
+    }
+
+    /**
+     * Returns the events of a type, in no particular order.
+     * @param eventType Event type
+     * @return Events of the type
+     */
+    @Override
+    public List<Event> getEventsByType(EventType eventType) {
+        return eventType == null ? List.of() : resolve(index.idsByType(eventType));
+    }
+
+    /**
+     * Returns the events at a location, ignoring case and surrounding whitespace, in no particular order.
+     * @param location Location
+     * @return Events at the location
+     */
+    @Override
+    public List<Event> getEventsByLocation(String location) {
+        return resolve(index.idsByLocation(location));
+    }
+
+    /**
+     * Returns the events of a type at a location, in no particular order.
+     * Only the smaller of the two index entries is scanned.
+     * @param eventType Event type
+     * @param location  Location
+     * @return Events of the type at the location
+     */
+    @Override
+    public List<Event> getEventsByTypeAndLocation(EventType eventType, String location) {
+        if (eventType == null) {
+            return List.of();
+        }
+        Collection<String> byType = index.idsByType(eventType);
+        Collection<String> byLocation = index.idsByLocation(location);
+        boolean typeIsSmaller = byType.size() <= byLocation.size();
+        Collection<String> smaller = typeIsSmaller ? byType : byLocation;
+        Collection<String> larger = typeIsSmaller ? byLocation : byType;
+        List<String> ids = new ArrayList<>();
+        for (String id : smaller) {
+            if (larger.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return resolve(ids);
+    }
+
+    /**
+     * Returns the events an artist plays at, in no particular order.
+     * @param artistName Artist name
+     * @return Events of the artist
+     */
+    @Override
+    public List<Event> getEventsByArtist(String artistName) {
+        return resolve(index.idsByArtist(artistName));
+    }
+
+    /**
+     * Validates the events that have no error yet, then inserts the valid ones in one pass.
+     */
+    private EventImportResult addAll(Event[] batch, String[] errors) {
+        IntStream rows = IntStream.range(0, batch.length);
+        if (batch.length >= PARALLEL_VALIDATION_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.filter(i -> errors[i] == null).forEach(i -> errors[i] = validationError(batch[i]));
+
+        List<Event> added = new ArrayList<>();
+        List<EventImportResult.RowError> rowErrors = new ArrayList<>();
+        snapshotLock.readLock().lock();
+        try {
+            for (int i = 0; i < batch.length; i++) {
+                if (errors[i] == null && !insert(batch[i])) {
+                    errors[i] = "Error! This event already exists in the list";
+                }
+                if (errors[i] == null) {
+                    added.add(batch[i]);
+                } else {
+                    rowErrors.add(new EventImportResult.RowError(i + 1, errors[i]));
+                }
+            }
+            if (!added.isEmpty()) {
+                snapshot = null;
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+
+        List<String> addedIds = new ArrayList<>(added.size());
+        for (Event event : added) {
+            publishAdded(event);
+            addedIds.add(event.getId());
+        }
+        if (!rowErrors.isEmpty()) {
+            log.warn("{} of {} events were rejected, first error in row {}: {}", rowErrors.size(), batch.length,
+                    rowErrors.get(0).getRow(), rowErrors.get(0).getMessage());
+        }
+        return new EventImportResult(addedIds, rowErrors);
+    }
+
+    /**
+     * Returns the reason an event cannot be in the list, or null if it is valid.
+     */
+    private static String validationError(Event event) {
+        if (event == null) {
+            return "Error! Event is null";
+        } else if (event.getName() == null || event.getName().isEmpty()) {
+            return "Invalid name: Name cannot be empty or null";
+        } else if (event.getEventType() == null) {
+            return "Invalid event type: Event type cannot be empty or null";
+        } else if (event.getDate() == null) {
+            return "Invalid date: Date cannot be empty";
+        } else if (event.getLocation() == null || event.getLocation().isEmpty()) {
+            return "Invalid location: Location cannot be empty or null";
+        } else if (event.getTotalTicketCount() <= 0) {
+            return "Invalid ticket count: Ticket count cannot be less than or equal to zero";
+        } else if (event.getSoldTicketCount() < 0) {
+            return "Invalid sold ticket count: Ticket count cannot be less than or equal to zero";
+        } else if (event.getTotalTicketCount() < event.getSoldTicketCount()) {
+            return "Invalid sold ticket count: Sold ticket count cannot exceed the total number";
+        } else if (event.getTicketPrice() < 0) {
+            return "Invalid ticket price: Ticket price cannot be less than zero";
+        }
+        return null;
+    }
+
+    private List<Event> resolve(Collection<String> ids) {
+        List<Event> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Event event = events.get(id);
+            if (event != null) { // removed while the query was running
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    private boolean putIfAbsent(Event event) {
+        snapshotLock.readLock().lock();
+        try {
+            boolean added = insert(event);
+            if (added) {
+                snapshot = null;
+            }
+            return added;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    private Event removeById(String eventId) {
+        snapshotLock.readLock().lock();
+        try {
+            Event removed = events.remove(eventId);
+            if (removed != null) {
+                snapshot = null;
+            }
+            return removed;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puts an event into the list unless its identifier is taken. The event is indexed, logged and
+     * connected to the store before it becomes visible, so a sale made through the list can neither
+     * get lost nor reach the store ahead of the event.
+     */
+    private boolean insert(Event event) {
+        boolean[] added = new boolean[1];
+        events.computeIfAbsent(event.getId(), id -> {
+            inserting.put(id, event);
+            index.add(event);
+            persist(target -> target.logAdded(event));
+            event.setEventSink(eventChanges);
+            added[0] = true;
+            return event;
+        });
+        if (added[0]) {
+            inserting.remove(event.getId());
+        }
+        return added[0];
+    }
+
+    /**
+     * Returns the events a compaction must write: the list and the events whose addition is logged
+     * but not yet visible. Those are read first, so an event that moves into the list meanwhile is not missed.
+     */
+    private Collection<Event> storedEvents() {
+        Map<String, Event> stored = new HashMap<>(inserting);
+        stored.putAll(events);
+        return stored.values();
+    }
+
+    private void publishAdded(Event event) {
+        eventSink.publish(new DomainEvent(DomainEventType.EVENT_ADDED, event.getId(), event.getName(), null));
+    }
+
+    private void detach(Event event) {
+        event.setEventSink(DomainEventSink.NONE);
+        index.remove(event.getId());
+    }
+
+    /**
+     * Keeps the secondary indexes in sync with the changes an event publishes.
+     */
+    private void updateIndex(DomainEvent change) {
+        switch (change.getType()) {
+            case ARTIST_ADDED -> index.addArtist(change.getSubjectId(), change.getDetail());
+            case ARTIST_REMOVED -> index.removeArtist(change.getSubjectId(), change.getDetail());
+            case EVENT_UPDATED -> {
+                Event event = events.get(change.getSubjectId());
+                if (event != null) {
+                    index.update(event);
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void recover() {
+        try {
+            for (Event event : store.recover()) {
+                events.put(event.getId(), event);
+                index.add(event);
+                event.setEventSink(eventChanges);
+            }
+            log.info("Recovered {} events from the event store", events.size());
+        } catch (IOException e) {
+            log.error("Error recovering events: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the changes an event publishes to the store.
+     */
+    private void persistChange(DomainEvent change) {
+        String eventId = change.getSubjectId();
+        switch (change.getType()) {
+            case TICKETS_SOLD -> {
+                Event event = events.get(eventId);
+                if (event != null) {
+                    // logged as the current count, which already includes this sale
+                    persist(target -> target.logSold(eventId, event.getSoldTicketCount()));
+                }
+            }
+            case ARTIST_ADDED -> persist(target -> target.logArtistAdded(eventId, change.getDetail()));
+            case ARTIST_REMOVED -> persist(target -> target.logArtistRemoved(eventId, change.getDetail()));
+            case EVENT_UPDATED -> {
+                Event event = events.get(eventId);
+                if (event != null) {
+                    persist(target -> target.logUpdated(event));
+                }
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Writes one change to the store, if there is one, and has the store compacted in the background
+     * when it is due. Store failures are logged and never reach the caller: the change, e.g. a sale,
+     * has already been made.
+     */
+    private void persist(StoreWrite write) {
+        if (store == null) {
+            return;
+        }
+        try {
+            write.writeTo(store);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error writing to the event store: {}", e.getMessage());
+            return;
+        }
+        if (store.isCompactionDue()) {
+            store.compactInBackground(this::storedEvents);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StoreWrite {
+        void writeTo(EventStore store) throws IOException;
+    }
+}
@@ -0,0 +1,419 @@
+package de.ait.service;
+
+import de.ait.model.Event;
+import de.ait.utilities.EventType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The EventStore class persists events as an append-only change log plus periodic snapshots.
+ * <p>
+ * Every change is appended to the log as a small binary entry: added events, removed events,
+ * field updates, ticket sales and artist changes. The log is a group-committed {@link FramedJournal}
+ * whose entry payloads start with the operation code, so a busy sale does not wait for one fsync
+ * per ticket. Once the log holds {@code compactionThreshold} entries, {@link #compact(Collection)}
+ * writes all events to a snapshot file of the same entries and empties the log, so recovery reads
+ * one snapshot and a short log instead of the full history. {@link #compactInBackground(Supplier)}
+ * does the same on the log's background thread, so no sale waits for a snapshot.
+ * <p>
+ * Ticket sales are logged as the sold ticket count after the sale and replayed as the maximum
+ * of the logged counts, so replaying a sale that is also contained in the snapshot is harmless.
+ * The seat map of an event is not persisted.
+ */
+@Slf4j
+public class EventStore implements Closeable {
+    private static final int SNAPSHOT_MAGIC = 0x53424553; // "SBES"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 256; // log entries synced to disk together
+    private static final long DEFAULT_GROUP_COMMIT_INTERVAL_MILLIS = 200; // max time an entry waits for sync
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 100_000; // log entries before a new snapshot is written
+
+    private static final byte OP_ADDED = 1;
+    private static final byte OP_REMOVED = 2;
+    private static final byte OP_UPDATED = 3;
+    private static final byte OP_SOLD = 4;
+    private static final byte OP_ARTIST_ADDED = 5;
+    private static final byte OP_ARTIST_REMOVED = 6;
+
+    private final FramedJournal journal;
+    private final Path snapshotPath;
+    private final int compactionThreshold;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    /**
+     * Creates a store that syncs every 256 entries or 200 ms and compacts every 100,000 entries.
+     * @param journalFile  The path of the change log
+     * @param snapshotFile The path of the snapshot
+     */
+    public EventStore(String journalFile, String snapshotFile) {
+        this(journalFile, snapshotFile, DEFAULT_GROUP_COMMIT_SIZE, DEFAULT_GROUP_COMMIT_INTERVAL_MILLIS,
+                DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a store. The change log is opened lazily on the first append.
+     * @param journalFile               The path of the change log
+     * @param snapshotFile              The path of the snapshot
+     * @param groupCommitSize           The number of entries after which pending entries are synced
+     * @param groupCommitIntervalMillis The maximum time pending entries may wait before being synced
+     * @param compactionThreshold       The number of log entries after which a snapshot is due
+     * @throws IllegalArgumentException If a size is not positive or the interval is not positive
+     */
+    public EventStore(String journalFile, String snapshotFile, int groupCommitSize,
+                      long groupCommitIntervalMillis, int compactionThreshold) {
+        if (groupCommitSize <= 0 || compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Group commit size and compaction threshold must be greater than 0");
+        }
+        if (groupCommitIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Group commit interval must be greater than 0");
+        }
+        this.journal = new FramedJournal(journalFile, "event-store-sync", groupCommitSize, groupCommitIntervalMillis);
+        this.snapshotPath = Paths.get(snapshotFile);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Loads the snapshot and replays the change log written after it.
+     * A torn or corrupt log tail is cut off, so new entries follow the last valid one.
+     * @return The stored events, in the order they were added
+     * @throws IOException If the snapshot is corrupt or an error occurs while reading
+     */
+    public synchronized List<Event> recover() throws IOException {
+        Map<String, StoredEvent> stored = new LinkedHashMap<>();
+        if (Files.exists(snapshotPath)) {
+            readSnapshot(stored);
+        }
+        int snapshotSize = stored.size();
+        long entryCount = journal.replay(payload -> apply(stored, payload));
+        List<Event> events = new ArrayList<>(stored.size());
+        stored.values().forEach(event -> events.add(event.toEvent()));
+        log.info("Recovered {} events from snapshot ({} events) and {} log entries",
+                events.size(), snapshotSize, entryCount);
+        return events;
+    }
+
+    /**
+     * Logs an added event with all its data.
+     * @param event The added event
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logAdded(Event event) throws IOException {
+        FramedJournal.Payload payload = startEntry(OP_ADDED);
+        writeEvent(payload, event);
+        append(payload);
+    }
+
+    /**
+     * Logs a removed event.
+     * @param eventId Identifier of the removed event
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logRemoved(String eventId) throws IOException {
+        FramedJournal.Payload payload = startEntry(OP_REMOVED);
+        payload.writeUTF(eventId);
+        append(payload);
+    }
+
+    /**
+     * Logs the current name, type, date, location, total ticket count and price of an event.
+     * @param event The changed event
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logUpdated(Event event) throws IOException {
+        FramedJournal.Payload payload = startEntry(OP_UPDATED);
+        writeFields(payload, event);
+        append(payload);
+    }
+
+    /**
+     * Logs a ticket sale as the sold ticket count after the sale.
+     * @param eventId         Identifier of the event
+     * @param soldTicketCount Sold ticket count after the sale
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logSold(String eventId, int soldTicketCount) throws IOException {
+        FramedJournal.Payload payload = startEntry(OP_SOLD);
+        payload.writeUTF(eventId);
+        payload.writeInt(soldTicketCount);
+        append(payload);
+    }
+
+    /**
+     * Logs an artist added to an event.
+     * @param eventId    Identifier of the event
+     * @param artistName Artist name
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logArtistAdded(String eventId, String artistName) throws IOException {
+        logArtist(OP_ARTIST_ADDED, eventId, artistName);
+    }
+
+    /**
+     * Logs an artist removed from an event.
+     * @param eventId    Identifier of the event
+     * @param artistName Artist name
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void logArtistRemoved(String eventId, String artistName) throws IOException {
+        logArtist(OP_ARTIST_REMOVED, eventId, artistName);
+    }
+
+    /**
+     * Checks whether the change log has grown enough for {@link #compact(Collection)}.
+     * @return true if a snapshot is due
+     */
+    public synchronized boolean isCompactionDue() {
+        return journal.getEntryCount() >= compactionThreshold;
+    }
+
+    /**
+     * Writes all events to a new snapshot and empties the change log.
+     * Appends wait while the snapshot is written, so every change is either in the snapshot,
+     * in the emptied log, or both.
+     * @param events All current events
+     * @throws IOException If an error occurs while writing the snapshot
+     */
+    public synchronized void compact(Collection<Event> events) throws IOException {
+        journal.sync();
+        List<Event> copy = new ArrayList<>(events);
+        FramedJournal.replaceFile(snapshotPath, file -> {
+            DataOutputStream snapshot = new DataOutputStream(file);
+            snapshot.writeInt(SNAPSHOT_MAGIC);
+            snapshot.writeInt(SNAPSHOT_VERSION);
+            snapshot.writeInt(copy.size());
+            for (Event event : copy) {
+                FramedJournal.Payload payload = startEntry(OP_ADDED);
+                writeEvent(payload, event);
+                FramedJournal.writeFrame(snapshot, payload.toByteArray());
+            }
+            snapshot.flush();
+        });
+        journal.reset();
+        log.info("Event store compacted: {} events written to snapshot {}", copy.size(), snapshotPath);
+    }
+
+    /**
+     * Writes a new snapshot with {@link #compact(Collection)} on the log's background thread,
+     * unless one is already scheduled. Errors are logged.
+     * @param events Supplies all current events when the snapshot is written; must be safe to call
+     *               from another thread
+     */
+    public void compactInBackground(Supplier<Collection<Event>> events) {
+        if (!compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        boolean accepted = journal.runInBackground(() -> {
+            try {
+                if (isCompactionDue()) {
+                    compact(events.get());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Error compacting event store: {}", e.getMessage());
+            } finally {
+                compactionScheduled.set(false);
+            }
+        });
+        if (!accepted) {
+            compactionScheduled.set(false);
+        }
+    }
+
+    /**
+     * Flushes all pending entries and forces them to disk.
+     * @throws IOException If an error occurs while syncing the log
+     */
+    public synchronized void sync() throws IOException {
+        journal.sync();
+    }
+
+    /**
+     * Returns the number of entries written since the last snapshot.
+     * @return The number of log entries
+     */
+    public synchronized long getEntryCount() {
+        return journal.getEntryCount();
+    }
+
+    /**
+     * Deletes the change log and the snapshot.
+     * @throws IOException If an error occurs while deleting the files
+     */
+    public synchronized void delete() throws IOException {
+        journal.delete();
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    /**
+     * Waits for a scheduled snapshot, syncs pending entries, stops the background thread and closes the change log.
+     * Not synchronized, so a snapshot that is being written can finish.
+     * @throws IOException If an error occurs while closing the log
+     */
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private void logArtist(byte op, String eventId, String artistName) throws IOException {
+        FramedJournal.Payload payload = startEntry(op);
+        payload.writeUTF(eventId);
+        payload.writeUTF(artistName);
+        append(payload);
+    }
+
+    private void append(FramedJournal.Payload payload) throws IOException {
+        journal.append(payload.toByteArray());
+    }
+
+    private void readSnapshot(Map<String, StoredEvent> events) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not an event snapshot: " + snapshotPath);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] payload = FramedJournal.readFrame(in, Long.MAX_VALUE);
+                if (payload == null) {
+                    throw new IOException("Corrupt event snapshot: " + snapshotPath);
+                }
+                apply(events, payload);
+            }
+        }
+    }
+
+    /**
+     * Applies one snapshot or log entry to the plain field values of the events, so replaying neither
+     * publishes changes nor depends on the rules of the setters. Every operation is idempotent,
+     * so entries that are also contained in the snapshot can be replayed again.
+     */
+    private static void apply(Map<String, StoredEvent> events, byte[] bytes) throws IOException {
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte op = payload.readByte();
+        switch (op) {
+            case OP_ADDED -> {
+                StoredEvent event = new StoredEvent(payload.readUTF());
+                readFields(payload, event);
+                event.soldTicketCount = payload.readInt();
+                int artistCount = payload.readInt();
+                for (int i = 0; i < artistCount; i++) {
+                    event.artists.add(payload.readUTF());
+                }
+                events.put(event.id, event);
+            }
+            case OP_REMOVED -> events.remove(payload.readUTF());
+            case OP_UPDATED -> {
+                StoredEvent event = events.get(payload.readUTF());
+                if (event != null) {
+                    readFields(payload, event);
+                }
+            }
+            case OP_SOLD -> {
+                StoredEvent event = events.get(payload.readUTF());
+                int sold = payload.readInt();
+                if (event != null) {
+                    event.soldTicketCount = Math.max(event.soldTicketCount, sold);
+                }
+            }
+            case OP_ARTIST_ADDED, OP_ARTIST_REMOVED -> {
+                StoredEvent event = events.get(payload.readUTF());
+                String artistName = payload.readUTF();
+                if (event != null) {
+                    if (op == OP_ARTIST_ADDED) {
+                        event.artists.add(artistName);
+                    } else {
+                        event.artists.remove(artistName);
+                    }
+                }
+            }
+            default -> throw new IOException("Unknown event log operation " + op);
+        }
+    }
+
+    private static FramedJournal.Payload startEntry(byte op) throws IOException {
+        FramedJournal.Payload payload = new FramedJournal.Payload();
+        payload.writeByte(op);
+        return payload;
+    }
+
+    private static void writeEvent(DataOutputStream payload, Event event) throws IOException {
+        writeFields(payload, event);
+        payload.writeInt(event.getSoldTicketCount());
+        HashSet<String> artists = event.getArtistList();
+        payload.writeInt(artists.size());
+        for (String artist : artists) {
+            payload.writeUTF(artist);
+        }
+    }
+
+    private static void writeFields(DataOutputStream payload, Event event) throws IOException {
+        payload.writeUTF(event.getId());
+        writeNullableUTF(payload, event.getName());
+        payload.writeByte(event.getEventType() == null ? -1 : event.getEventType().ordinal());
+        payload.writeBoolean(event.getDate() != null);
+        payload.writeLong(event.getDate() == null ? 0 : event.getDate().toEpochDay());
+        writeNullableUTF(payload, event.getLocation());
+        payload.writeInt(event.getTotalTicketCount());
+        payload.writeDouble(event.getTicketPrice());
+    }
+
+    /**
+     * Reads the fields written by {@link #writeFields} after the identifier.
+     */
+    private static void readFields(DataInputStream payload, StoredEvent event) throws IOException {
+        event.name = readNullableUTF(payload);
+        byte type = payload.readByte();
+        event.eventType = type < 0 ? null : EventType.values()[type];
+        boolean hasDate = payload.readBoolean();
+        long epochDay = payload.readLong();
+        event.date = hasDate ? LocalDate.ofEpochDay(epochDay) : null;
+        event.location = readNullableUTF(payload);
+        event.totalTicketCount = payload.readInt();
+        event.ticketPrice = payload.readDouble();
+    }
+
+    private static void writeNullableUTF(DataOutputStream payload, String value) throws IOException {
+        payload.writeBoolean(value != null);
+        if (value != null) {
+            payload.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream payload) throws IOException {
+        return payload.readBoolean() ? payload.readUTF() : null;
+    }
+
+    /**
+     * The field values of an event while the snapshot and the log are applied.
+     */
+    private static final class StoredEvent {
+        private final String id;
+        private String name;
+        private EventType eventType;
+        private LocalDate date;
+        private String location;
+        private int totalTicketCount;
+        private int soldTicketCount;
+        private double ticketPrice;
+        private final HashSet<String> artists = new HashSet<>();
+
+        private StoredEvent(String id) {
+            this.id = id;
+        }
+
+        private Event toEvent() {
+            return new Event(id, name, eventType, date, location, totalTicketCount, soldTicketCount, ticketPrice, artists);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The FinanceAggregationCube class keeps running totals of financial records keyed by
+ * (year-month, {@link CategoryType}, {@link RecordType}) in a single flat {@code double[]}.
+ * <p>
+ * The cube is updated incrementally for every added record, so rollups by category,
+ * by month or by quarter only walk the cells of the requested months and never touch
+ * the raw records. The covered month range grows on demand (doubling).
+ * <p>
+ * The cube is not thread-safe; it is maintained by {@link FinanceManagerImpl}.
+ */
+public class FinanceAggregationCube {
+    private static final int INITIAL_MONTHS = 24;
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+    private static final int TYPES = RecordType.values().length;
+    private static final int CELLS_PER_MONTH = CATEGORIES.length * TYPES;
+
+    private long baseMonth;   // proleptic month stored at month index 0
+    private int months;
+    private double[] totals;  // [month][category][type]
+    private boolean empty = true;
+
+    /**
+     * Creates an empty aggregation cube.
+     */
+    public FinanceAggregationCube() {
+        clear();
+    }
+
+    /**
+     * Removes all totals from the cube.
+     */
+    public void clear() {
+        baseMonth = 0;
+        months = INITIAL_MONTHS;
+        totals = new double[months * CELLS_PER_MONTH];
+        empty = true;
+    }
+
+    /**
+     * Adds the amount of a record to its (month, category, type) cell.
+     *
+     * @param record The record to add.
+     */
+    public void add(FinanceRecord record) {
+        add(record.getType(), record.getCategory(), record.getAmount(), record.getDate());
+    }
+
+    /**
+     * Adds an amount to the (month, category, type) cell of the given date.
+     *
+     * @param type     The type of record (INCOME or EXPENSE).
+     * @param category The type of category.
+     * @param amount   The monetary amount.
+     * @param date     The date of the record.
+     */
+    public void add(RecordType type, CategoryType category, double amount, LocalDate date) {
+        long month = prolepticMonth(date.getYear(), date.getMonthValue());
+        ensureCovered(month);
+        totals[cell((int) (month - baseMonth), category, type)] += amount;
+    }
+
+    /**
+     * Returns the total of one category and record type over a range of months (both inclusive).
+     *
+     * @param category The type of category.
+     * @param type     The type of record (INCOME or EXPENSE).
+     * @param from     The first month of the range.
+     * @param to       The last month of the range.
+     * @return The total amount.
+     */
+    public double total(CategoryType category, RecordType type, YearMonth from, YearMonth to) {
+        double sum = 0;
+        int[] range = monthRange(from, to);
+        for (int month = range[0]; month <= range[1]; month++) {
+            sum += totals[cell(month, category, type)];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the totals per category for one record type over a range of months (both inclusive).
+     * Categories without any amount in the range are omitted.
+     *
+     * @param type The type of record (INCOME or EXPENSE).
+     * @param from The first month of the range.
+     * @param to   The last month of the range.
+     * @return The totals keyed by category.
+     */
+    public Map<CategoryType, Double> totalsByCategory(RecordType type, YearMonth from, YearMonth to) {
+        double[] sums = new double[CATEGORIES.length];
+        int[] range = monthRange(from, to);
+        for (int month = range[0]; month <= range[1]; month++) {
+            for (int category = 0; category < CATEGORIES.length; category++) {
+                sums[category] += totals[cell(month, category, type.ordinal())];
+            }
+        }
+        Map<CategoryType, Double> result = new EnumMap<>(CategoryType.class);
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            if (sums[category] != 0) {
+                result.put(CATEGORIES[category], sums[category]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the totals per month for one record type over a range of months (both inclusive),
+     * summed over all categories. Every month of the range is present, in chronological order.
+     *
+     * @param type The type of record (INCOME or EXPENSE).
+     * @param from The first month of the range.
+     * @param to   The last month of the range.
+     * @return The totals keyed by month.
+     */
+    public Map<YearMonth, Double> totalsByMonth(RecordType type, YearMonth from, YearMonth to) {
+        validateRange(from, to);
+        Map<YearMonth, Double> result = new LinkedHashMap<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            result.put(month, monthTotal(type, prolepticMonth(month.getYear(), month.getMonthValue())));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the totals of the four quarters of a year for one record type, summed over all categories.
+     *
+     * @param type The type of record (INCOME or EXPENSE).
+     * @param year The year.
+     * @return The totals keyed by quarter (1 to 4).
+     */
+    public Map<Integer, Double> totalsByQuarter(RecordType type, int year) {
+        Map<Integer, Double> result = new LinkedHashMap<>();
+        for (int quarter = 1; quarter <= 4; quarter++) {
+            double sum = 0;
+            for (int month = quarter * 3 - 2; month <= quarter * 3; month++) {
+                sum += monthTotal(type, prolepticMonth(year, month));
+            }
+            result.put(quarter, sum);
+        }
+        return result;
+    }
+
+    private double monthTotal(RecordType type, long month) {
+        if (empty || month < baseMonth || month >= baseMonth + months) {
+            return 0;
+        }
+        double sum = 0;
+        int monthIndex = (int) (month - baseMonth);
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            sum += totals[cell(monthIndex, category, type.ordinal())];
+        }
+        return sum;
+    }
+
+    /**
+     * Clips a month range to the covered months; returns an empty range (from > to) if nothing is covered.
+     */
+    private int[] monthRange(YearMonth from, YearMonth to) {
+        validateRange(from, to);
+        if (empty) {
+            return new int[]{0, -1};
+        }
+        long first = Math.max(prolepticMonth(from.getYear(), from.getMonthValue()), baseMonth);
+        long last = Math.min(prolepticMonth(to.getYear(), to.getMonthValue()), baseMonth + months - 1);
+        return first > last ? new int[]{0, -1} : new int[]{(int) (first - baseMonth), (int) (last - baseMonth)};
+    }
+
+    private static void validateRange(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start month cannot be after end month");
+        }
+    }
+
+    private void ensureCovered(long month) {
+        if (empty) {
+            baseMonth = month - INITIAL_MONTHS / 2;
+            empty = false;
+        }
+        long lastMonth = baseMonth + months - 1;
+        if (month >= baseMonth && month <= lastMonth) {
+            return;
+        }
+        long newBase = Math.min(baseMonth, month);
+        long newLast = Math.max(lastMonth, month);
+        int newMonths = months;
+        while (newMonths < newLast - newBase + 1) {
+            newMonths *= 2;
+        }
+        // grow towards the side that needed the extension
+        if (month < baseMonth) {
+            newBase = newLast - newMonths + 1;
+        }
+        double[] grown = new double[newMonths * CELLS_PER_MONTH];
+        System.arraycopy(totals, 0, grown, (int) (baseMonth - newBase) * CELLS_PER_MONTH, totals.length);
+        totals = grown;
+        baseMonth = newBase;
+        months = newMonths;
+    }
+
+    private static int cell(int monthIndex, CategoryType category, RecordType type) {
+        return cell(monthIndex, category.ordinal(), type.ordinal());
+    }
+
+    private static int cell(int monthIndex, int category, int type) {
+        return (monthIndex * CATEGORIES.length + category) * TYPES + type;
+    }
+
+    private static long prolepticMonth(int year, int month) {
+        return year * 12L + month - 1;
+    }
+}
@@ -0,0 +1,129 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+
+/**
+ * The FinanceDuplicateIndex class detects financial records with the same content
+ * (type, amount, description, date and category, ignoring the generated id).
+ * <p>
+ * Each record is reduced to a 64-bit fingerprint that is kept in an open-addressing
+ * hash set (linear probing over a {@code long[]}, load factor at most 1/2), so a duplicate
+ * check costs O(1) and 16 to 32 bytes per record. Two different records share a fingerprint
+ * with a probability of roughly n²/2⁶⁵, i.e. below 10⁻⁵ for ten million records.
+ * <p>
+ * The index is not thread-safe; it is maintained by the finance repositories.
+ */
+public class FinanceDuplicateIndex {
+    private static final int INITIAL_CAPACITY = 1024; // must be a power of two
+    private static final long EMPTY = 0;
+
+    private long[] table;
+    private int size;
+
+    /**
+     * Creates an empty duplicate index.
+     */
+    public FinanceDuplicateIndex() {
+        table = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds the record's fingerprint if no record with the same content was added before.
+     *
+     * @param record The record to check.
+     * @return true if the record is new, false if it is a duplicate.
+     */
+    public boolean add(FinanceRecord record) {
+        return add(record.getType(), record.getAmount(), record.getDescription(),
+                record.getDate().toEpochDay(), record.getCategory());
+    }
+
+    /**
+     * Adds the fingerprint of the given content if it was not added before.
+     *
+     * @param type        The type of record (INCOME or EXPENSE).
+     * @param amount      The monetary amount of the record.
+     * @param description A brief description of the record.
+     * @param epochDay    The date of the record as epoch day.
+     * @param category    The type of category (income or expense)
+     * @return true if the content is new, false if it is a duplicate.
+     */
+    public boolean add(RecordType type, double amount, String description, long epochDay, CategoryType category) {
+        long fingerprint = fingerprint(type, amount, description, epochDay, category);
+        int mask = table.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == fingerprint) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = fingerprint;
+        size++;
+        if (size * 2 > table.length) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * Removes all fingerprints.
+     */
+    public void clear() {
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Returns the number of distinct fingerprints in the index.
+     *
+     * @return The number of fingerprints.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Computes the 64-bit fingerprint of a record's content. Never returns 0, which marks empty slots.
+     */
+    static long fingerprint(RecordType type, double amount, String description, long epochDay, CategoryType category) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a offset basis
+        for (int i = 0; i < description.length(); i++) {
+            hash = (hash ^ description.charAt(i)) * 0x100000001b3L;
+        }
+        hash = mix(hash ^ Double.doubleToLongBits(amount));
+        hash = mix(hash ^ epochDay);
+        hash = mix(hash ^ ((long) type.ordinal() << 32 | category.ordinal()));
+        return hash == EMPTY ? 1 : hash;
+    }
+
+    /**
+     * MurmurHash3 fmix64 finalizer.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void resize() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long fingerprint : old) {
+            if (fingerprint == EMPTY) {
+                continue;
+            }
+            int slot = (int) fingerprint & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.RecordType;
+
+import java.time.LocalDate;
+
+/**
+ * The FinanceLedgerIndex class keeps per-day income and expense sums keyed by epoch day
+ * in two Fenwick trees (binary indexed trees), so the balance of any date range is answered
+ * in O(log d), where d is the number of days covered, regardless of how many records exist.
+ * <p>
+ * Sums are kept in whole cents as {@code long}, so a range answered as the difference of two
+ * prefix sums is exact; amounts are rounded to the nearest cent when they are added.
+ * <p>
+ * The covered day range grows on demand (doubling), so records far in the past or
+ * added out of order only trigger an occasional O(d) rebuild.
+ * <p>
+ * The index is not thread-safe; it is maintained by {@link FinanceManagerImpl}.
+ */
+public class FinanceLedgerIndex {
+    private static final int INITIAL_DAYS = 366;
+
+    private long baseDay;          // epoch day stored at position 0
+    private long[] incomeByDay;  // raw per-day sums in cents, used to rebuild the trees
+    private long[] expenseByDay;
+    private long[] incomeTree;   // Fenwick trees in cents, 1-based
+    private long[] expenseTree;
+    private boolean empty = true;
+
+    /**
+     * Creates an empty ledger index.
+     */
+    public FinanceLedgerIndex() {
+        clear();
+    }
+
+    /**
+     * Removes all sums from the index.
+     */
+    public void clear() {
+        baseDay = 0;
+        incomeByDay = new long[INITIAL_DAYS];
+        expenseByDay = new long[INITIAL_DAYS];
+        incomeTree = new long[INITIAL_DAYS + 1];
+        expenseTree = new long[INITIAL_DAYS + 1];
+        empty = true;
+    }
+
+    /**
+     * Adds the amount of a record to the sums of its day.
+     *
+     * @param record The record to add.
+     */
+    public void add(FinanceRecord record) {
+        add(record.getType(), record.getAmount(), record.getDate());
+    }
+
+    /**
+     * Adds an amount to the income or expense sum of a day.
+     *
+     * @param type   The type of record (INCOME or EXPENSE).
+     * @param amount The monetary amount.
+     * @param date   The date of the record.
+     */
+    public void add(RecordType type, double amount, LocalDate date) {
+        long day = date.toEpochDay();
+        ensureCovered(day);
+        int position = (int) (day - baseDay);
+        long cents = Math.round(amount * 100);
+        if (type == RecordType.INCOME) {
+            incomeByDay[position] += cents;
+            update(incomeTree, position, cents);
+        } else {
+            expenseByDay[position] += cents;
+            update(expenseTree, position, cents);
+        }
+    }
+
+    /**
+     * Returns the total income within the given period (both dates inclusive).
+     *
+     * @param startDate The start date of the period.
+     * @param endDate   The end date of the period.
+     * @return The sum of all income amounts in the period.
+     */
+    public double income(LocalDate startDate, LocalDate endDate) {
+        return rangeSum(incomeTree, startDate, endDate) / 100.0;
+    }
+
+    /**
+     * Returns the total expenses within the given period (both dates inclusive).
+     *
+     * @param startDate The start date of the period.
+     * @param endDate   The end date of the period.
+     * @return The sum of all expense amounts in the period.
+     */
+    public double expenses(LocalDate startDate, LocalDate endDate) {
+        return rangeSum(expenseTree, startDate, endDate) / 100.0;
+    }
+
+    /**
+     * Returns income minus expenses within the given period (both dates inclusive).
+     *
+     * @param startDate The start date of the period.
+     * @param endDate   The end date of the period.
+     * @return The balance of the period.
+     */
+    public double balance(LocalDate startDate, LocalDate endDate) {
+        return (rangeSum(incomeTree, startDate, endDate) - rangeSum(expenseTree, startDate, endDate)) / 100.0;
+    }
+
+    private long rangeSum(long[] tree, LocalDate startDate, LocalDate endDate) {
+        if (empty) {
+            return 0;
+        }
+        long from = Math.max(startDate.toEpochDay(), baseDay);
+        long to = Math.min(endDate.toEpochDay(), baseDay + incomeByDay.length - 1);
+        if (from > to) {
+            return 0;
+        }
+        return prefixSum(tree, (int) (to - baseDay)) - prefixSum(tree, (int) (from - baseDay) - 1);
+    }
+
+    private void ensureCovered(long day) {
+        if (empty) {
+            baseDay = day - INITIAL_DAYS / 2;
+            empty = false;
+        }
+        long lastDay = baseDay + incomeByDay.length - 1;
+        if (day >= baseDay && day <= lastDay) {
+            return;
+        }
+        long newBase = Math.min(baseDay, day);
+        long newLast = Math.max(lastDay, day);
+        int newLength = incomeByDay.length;
+        while (newLength < newLast - newBase + 1) {
+            newLength *= 2;
+        }
+        // grow towards the side that needed the extension
+        if (day < baseDay) {
+            newBase = newLast - newLength + 1;
+        }
+        int shift = (int) (baseDay - newBase);
+        incomeByDay = shifted(incomeByDay, shift, newLength);
+        expenseByDay = shifted(expenseByDay, shift, newLength);
+        baseDay = newBase;
+        incomeTree = build(incomeByDay);
+        expenseTree = build(expenseByDay);
+    }
+
+    private static long[] shifted(long[] values, int shift, int newLength) {
+        long[] result = new long[newLength];
+        System.arraycopy(values, 0, result, shift, values.length);
+        return result;
+    }
+
+    private static long[] build(long[] values) {
+        long[] tree = new long[values.length + 1];
+        for (int i = 1; i <= values.length; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= values.length) {
+                tree[parent] += tree[i];
+            }
+        }
+        return tree;
+    }
+
+    private static void update(long[] tree, int position, long amount) {
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+            tree[i] += amount;
+        }
+    }
+
+    private static long prefixSum(long[] tree, int position) {
+        long sum = 0;
+        for (int i = position + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
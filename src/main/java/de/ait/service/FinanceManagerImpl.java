@@ -11,8 +11,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The FinanceManager class manages financial records.
@@ -22,15 +26,33 @@ import java.util.List;
 public class FinanceManagerImpl implements FinanceManagerRepository {
     private List<FinanceRecord> financeRecords;
     private static final String CSV_FILE = "src/main/java/de/ait/files/FinanceRecord.csv";
-    private static final String SERIALIZED_FILE = "src/main/java/de/ait/files/FinanceRecord.cer";
+    private static final String SNAPSHOT_FILE = "src/main/java/de/ait/files/FinanceRecord.snapshot";
+    private static final String LEGACY_SERIALIZED_FILE = "src/main/java/de/ait/files/FinanceRecord.cer"; // migrated on first load
+    private static final String JOURNAL_FILE = "src/main/java/de/ait/files/FinanceRecord.journal";
+    private static final int GROUP_COMMIT_SIZE = 256; // journal entries synced to disk together
+    private static final long GROUP_COMMIT_INTERVAL_MILLIS = 200; // max time an entry waits for sync
+    private static final int COMPACTION_THRESHOLD = 100_000; // journal entries before a new snapshot is written
+    private final FinanceRecordJournal journal;
+    private final FinanceLedgerIndex ledgerIndex = new FinanceLedgerIndex(); // per-day sums for calculateBalance
+    private final FinanceDuplicateIndex duplicateIndex = new FinanceDuplicateIndex(); // content fingerprints
+    private final FinanceAggregationCube aggregationCube = new FinanceAggregationCube(); // totals by month, category and type
+    private long rejectedDuplicateCount;
+    private FinanceSnapshot snapshot; // mapped but not yet decoded; null once financeRecords holds every record
+    private List<FinanceRecord> journaledRecords = new ArrayList<>(); // replayed on top of the undecoded snapshot
+    private boolean aggregatesBuilt; // ledger index and aggregation cube are built on the first query
+    private boolean duplicatesIndexed; // duplicate index covers the undecoded snapshot, built on the first add
 
     /**
-     * Initializes FinanceManager with an empty list of financial records.
+     * Initializes FinanceManager with an empty list of financial records,
+     * then maps the last snapshot and replays the journal written since.
+     * Snapshot records are only decoded when they are first accessed.
      */
     public FinanceManagerImpl() {
         this.financeRecords = new ArrayList<>();
+        this.journal = new FinanceRecordJournal(JOURNAL_FILE, GROUP_COMMIT_SIZE, GROUP_COMMIT_INTERVAL_MILLIS);
         loadRecordsFromFileSerialized(); // Автоматичне завантаження при старті
-        log.info("FinanceManager initialized. Loaded {} records.", financeRecords.size());
+        int recordCount = snapshot != null ? snapshot.size() + journaledRecords.size() : financeRecords.size();
+        log.info("FinanceManager initialized. Loaded {} records.", recordCount);
     }
 
 
@@ -52,18 +74,25 @@ public class FinanceManagerImpl implements FinanceManagerRepository {
             log.error("Attempt to add a record with a future date: {}", date);
             throw new IllegalArgumentException("Date cannot be in the future");
         }
+        ensureDuplicatesIndexed(); // the duplicate check needs every record
         FinanceRecord record = new FinanceRecord(type, amount, description, date, category);
-        if (!financeRecords.contains(record)) {
-            financeRecords.add(record);
+        if (duplicateIndex.add(record)) {
+            (snapshot != null ? journaledRecords : financeRecords).add(record);
+            if (aggregatesBuilt) {
+                ledgerIndex.add(record);
+                aggregationCube.add(record);
+            }
             log.info("New record added: {}", record);
-            saveRecordsToFileSerialized();
+            appendToJournal(record);
         } else {
+            rejectedDuplicateCount++;
             log.warn("Attempted to add duplicate record: {}", record);
         }
     }
 
     /**
      * Calculates the financial balance within a given period.
+     * The balance is answered from the per-day ledger index in O(log d).
      *
      * @param startDate The start date of the period.
      * @param endDate   The end date of the period.
@@ -72,28 +101,92 @@ public class FinanceManagerImpl implements FinanceManagerRepository {
      */
     @Override
     public double calculateBalance(LocalDate startDate, LocalDate endDate) {
-        if (startDate.isAfter(endDate)) {
-            log.error("Invalid date range: startDate {} is after endDate {}", startDate, endDate);
-            throw new IllegalArgumentException("Start date cannot be after end date");
-        }
+        validateDateRange(startDate, endDate);
+        ensureAggregatesBuilt();
 
-        double totalIncome = financeRecords.stream()
-                .filter(record -> record.getType() == RecordType.INCOME)
-                .filter(record -> !record.getDate().isBefore(startDate) && !record.getDate().isAfter(endDate))
-                .mapToDouble(FinanceRecord::getAmount)
-                .sum();
+        double balance = ledgerIndex.balance(startDate, endDate);
+        log.info("Balance calculated for the period from {} to {}: {}", startDate, endDate, balance);
+        return balance;
+    }
 
-        double totalExpenses = financeRecords.stream()
-                .filter(record -> record.getType() == RecordType.EXPENSE)
-                .filter(record -> !record.getDate().isBefore(startDate) && !record.getDate().isAfter(endDate))
-                .mapToDouble(FinanceRecord::getAmount)
-                .sum();
+    /**
+     * Calculates the financial balance within a given period by scanning all records.
+     * Slower than {@link #calculateBalance(LocalDate, LocalDate)}; used to verify the ledger index.
+     *
+     * @param startDate The start date of the period.
+     * @param endDate   The end date of the period.
+     * @return The balance calculated as income minus expenses.
+     * @throws IllegalArgumentException If the start date is after the end date.
+     */
+    public double calculateBalanceByScan(LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        ensureRecordsDecoded();
+
+        double totalIncome = 0;
+        double totalExpenses = 0;
+        for (FinanceRecord record : financeRecords) {
+            if (!record.getDate().isBefore(startDate) && !record.getDate().isAfter(endDate)) {
+                if (record.getType() == RecordType.INCOME) {
+                    totalIncome += record.getAmount();
+                } else {
+                    totalExpenses += record.getAmount();
+                }
+            }
+        }
 
         double balance = totalIncome - totalExpenses;
-        log.info("Balance calculated for the period from {} to {}: {}", startDate, endDate, balance);
+        log.info("Balance scanned for the period from {} to {}: {}", startDate, endDate, balance);
         return balance;
     }
 
+    /**
+     * Returns the totals per category for one record type within a range of months,
+     * answered from the aggregation cube without scanning the records.
+     *
+     * @param type The type of record (INCOME or EXPENSE).
+     * @param from The first month of the range.
+     * @param to   The last month of the range.
+     * @return The totals keyed by category; categories without records are omitted.
+     */
+    public Map<CategoryType, Double> getTotalsByCategory(RecordType type, YearMonth from, YearMonth to) {
+        ensureAggregatesBuilt();
+        return aggregationCube.totalsByCategory(type, from, to);
+    }
+
+    /**
+     * Returns the totals per month for one record type within a range of months,
+     * answered from the aggregation cube without scanning the records.
+     *
+     * @param type The type of record (INCOME or EXPENSE).
+     * @param from The first month of the range.
+     * @param to   The last month of the range.
+     * @return The totals keyed by month, in chronological order.
+     */
+    public Map<YearMonth, Double> getTotalsByMonth(RecordType type, YearMonth from, YearMonth to) {
+        ensureAggregatesBuilt();
+        return aggregationCube.totalsByMonth(type, from, to);
+    }
+
+    /**
+     * Returns the quarterly totals of a year for one record type,
+     * answered from the aggregation cube without scanning the records.
+     *
+     * @param type The type of record (INCOME or EXPENSE).
+     * @param year The year.
+     * @return The totals keyed by quarter (1 to 4).
+     */
+    public Map<Integer, Double> getTotalsByQuarter(RecordType type, int year) {
+        ensureAggregatesBuilt();
+        return aggregationCube.totalsByQuarter(type, year);
+    }
+
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            log.error("Invalid date range: startDate {} is after endDate {}", startDate, endDate);
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+    }
+
     /**
      * Saves financial records to a CSV file.
      *
@@ -102,26 +195,14 @@ public class FinanceManagerImpl implements FinanceManagerRepository {
      */
     @Override
     public void saveRecordsToFile(String fileName) throws IOException {
+        ensureRecordsDecoded();
         if (financeRecords.isEmpty()) {
             log.warn("The financial records list is empty. Nothing will be saved.");
             return;
         }
 
-        Path filePath = Paths.get(fileName);
-        if (filePath.getParent() != null) {
-            Files.createDirectories(filePath.getParent());
-        }
-
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
-            writer.write("Type,Amount,Category,Description,Date");
-            writer.newLine();
-
-            for (FinanceRecord record : financeRecords) {
-                writer.write(record.getType() + "," + record.getAmount() + "," +
-                        record.getCategory() + "," + record.getDescription() + "," + record.getDate());
-                writer.newLine();
-            }
-
+        try {
+            FinanceRecordCsv.write(Paths.get(fileName), financeRecords);
             log.info("Financial records saved to CSV file: {}", fileName);
         } catch (IOException e) {
             log.error("Error saving records to CSV file: {}", e.getMessage());
@@ -143,85 +224,273 @@ public class FinanceManagerImpl implements FinanceManagerRepository {
             throw new FileNotFoundException("File not found: " + fileName);
         }
 
-        List<FinanceRecord> records = new ArrayList<>();
-        try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-            String line;
-            boolean firstLine = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-
-                String[] fields = line.split(",");
-                if (fields.length == 5) {
-                    RecordType type = RecordType.valueOf(fields[0]);
-                    double amount = Double.parseDouble(fields[1]);
-                    CategoryType category = CategoryType.valueOf(fields[2]);
-                    String description = fields[3];
-                    LocalDate date = LocalDate.parse(fields[4]);
-
-
-                    // Checking to the future date
-                    if (date.isAfter(LocalDate.now())) {
-                        log.warn("Skipping record with a future date: {}", date);
-                        continue; // Skip record if date in future
-                    }
-
-                    records.add(new FinanceRecord(type, amount, description, date, category));
+        try {
+            List<FinanceRecord> records = FinanceRecordCsv.read(filePath);
+            snapshot = null;
+            journaledRecords = new ArrayList<>();
+            duplicateIndex.clear();
+            this.financeRecords = new ArrayList<>(records.size());
+            int duplicates = 0;
+            for (FinanceRecord record : records) {
+                if (duplicateIndex.add(record)) {
+                    financeRecords.add(record);
+                } else {
+                    duplicates++;
                 }
             }
-
-            this.financeRecords = records;
+            rejectedDuplicateCount += duplicates;
+            aggregatesBuilt = false;
+            if (duplicates > 0) {
+                log.warn("Skipped {} duplicate records in CSV file: {}", duplicates, fileName);
+            }
             log.info("Financial records loaded from CSV file: {}", fileName);
+            saveRecordsToFileSerialized(); // the journal only holds appends, so a replaced list needs a new snapshot
         } catch (IOException e) {
             log.error("Error loading records from CSV file: {}", e.getMessage());
             throw e;
         }
     }
     /**
-     * Saves financial records using serialization.
+     * Saves financial records to the binary snapshot (see {@link FinanceSnapshot}).
+     * The snapshot contains every record, so the journal is emptied afterwards.
      */
     @Override
     public void saveRecordsToFileSerialized() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SERIALIZED_FILE))) {
-            oos.writeObject(financeRecords);
-            log.info("Financial records saved to serialized file.");
+        ensureRecordsDecoded();
+        try {
+            journal.sync();
+            // forced to disk before it replaces the old snapshot, so the journal may be emptied afterwards
+            FramedJournal.replaceFile(Paths.get(SNAPSHOT_FILE), file -> FinanceSnapshot.write(file, financeRecords));
+            journal.reset();
+            log.info("Financial records saved to snapshot file.");
         } catch (IOException e) {
             log.error("Error saving records: {}", e.getMessage());
         }
     }
 
     /**
-     * Loads financial records from serialized file.
+     * Maps the binary snapshot and replays the records journaled after that snapshot was written.
+     * The snapshot records are decoded on first access; balance and totals queries before that
+     * are answered from the snapshot columns without decoding any record.
+     * A legacy Java-serialized file is migrated to the snapshot format if no snapshot exists yet.
      */
     @Override
-    @SuppressWarnings("unchecked")
     public void loadRecordsFromFileSerialized() {
-        File file = new File(SERIALIZED_FILE);
-        if (!file.exists()) {
+        snapshot = null;
+        duplicatesIndexed = false;
+        financeRecords = new ArrayList<>();
+        journaledRecords = new ArrayList<>();
+        Path snapshotPath = Paths.get(SNAPSHOT_FILE);
+        if (Files.exists(snapshotPath)) {
+            try {
+                snapshot = FinanceSnapshot.open(snapshotPath);
+                log.info("Financial records snapshot mapped: {} records.", snapshot.size());
+            } catch (IOException e) {
+                log.error("Error loading records: {}", e.getMessage());
+            }
+        } else if (Files.exists(Paths.get(LEGACY_SERIALIZED_FILE))) {
+            migrateLegacySerializedFile();
+        } else {
             log.warn("No previous financial records found.");
-            return;
         }
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(SERIALIZED_FILE))) {
-            financeRecords = (List<FinanceRecord>) ois.readObject();
-            log.info("Financial records successfully loaded from serialized file.");
+        List<FinanceRecord> journaled = new ArrayList<>();
+        try {
+            journaled = journal.replay();
+            if (!journaled.isEmpty()) {
+                // a crash between writing a snapshot and resetting the journal leaves records in both
+                Set<String> journaledIds = new HashSet<>();
+                journaled.forEach(record -> journaledIds.add(record.getId()));
+                Set<String> restoredIds = new HashSet<>();
+                if (snapshot != null && verifySnapshot(FinanceSnapshot.Column.IDS)) {
+                    restoredIds = snapshot.findIds(journaledIds);
+                } else {
+                    for (FinanceRecord record : financeRecords) {
+                        restoredIds.add(record.getId());
+                    }
+                }
+                Set<String> duplicateIds = restoredIds;
+                journaled.removeIf(record -> duplicateIds.contains(record.getId()));
+            }
+        } catch (IOException e) {
+            log.error("Error replaying financial records journal: {}", e.getMessage());
+        }
+        if (snapshot != null) {
+            journaledRecords = journaled;
+        } else {
+            journaledRecords = new ArrayList<>();
+            financeRecords.addAll(journaled);
+            duplicateIndex.clear();
+            financeRecords.forEach(duplicateIndex::add);
+        }
+        aggregatesBuilt = false;
+    }
+
+    /**
+     * Reads the Java-serialized record list written by earlier versions and rewrites it as a snapshot.
+     * The legacy file is only deleted once the snapshot is in place.
+     */
+    @SuppressWarnings("unchecked")
+    private void migrateLegacySerializedFile() {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(LEGACY_SERIALIZED_FILE)))) {
+            financeRecords = new ArrayList<>((List<FinanceRecord>) ois.readObject());
         } catch (IOException | ClassNotFoundException e) {
+            log.error("Error loading records from legacy serialized file: {}", e.getMessage());
+            financeRecords = new ArrayList<>();
+            return;
+        }
+        try {
+            FramedJournal.replaceFile(Paths.get(SNAPSHOT_FILE), file -> FinanceSnapshot.write(file, financeRecords));
+            Files.delete(Paths.get(LEGACY_SERIALIZED_FILE));
+            log.info("Migrated {} financial records from legacy serialized file to snapshot file.", financeRecords.size());
+        } catch (IOException e) {
+            log.error("Error migrating legacy serialized file: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes the mapped snapshot into the record list and builds the duplicate index
+     * unless it was already filled from the snapshot columns.
+     */
+    private void ensureRecordsDecoded() {
+        if (snapshot == null || !verifySnapshot(FinanceSnapshot.Column.values())) {
+            return;
+        }
+        List<FinanceRecord> records = snapshot.readAll();
+        records.addAll(journaledRecords);
+        financeRecords = records;
+        snapshot = null;
+        journaledRecords = new ArrayList<>();
+        if (!duplicatesIndexed) {
+            duplicateIndex.clear();
+            financeRecords.forEach(duplicateIndex::add);
+        }
+        log.info("Decoded {} financial records from snapshot.", financeRecords.size());
+    }
+
+    /**
+     * Fills the duplicate index from the snapshot columns and the journaled records,
+     * without decoding any snapshot record.
+     */
+    private void ensureDuplicatesIndexed() {
+        if (snapshot == null || duplicatesIndexed || !verifySnapshot(FinanceSnapshot.Column.AMOUNTS,
+                FinanceSnapshot.Column.DATES, FinanceSnapshot.Column.TYPES, FinanceSnapshot.Column.CATEGORIES,
+                FinanceSnapshot.Column.DESCRIPTIONS)) {
+            return;
+        }
+        duplicateIndex.clear();
+        for (int i = 0; i < snapshot.size(); i++) {
+            duplicateIndex.add(snapshot.type(i), snapshot.amount(i), snapshot.description(i),
+                    snapshot.epochDay(i), snapshot.category(i));
+        }
+        journaledRecords.forEach(duplicateIndex::add);
+        duplicatesIndexed = true;
+    }
+
+    /**
+     * Checks the snapshot columns about to be read. A damaged snapshot is dropped,
+     * leaving the journaled records, as if it could not be opened.
+     *
+     * @return true if the columns can be read, false if the snapshot was dropped.
+     */
+    private boolean verifySnapshot(FinanceSnapshot.Column... columns) {
+        try {
+            snapshot.verify(columns);
+            return true;
+        } catch (IOException e) {
             log.error("Error loading records: {}", e.getMessage());
+            snapshot = null;
+            financeRecords = journaledRecords;
+            journaledRecords = new ArrayList<>();
+            duplicateIndex.clear();
+            financeRecords.forEach(duplicateIndex::add);
+            aggregatesBuilt = false;
+            return false;
         }
     }
+
+    /**
+     * Builds the ledger index and the aggregation cube, reading the snapshot columns
+     * directly while the snapshot is not decoded yet.
+     */
+    private void ensureAggregatesBuilt() {
+        if (aggregatesBuilt) {
+            return;
+        }
+        ledgerIndex.clear();
+        aggregationCube.clear();
+        if (snapshot != null && verifySnapshot(FinanceSnapshot.Column.AMOUNTS, FinanceSnapshot.Column.DATES,
+                FinanceSnapshot.Column.TYPES, FinanceSnapshot.Column.CATEGORIES)) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                RecordType type = snapshot.type(i);
+                double amount = snapshot.amount(i);
+                LocalDate date = LocalDate.ofEpochDay(snapshot.epochDay(i));
+                ledgerIndex.add(type, amount, date);
+                aggregationCube.add(type, snapshot.category(i), amount, date);
+            }
+        }
+        for (FinanceRecord record : snapshot != null ? journaledRecords : financeRecords) {
+            ledgerIndex.add(record);
+            aggregationCube.add(record);
+        }
+        aggregatesBuilt = true;
+    }
+
+    /**
+     * Returns true while the mapped snapshot has not been decoded into records.
+     */
+    boolean isSnapshotPending() {
+        return snapshot != null;
+    }
+
+    /**
+     * Returns how many records were rejected as duplicates by {@link #addRecord} and CSV imports.
+     *
+     * @return The number of rejected duplicates.
+     */
+    public long getRejectedDuplicateCount() {
+        return rejectedDuplicateCount;
+    }
+
+    /**
+     * Forces all journaled records that are still waiting for a group commit to disk.
+     */
+    public void flushJournal() {
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            log.error("Error syncing financial records journal: {}", e.getMessage());
+        }
+    }
+
     @Override
     public void clearRecordsOnExit() {
         try {
+            journal.delete();
             Files.deleteIfExists(Paths.get(CSV_FILE));
-            Files.deleteIfExists(Paths.get(SERIALIZED_FILE));
+            Files.deleteIfExists(Paths.get(SNAPSHOT_FILE));
+            Files.deleteIfExists(Paths.get(LEGACY_SERIALIZED_FILE));
             log.info("Financial records cleared on exit.");
         } catch (IOException e) {
             log.error("Error clearing financial records on exit: {}", e.getMessage());
         }
     }
 
+    /**
+     * Appends a record to the journal and compacts the journal into a snapshot
+     * once it grows beyond {@link #COMPACTION_THRESHOLD} entries.
+     */
+    private void appendToJournal(FinanceRecord record) {
+        try {
+            journal.append(record);
+        } catch (IOException e) {
+            log.error("Error journaling record {}: {}", record.getId(), e.getMessage());
+            return;
+        }
+        if (journal.getEntryCount() >= COMPACTION_THRESHOLD) {
+            saveRecordsToFileSerialized();
+        }
+    }
+
     /**
      * Returns a copy of the financial records list.
      *
@@ -229,6 +498,7 @@ public class FinanceManagerImpl implements FinanceManagerRepository {
      */
     @Override
     public List<FinanceRecord> getFinanceRecords() {
+        ensureRecordsDecoded();
         log.debug("Returning a copy of the financial records list.");
         return new ArrayList<>(financeRecords);
     }
@@ -0,0 +1,511 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The FinanceRecordCsv class reads and writes financial records in the CSV format
+ * shared by all {@link de.ait.repository.FinanceManagerRepository} implementations:
+ * a header line followed by {@code Type,Amount,Category,Description,Date} rows.
+ */
+@Slf4j
+public final class FinanceRecordCsv {
+    static final String HEADER = "Type,Amount,Category,Description,Date";
+    static final long PARALLEL_THRESHOLD_BYTES = 16L * 1024 * 1024;
+    private static final long MIN_CHUNK_BYTES = 1024 * 1024;
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final EnumLookup<RecordType> RECORD_TYPES = new EnumLookup<>(RecordType.class);
+    private static final EnumLookup<CategoryType> CATEGORY_TYPES = new EnumLookup<>(CategoryType.class);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    static final int EXPORT_CHUNK_RECORDS = 16_384;
+    private static final int EXPORT_BUFFER_BYTES = 1024 * 1024;
+    private static final int MAX_FIXED_ROW_BYTES = 64; // type, category, date, commas and line separator
+
+    private FinanceRecordCsv() {
+    }
+
+    /**
+     * Writes the records to a CSV file, creating missing parent directories.
+     * The output is gzip-compressed if the file name ends with {@code .gz}.
+     *
+     * @param filePath The path of the file to write.
+     * @param records  The records to write.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public static void write(Path filePath, List<FinanceRecord> records) throws IOException {
+        write(filePath, records, filePath.getFileName().toString().endsWith(".gz"));
+    }
+
+    /**
+     * Writes the records to a CSV file, creating missing parent directories.
+     * <p>
+     * Records are formatted into reusable byte buffers in chunks of {@link #EXPORT_CHUNK_RECORDS};
+     * for large lists a wave of chunks is formatted in parallel on the common pool and then written
+     * in order with a single gathering write, so memory stays bounded by the buffers of one wave.
+     *
+     * @param filePath The path of the file to write.
+     * @param records  The records to write.
+     * @param gzip     Whether the output is gzip-compressed.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public static void write(Path filePath, List<FinanceRecord> records, boolean gzip) throws IOException {
+        if (filePath.getParent() != null) {
+            Files.createDirectories(filePath.getParent());
+        }
+
+        int chunkCount = (records.size() + EXPORT_CHUNK_RECORDS - 1) / EXPORT_CHUNK_RECORDS;
+        int waveSize = Math.max(1, Math.min(chunkCount, ForkJoinPool.getCommonPoolParallelism()));
+        ByteBuffer[] buffers = new ByteBuffer[waveSize];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.allocate(EXPORT_BUFFER_BYTES);
+        }
+
+        try (ExportSink sink = gzip ? new GzipSink(filePath) : new ChannelSink(filePath)) {
+            ByteBuffer header = ByteBuffer.wrap((HEADER + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+            sink.write(new ByteBuffer[]{header});
+
+            for (int firstChunk = 0; firstChunk < chunkCount; firstChunk += waveSize) {
+                int chunks = Math.min(waveSize, chunkCount - firstChunk);
+                int wave = firstChunk;
+                if (chunks > 1) {
+                    ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+                    for (int i = 0; i < chunks; i++) {
+                        int slot = i;
+                        tasks[i] = ForkJoinPool.commonPool().submit(
+                                () -> { buffers[slot] = format(records, wave + slot, buffers[slot]); });
+                    }
+                    for (ForkJoinTask<?> task : tasks) {
+                        task.join();
+                    }
+                } else {
+                    buffers[0] = format(records, wave, buffers[0]);
+                }
+                sink.write(chunks == buffers.length ? buffers : Arrays.copyOf(buffers, chunks));
+            }
+        }
+    }
+
+    /**
+     * Formats one chunk of records into the buffer, growing it if needed, and flips it for writing.
+     */
+    private static ByteBuffer format(List<FinanceRecord> records, int chunk, ByteBuffer buffer) {
+        buffer.clear();
+        int from = chunk * EXPORT_CHUNK_RECORDS;
+        int to = Math.min(records.size(), from + EXPORT_CHUNK_RECORDS);
+        for (int i = from; i < to; i++) {
+            FinanceRecord record = records.get(i);
+            byte[] description = record.getDescription().getBytes(StandardCharsets.UTF_8);
+            String amount = Double.toString(record.getAmount());
+            buffer = ensureRemaining(buffer, description.length + amount.length() + MAX_FIXED_ROW_BYTES);
+
+            buffer.put(RECORD_TYPES.bytes(record.getType())).put((byte) ',');
+            putAscii(buffer, amount).put((byte) ',');
+            buffer.put(CATEGORY_TYPES.bytes(record.getCategory())).put((byte) ',');
+            buffer.put(description).put((byte) ',');
+            putDate(buffer, record.getDate());
+            putAscii(buffer, LINE_SEPARATOR);
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        return larger.put(buffer.flip());
+    }
+
+    private static ByteBuffer putAscii(ByteBuffer buffer, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+        return buffer;
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDate date) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            putAscii(buffer, date.toString());
+            return;
+        }
+        putDigits(buffer, year, 4);
+        buffer.put((byte) '-');
+        putDigits(buffer, date.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        putDigits(buffer, date.getDayOfMonth(), 2);
+    }
+
+    private static void putDigits(ByteBuffer buffer, int value, int width) {
+        int position = buffer.position();
+        for (int i = width - 1; i >= 0; i--) {
+            buffer.put(position + i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(position + width);
+    }
+
+    /**
+     * Destination of formatted chunks: a file channel or a gzip stream.
+     */
+    private interface ExportSink extends Closeable {
+        void write(ByteBuffer[] buffers) throws IOException;
+    }
+
+    private static final class ChannelSink implements ExportSink {
+        private final FileChannel channel;
+
+        private ChannelSink(Path filePath) throws IOException {
+            this.channel = FileChannel.open(filePath,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        @Override
+        public void write(ByteBuffer[] buffers) throws IOException {
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= channel.write(buffers); // gathering write
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class GzipSink implements ExportSink {
+        private final OutputStream out;
+
+        private GzipSink(Path filePath) throws IOException {
+            this.out = new GZIPOutputStream(Files.newOutputStream(filePath), EXPORT_BUFFER_BYTES);
+        }
+
+        @Override
+        public void write(ByteBuffer[] buffers) throws IOException {
+            for (ByteBuffer buffer : buffers) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads all records from a CSV file. Rows with a future date are skipped,
+     * rows that do not have exactly five fields are ignored.
+     * <p>
+     * The file is memory-mapped and parsed at byte level: amounts, dates and enum names are
+     * decoded without creating intermediate strings. Files larger than
+     * {@link #PARALLEL_THRESHOLD_BYTES} are split at line boundaries and parsed in parallel.
+     *
+     * @param filePath The path of the file to read.
+     * @return The records read from the file, in file order.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public static List<FinanceRecord> read(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            return read(channel, channel.size() >= PARALLEL_THRESHOLD_BYTES);
+        }
+    }
+
+    /**
+     * Reads all records from a CSV file, optionally parsing chunks of the file in parallel.
+     *
+     * @param filePath The path of the file to read.
+     * @param parallel Whether chunks of the file are parsed in parallel.
+     * @return The records read from the file, in file order.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public static List<FinanceRecord> read(Path filePath, boolean parallel) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            return read(channel, parallel);
+        }
+    }
+
+    private static List<FinanceRecord> read(FileChannel channel, boolean parallel) throws IOException {
+        long fileSize = channel.size();
+        long dataStart = nextLineStart(channel, 0, fileSize); // skip the header line
+
+        List<long[]> chunks = new ArrayList<>();
+        long chunkSize = parallel
+                ? Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, fileSize / ForkJoinPool.getCommonPoolParallelism()))
+                : MAX_CHUNK_BYTES;
+        for (long start = dataStart; start < fileSize; ) {
+            long end = start + chunkSize >= fileSize ? fileSize : nextLineStart(channel, start + chunkSize, fileSize);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<List<FinanceRecord>> parsed = new ArrayList<>(chunks.size());
+        if (parallel && chunks.size() > 1) {
+            List<ForkJoinTask<List<FinanceRecord>>> tasks = new ArrayList<>(chunks.size());
+            for (long[] chunk : chunks) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+                tasks.add(ForkJoinPool.commonPool().submit(() -> parseChunk(buffer, today)));
+            }
+            for (ForkJoinTask<List<FinanceRecord>> task : tasks) {
+                parsed.add(task.join());
+            }
+        } else {
+            for (long[] chunk : chunks) {
+                parsed.add(parseChunk(channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]), today));
+            }
+        }
+
+        List<FinanceRecord> records = new ArrayList<>(parsed.stream().mapToInt(List::size).sum());
+        parsed.forEach(records::addAll);
+        return records;
+    }
+
+    /**
+     * Returns the offset just after the next line feed at or after {@code position},
+     * or {@code fileSize} if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long fileSize) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        while (position < fileSize) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
+    }
+
+    private static List<FinanceRecord> parseChunk(ByteBuffer buffer, LocalDate today) {
+        List<FinanceRecord> records = new ArrayList<>();
+        int[] commas = new int[4];
+        byte[] scratch = new byte[256];
+        int limit = buffer.limit();
+        int lineStart = 0;
+
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            // String.split drops trailing empty fields
+            while (lineEnd > lineStart && buffer.get(lineEnd - 1) == ',') {
+                lineEnd--;
+            }
+
+            int commaCount = 0;
+            for (int i = lineStart; i < lineEnd && commaCount <= 4; i++) {
+                if (buffer.get(i) == ',') {
+                    if (commaCount < 4) {
+                        commas[commaCount] = i;
+                    }
+                    commaCount++;
+                }
+            }
+
+            if (commaCount == 4) {
+                RecordType type = RECORD_TYPES.lookup(buffer, lineStart, commas[0]);
+                double amount = parseAmount(buffer, commas[0] + 1, commas[1]);
+                CategoryType category = CATEGORY_TYPES.lookup(buffer, commas[1] + 1, commas[2]);
+                scratch = copy(buffer, commas[2] + 1, commas[3], scratch);
+                String description = new String(scratch, 0, commas[3] - commas[2] - 1, StandardCharsets.UTF_8);
+                LocalDate date = parseDate(buffer, commas[3] + 1, lineEnd);
+
+                // Checking to the future date
+                if (date.isAfter(today)) {
+                    log.warn("Skipping record with a future date: {}", date);
+                } else {
+                    records.add(new FinanceRecord(type, amount, description, date, category));
+                }
+            }
+            lineStart = next;
+        }
+        return records;
+    }
+
+    /**
+     * Parses a decimal number such as {@code 1500.0} or {@code 1.5E7}. Numbers with at most
+     * 15 significant digits and a decimal exponent within ±22 are computed exactly from
+     * a long mantissa and a power of ten; everything else falls back to {@link Double#parseDouble}.
+     */
+    static double parseAmount(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        for (; i < to && isDigit(buffer.get(i)); i++) {
+            mantissa = accumulate(mantissa, buffer.get(i), digits);
+            digits += mantissa == 0 ? 0 : 1;
+            anyDigit = true;
+        }
+        if (i < to && buffer.get(i) == '.') {
+            for (i++; i < to && isDigit(buffer.get(i)); i++) {
+                mantissa = accumulate(mantissa, buffer.get(i), digits);
+                digits += mantissa == 0 ? 0 : 1;
+                exponent--;
+                anyDigit = true;
+            }
+        }
+        if (anyDigit && i < to && (buffer.get(i) == 'E' || buffer.get(i) == 'e')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+            int explicitExponent = 0;
+            int exponentStart = i;
+            for (; i < to && isDigit(buffer.get(i)) && explicitExponent < 1000; i++) {
+                explicitExponent = explicitExponent * 10 + (buffer.get(i) - '0');
+            }
+            if (i == exponentStart) {
+                anyDigit = false;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (!anyDigit || i != to || digits > 15 || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(asString(buffer, from, to));
+        }
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses an ISO date ({@code yyyy-MM-dd}); other formats fall back to {@link LocalDate#parse}.
+     */
+    static LocalDate parseDate(ByteBuffer buffer, int from, int to) {
+        if (to - from == 10 && buffer.get(from + 4) == '-' && buffer.get(from + 7) == '-') {
+            int year = digits(buffer, from, from + 4);
+            int month = digits(buffer, from + 5, from + 7);
+            int day = digits(buffer, from + 8, from + 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(asString(buffer, from, to));
+    }
+
+    private static long accumulate(long mantissa, byte digit, int significantDigits) {
+        // beyond 15 significant digits the fast path is not taken, so the value only needs to stay in range
+        return significantDigits > 15 ? mantissa : mantissa * 10 + (digit - '0');
+    }
+
+    private static int digits(ByteBuffer buffer, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static byte[] copy(ByteBuffer buffer, int from, int to, byte[] scratch) {
+        int length = to - from;
+        byte[] target = scratch.length >= length ? scratch : new byte[Math.max(length, scratch.length * 2)];
+        buffer.get(from, target, 0, length);
+        return target;
+    }
+
+    private static String asString(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps between enum constants and the bytes of their names without creating strings.
+     * Names are compared by length first; unknown names fall back to {@code valueOf},
+     * which throws the usual {@link IllegalArgumentException}.
+     */
+    private static final class EnumLookup<E extends Enum<E>> {
+        private final Class<E> enumType;
+        private final E[] constants;
+        private final byte[][] names;
+
+        private EnumLookup(Class<E> enumType) {
+            this.enumType = enumType;
+            this.constants = enumType.getEnumConstants();
+            this.names = new byte[constants.length][];
+            for (int i = 0; i < constants.length; i++) {
+                names[i] = constants[i].name().getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+
+        private byte[] bytes(E constant) {
+            return names[constant.ordinal()];
+        }
+
+        private E lookup(ByteBuffer buffer, int from, int to) {
+            int length = to - from;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].length == length && matches(names[i], buffer, from)) {
+                    return constants[i];
+                }
+            }
+            return Enum.valueOf(enumType, asString(buffer, from, to));
+        }
+
+        private static boolean matches(byte[] name, ByteBuffer buffer, int from) {
+            for (int i = name.length - 1; i >= 0; i--) {
+                if (name[i] != buffer.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
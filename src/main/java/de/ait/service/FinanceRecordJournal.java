@@ -0,0 +1,133 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The FinanceRecordJournal class is an append-only write-ahead log of financial records.
+ * Every new record is appended as a compact binary entry instead of rewriting the whole
+ * record list, so adding a record costs O(1) regardless of how many records already exist.
+ * <p>
+ * The records are stored in a {@link FramedJournal}; the payload of an entry is
+ * id (UTF), type ordinal (byte), amount (double), description (UTF), epoch day (long)
+ * and category ordinal (byte).
+ * <p>
+ * Writes are group committed: entries are buffered and flushed + fsynced once
+ * {@code groupCommitSize} entries are pending or {@code groupCommitIntervalMillis} have
+ * passed since the last sync, checked on every append and by a background thread, so the last
+ * records before a quiet period are not left unsynced. A torn or corrupt tail (e.g. after a crash)
+ * is detected by the checksum during {@link #replay()} and cut off.
+ */
+@Slf4j
+public class FinanceRecordJournal implements Closeable {
+    private final FramedJournal journal;
+    private final String fileName;
+
+    /**
+     * Creates a journal for the given file. The file is opened lazily on the first append.
+     *
+     * @param fileName                  The path of the journal file.
+     * @param groupCommitSize           The number of entries after which pending entries are synced.
+     * @param groupCommitIntervalMillis The maximum time pending entries may wait before being synced.
+     */
+    public FinanceRecordJournal(String fileName, int groupCommitSize, long groupCommitIntervalMillis) {
+        this.journal = new FramedJournal(fileName, "finance-journal-sync", groupCommitSize, groupCommitIntervalMillis);
+        this.fileName = fileName;
+    }
+
+    /**
+     * Appends a record to the journal.
+     *
+     * @param record The record to append.
+     * @throws IOException If an error occurs while writing to the journal.
+     */
+    public void append(FinanceRecord record) throws IOException {
+        FramedJournal.Payload payload = new FramedJournal.Payload();
+        payload.writeUTF(record.getId());
+        payload.writeByte(record.getType().ordinal());
+        payload.writeDouble(record.getAmount());
+        payload.writeUTF(record.getDescription());
+        payload.writeLong(record.getDate().toEpochDay());
+        payload.writeByte(record.getCategory().ordinal());
+        journal.append(payload.toByteArray());
+    }
+
+    /**
+     * Flushes all pending entries and forces them to disk.
+     *
+     * @throws IOException If an error occurs while syncing the journal.
+     */
+    public void sync() throws IOException {
+        journal.sync();
+    }
+
+    /**
+     * Reads all valid entries from the journal. If a torn or corrupt entry is found,
+     * it and everything after it is truncated so that new entries follow the last valid one.
+     *
+     * @return The records stored in the journal, in append order.
+     * @throws IOException If an error occurs while reading the journal.
+     */
+    public List<FinanceRecord> replay() throws IOException {
+        List<FinanceRecord> records = new ArrayList<>();
+        journal.replay(payload -> records.add(decode(payload)));
+        log.info("Replayed {} records from journal {}", records.size(), fileName);
+        return records;
+    }
+
+    /**
+     * Empties the journal, e.g. after its contents were compacted into a snapshot.
+     *
+     * @throws IOException If an error occurs while truncating the journal.
+     */
+    public void reset() throws IOException {
+        journal.reset();
+        log.info("Journal {} reset", fileName);
+    }
+
+    /**
+     * Deletes the journal file.
+     *
+     * @throws IOException If an error occurs while deleting the journal.
+     */
+    public void delete() throws IOException {
+        journal.delete();
+    }
+
+    /**
+     * Returns the number of entries written since the journal was last reset.
+     *
+     * @return The number of journal entries.
+     */
+    public long getEntryCount() {
+        return journal.getEntryCount();
+    }
+
+    /**
+     * Syncs pending entries, stops the background sync and closes the underlying file.
+     *
+     * @throws IOException If an error occurs while closing the journal.
+     */
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private static FinanceRecord decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String id = in.readUTF();
+        RecordType type = RecordType.values()[in.readByte()];
+        double amount = in.readDouble();
+        String description = in.readUTF();
+        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+        CategoryType category = CategoryType.values()[in.readByte()];
+        return new FinanceRecord(id, type, amount, description, date, category);
+    }
+}
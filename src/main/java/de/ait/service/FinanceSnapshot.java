@@ -0,0 +1,469 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The FinanceSnapshot class reads and writes the binary snapshot of all financial records
+ * that replaces the Java-serialized {@code FinanceRecord.cer} file.
+ * <p>
+ * Layout (big-endian, version 2):
+ * <pre>
+ * header      magic "SBFS" (int), version (short), flags (short),
+ *             record count (int), dictionary entries (int), dictionary bytes (int)
+ * dictionary  per description: byte length (int) + UTF-8 bytes, then CRC32 of header and dictionary (int)
+ * ids         long[count], or per record length (int) + UTF-8 bytes if flag STRING_IDS is set, then CRC32 (int)
+ * amounts     double[count], then CRC32 (int)
+ * dates       epoch day int[count], then CRC32 (int)
+ * types       RecordType ordinal byte[count], then CRC32 (int)
+ * categories  CategoryType ordinal byte[count], then CRC32 (int)
+ * descriptions dictionary code int[count], then CRC32 (int)
+ * </pre>
+ * All columns except string ids are fixed width, so an opened snapshot can decode any
+ * single record or column value directly from the memory-mapped file.
+ * <p>
+ * Opening a snapshot only checks the header and the dictionary. Each column carries its own
+ * checksum, which {@link #verify(Column...)} checks once on behalf of the callers that read it,
+ * so a query that needs four columns does not read the other two.
+ * Version 1 snapshots have a single CRC32 trailer over the whole file and are verified on open.
+ * Enum ordinals are stored, so reordering {@link RecordType} or {@link CategoryType}
+ * requires a new format version.
+ */
+public final class FinanceSnapshot {
+    static final int MAGIC = 0x53424653; // "SBFS"
+    static final short VERSION = 2;
+    private static final short WHOLE_FILE_CRC_VERSION = 1;
+    private static final short STRING_IDS = 1;
+    private static final int HEADER_BYTES = 20;
+    private static final int ID_LENGTH = 16;
+
+    private static final RecordType[] RECORD_TYPES = RecordType.values();
+    private static final CategoryType[] CATEGORY_TYPES = CategoryType.values();
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final String[] dictionary;
+    private final long[] stringIdOffsets; // only for STRING_IDS snapshots
+    private final int idsOffset;
+    private final int amountsOffset;
+    private final int datesOffset;
+    private final int typesOffset;
+    private final int categoriesOffset;
+    private final int descriptionsOffset;
+    private final int checksumBytes; // 4 after each column in version 2, 0 in version 1
+    private int verifiedColumns; // bit per Column whose checksum matched
+
+    /**
+     * The columns of a snapshot, each covered by its own checksum.
+     */
+    public enum Column {
+        IDS, AMOUNTS, DATES, TYPES, CATEGORIES, DESCRIPTIONS
+    }
+
+    private FinanceSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        int length = buffer.limit();
+        if (length < HEADER_BYTES + 4 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a finance snapshot");
+        }
+        short version = buffer.getShort(4);
+        if (version == WHOLE_FILE_CRC_VERSION) {
+            checkCrc(0, length - 4);
+            checksumBytes = 0;
+            verifiedColumns = (1 << Column.values().length) - 1;
+        } else if (version == VERSION) {
+            long dictionaryEnd = HEADER_BYTES + (long) buffer.getInt(16);
+            if (buffer.getInt(16) < 0 || dictionaryEnd + 4 > length) {
+                throw new IOException("Finance snapshot is truncated or has trailing data");
+            }
+            checkCrc(0, (int) dictionaryEnd);
+            checksumBytes = 4;
+        } else {
+            throw new IOException("Unsupported finance snapshot version: " + version);
+        }
+
+        try {
+            boolean stringIds = (buffer.getShort(6) & STRING_IDS) != 0;
+            this.count = buffer.getInt(8);
+            this.dictionary = new String[buffer.getInt(12)];
+            int position = HEADER_BYTES;
+            for (int i = 0; i < dictionary.length; i++) {
+                int bytes = buffer.getInt(position);
+                dictionary[i] = decode(buffer, position + 4, bytes);
+                position += 4 + bytes;
+            }
+            position += checksumBytes;
+
+            this.idsOffset = position;
+            if (stringIds) {
+                stringIdOffsets = new long[count];
+                for (int i = 0; i < count; i++) {
+                    stringIdOffsets[i] = position;
+                    position += 4 + buffer.getInt(position);
+                }
+            } else {
+                stringIdOffsets = null;
+                position += count * Long.BYTES;
+            }
+            this.amountsOffset = position + checksumBytes;
+            this.datesOffset = amountsOffset + count * Double.BYTES + checksumBytes;
+            this.typesOffset = datesOffset + count * Integer.BYTES + checksumBytes;
+            this.categoriesOffset = typesOffset + count + checksumBytes;
+            this.descriptionsOffset = categoriesOffset + count + checksumBytes;
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Finance snapshot is truncated or has trailing data");
+        }
+        if (descriptionsOffset + (long) count * Integer.BYTES + 4 != length) {
+            throw new IOException("Finance snapshot is truncated or has trailing data");
+        }
+    }
+
+    /**
+     * Memory-maps a snapshot file and validates its header and dictionary.
+     * Records are only decoded when they are accessed, and columns are only checked by {@link #verify(Column...)}.
+     *
+     * @param filePath The path of the snapshot file.
+     * @return The opened snapshot.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static FinanceSnapshot open(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new FinanceSnapshot(buffer);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the records, creating missing parent directories.
+     *
+     * @param filePath The path of the snapshot file.
+     * @param records  The records to write.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public static void write(Path filePath, List<FinanceRecord> records) throws IOException {
+        if (filePath.getParent() != null) {
+            Files.createDirectories(filePath.getParent());
+        }
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(filePath), 64 * 1024)) {
+            write(file, records);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the records to a stream, which is flushed but not closed.
+     *
+     * @param target  The stream to write to.
+     * @param records The records to write.
+     * @throws IOException If an error occurs while writing.
+     */
+    public static void write(OutputStream target, List<FinanceRecord> records) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> dictionary = new ArrayList<>();
+        int[] descriptionCodes = new int[records.size()];
+        int dictionaryBytes = 0;
+        boolean stringIds = false;
+        for (int i = 0; i < records.size(); i++) {
+            FinanceRecord record = records.get(i);
+            Integer code = codes.get(record.getDescription());
+            if (code == null) {
+                code = dictionary.size();
+                byte[] bytes = record.getDescription().getBytes(StandardCharsets.UTF_8);
+                dictionary.add(bytes);
+                dictionaryBytes += 4 + bytes.length;
+                codes.put(record.getDescription(), code);
+            }
+            descriptionCodes[i] = code;
+            stringIds |= !isNumericId(record.getId());
+        }
+
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(target, crc));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(stringIds ? STRING_IDS : 0);
+        out.writeInt(records.size());
+        out.writeInt(dictionary.size());
+        out.writeInt(dictionaryBytes);
+        for (byte[] bytes : dictionary) {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        writeChecksum(out, crc);
+        for (FinanceRecord record : records) {
+            if (stringIds) {
+                byte[] bytes = record.getId().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else {
+                out.writeLong(Long.parseLong(record.getId()));
+            }
+        }
+        writeChecksum(out, crc);
+        for (FinanceRecord record : records) {
+            out.writeDouble(record.getAmount());
+        }
+        writeChecksum(out, crc);
+        for (FinanceRecord record : records) {
+            out.writeInt(Math.toIntExact(record.getDate().toEpochDay()));
+        }
+        writeChecksum(out, crc);
+        for (FinanceRecord record : records) {
+            out.writeByte(record.getType().ordinal());
+        }
+        writeChecksum(out, crc);
+        for (FinanceRecord record : records) {
+            out.writeByte(record.getCategory().ordinal());
+        }
+        writeChecksum(out, crc);
+        for (int code : descriptionCodes) {
+            out.writeInt(code);
+        }
+        writeChecksum(out, crc);
+        out.flush();
+    }
+
+    /**
+     * Writes the checksum of the section written since the last checksum and starts the next section.
+     */
+    private static void writeChecksum(DataOutputStream out, CRC32 crc) throws IOException {
+        int value = (int) crc.getValue(); // the checksum itself is not part of any section
+        out.writeInt(value);
+        crc.reset();
+    }
+
+    /**
+     * Checks the given columns against their checksums. Each column is read at most once;
+     * later calls for an already verified column return immediately.
+     *
+     * @param columns The columns the caller is about to read.
+     * @throws IOException If a column does not match its checksum.
+     */
+    public void verify(Column... columns) throws IOException {
+        for (Column column : columns) {
+            int bit = 1 << column.ordinal();
+            if ((verifiedColumns & bit) != 0) {
+                continue;
+            }
+            int start = columnStart(column);
+            checkCrc(start, start + columnBytes(column));
+            verifiedColumns |= bit;
+        }
+    }
+
+    private int columnStart(Column column) {
+        return switch (column) {
+            case IDS -> idsOffset;
+            case AMOUNTS -> amountsOffset;
+            case DATES -> datesOffset;
+            case TYPES -> typesOffset;
+            case CATEGORIES -> categoriesOffset;
+            case DESCRIPTIONS -> descriptionsOffset;
+        };
+    }
+
+    private int columnBytes(Column column) {
+        return switch (column) {
+            case IDS -> amountsOffset - checksumBytes - idsOffset;
+            case AMOUNTS -> count * Double.BYTES;
+            case DATES, DESCRIPTIONS -> count * Integer.BYTES;
+            case TYPES, CATEGORIES -> count;
+        };
+    }
+
+    /**
+     * Compares the CRC32 of the bytes from start to end with the int stored right after them.
+     */
+    private void checkCrc(int start, int end) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start, end - start));
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            throw new IOException("Finance snapshot checksum mismatch");
+        }
+    }
+
+    /**
+     * Returns the number of records in the snapshot.
+     *
+     * @return The record count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Decodes the record at the given position.
+     *
+     * @param index The position of the record.
+     * @return The decoded record.
+     */
+    public FinanceRecord record(int index) {
+        return new FinanceRecord(id(index), type(index), amount(index), description(index),
+                LocalDate.ofEpochDay(epochDay(index)), category(index));
+    }
+
+    /**
+     * Decodes all records of the snapshot.
+     *
+     * @return The records, in snapshot order.
+     */
+    public List<FinanceRecord> readAll() {
+        List<FinanceRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(record(i));
+        }
+        return records;
+    }
+
+    /**
+     * Returns the amount of the record at the given position without decoding the record.
+     *
+     * @param index The position of the record.
+     * @return The amount.
+     */
+    public double amount(int index) {
+        return buffer.getDouble(amountsOffset + index * Double.BYTES);
+    }
+
+    /**
+     * Returns the epoch day of the record at the given position without decoding the record.
+     *
+     * @param index The position of the record.
+     * @return The date as epoch day.
+     */
+    public int epochDay(int index) {
+        return buffer.getInt(datesOffset + index * Integer.BYTES);
+    }
+
+    /**
+     * Returns the type of the record at the given position without decoding the record.
+     *
+     * @param index The position of the record.
+     * @return The record type.
+     */
+    public RecordType type(int index) {
+        return RECORD_TYPES[buffer.get(typesOffset + index)];
+    }
+
+    /**
+     * Returns the description of the record at the given position without decoding the record.
+     *
+     * @param index The position of the record.
+     * @return The description.
+     */
+    public String description(int index) {
+        return dictionary[buffer.getInt(descriptionsOffset + index * Integer.BYTES)];
+    }
+
+    /**
+     * Returns the category of the record at the given position without decoding the record.
+     *
+     * @param index The position of the record.
+     * @return The category type.
+     */
+    public CategoryType category(int index) {
+        return CATEGORY_TYPES[buffer.get(categoriesOffset + index)];
+    }
+
+    /**
+     * Returns those of the given ids that occur in the snapshot.
+     * Numeric ids are compared on the id column without formatting or decoding any record.
+     *
+     * @param ids The ids to look for.
+     * @return The ids contained in the snapshot.
+     */
+    public Set<String> findIds(Collection<String> ids) {
+        Set<String> found = new HashSet<>();
+        if (ids.isEmpty()) {
+            return found;
+        }
+        if (stringIdOffsets != null) {
+            for (int i = 0; i < count && found.size() < ids.size(); i++) {
+                String id = id(i);
+                if (ids.contains(id)) {
+                    found.add(id);
+                }
+            }
+            return found;
+        }
+        Map<Long, String> numericIds = new HashMap<>();
+        for (String id : ids) {
+            if (isNumericId(id)) {
+                numericIds.put(Long.parseLong(id), id);
+            }
+        }
+        for (int i = 0; i < count && found.size() < numericIds.size(); i++) {
+            String id = numericIds.get(buffer.getLong(idsOffset + i * Long.BYTES));
+            if (id != null) {
+                found.add(id);
+            }
+        }
+        return found;
+    }
+
+    private String id(int index) {
+        if (stringIdOffsets != null) {
+            int position = (int) stringIdOffsets[index];
+            return decode(buffer, position + 4, buffer.getInt(position));
+        }
+        return formatId(buffer.getLong(idsOffset + index * Long.BYTES));
+    }
+
+    /**
+     * Formats a numeric id as the 16-digit string generated by {@link FinanceRecord}.
+     */
+    static String formatId(long id) {
+        String digits = Long.toString(id);
+        if (digits.length() >= ID_LENGTH) {
+            return digits;
+        }
+        StringBuilder sb = new StringBuilder(ID_LENGTH);
+        for (int i = digits.length(); i < ID_LENGTH; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+
+    /**
+     * Returns true if the id round-trips through {@code long} and {@link #formatId(long)}.
+     */
+    static boolean isNumericId(String id) {
+        if (id.length() != ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) < '0' || id.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,338 @@
+package de.ait.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * The FramedJournal class is an append-only log of checksummed binary entries, shared by
+ * {@link FinanceRecordJournal}, {@link EventStore} and {@link ContractStore}, which only supply the payloads.
+ * <p>
+ * Entry layout: {@code [int payloadLength][payload][int crc32(payload)]}. A torn or corrupt tail
+ * (e.g. after a crash) is detected by the checksum during {@link #replay(EntryHandler)} and cut off,
+ * so new entries follow the last valid one.
+ * <p>
+ * Writes are group committed: entries are buffered and flushed + fsynced once
+ * {@code groupCommitSize} entries are pending or {@code groupCommitIntervalMillis} have passed,
+ * checked on every append and by a background thread, so a busy log does not wait for one fsync
+ * per entry and an idle log is still synced within the interval. The same thread runs the tasks handed to
+ * {@link #runInBackground(Runnable)}, e.g. writing a snapshot off the caller's thread.
+ * Appends, syncs and replays are synchronized.
+ */
+@Slf4j
+public class FramedJournal implements Closeable {
+    private final Path journalPath;
+    private final int groupCommitSize;
+    private final long groupCommitIntervalMillis;
+    private final ScheduledExecutorService background; // syncs the log and runs the owner's background tasks
+
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+    private int pendingEntries;   // entries written but not yet synced
+    private long entryCount;      // entries in the log since the last reset
+    private long lastSyncMillis;
+
+    /**
+     * Creates a journal. The file is opened lazily on the first append.
+     * @param journalFile               The path of the log
+     * @param threadName                Name of the background thread
+     * @param groupCommitSize           The number of entries after which pending entries are synced
+     * @param groupCommitIntervalMillis The maximum time pending entries may wait before being synced,
+     *                                  0 to sync every entry
+     * @throws IllegalArgumentException If the size is not positive or the interval is negative
+     */
+    public FramedJournal(String journalFile, String threadName, int groupCommitSize, long groupCommitIntervalMillis) {
+        if (groupCommitSize <= 0) {
+            throw new IllegalArgumentException("Group commit size must be greater than 0");
+        }
+        if (groupCommitIntervalMillis < 0) {
+            throw new IllegalArgumentException("Group commit interval cannot be negative");
+        }
+        this.journalPath = Paths.get(journalFile);
+        this.groupCommitSize = groupCommitSize;
+        this.groupCommitIntervalMillis = groupCommitIntervalMillis;
+        this.lastSyncMillis = System.currentTimeMillis();
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (groupCommitIntervalMillis > 0) {
+            background.scheduleWithFixedDelay(this::syncIfDue, groupCommitIntervalMillis, groupCommitIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Appends one entry.
+     * @param payload The entry's payload
+     * @throws IOException If an error occurs while writing the log
+     */
+    public synchronized void append(byte[] payload) throws IOException {
+        writeFrame(openForAppend(), payload);
+        pendingEntries++;
+        entryCount++;
+        if (pendingEntries >= groupCommitSize
+                || System.currentTimeMillis() - lastSyncMillis >= groupCommitIntervalMillis) {
+            sync();
+        }
+    }
+
+    /**
+     * Flushes all pending entries and forces them to disk.
+     * @throws IOException If an error occurs while syncing the log
+     */
+    public synchronized void sync() throws IOException {
+        if (out != null && pendingEntries > 0) {
+            out.flush();
+            fileOut.getFD().sync();
+            log.debug("Log {} synced: {} entries committed", journalPath, pendingEntries);
+        }
+        pendingEntries = 0;
+        lastSyncMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Passes every valid entry to a handler, in append order. If a torn or corrupt entry is found,
+     * it and everything after it is truncated.
+     * @param handler Receives the payload of every entry
+     * @return The number of valid entries
+     * @throws IOException If an error occurs while reading the log, or the handler fails
+     */
+    public synchronized long replay(EntryHandler handler) throws IOException {
+        sync();
+        entryCount = 0;
+        if (!Files.exists(journalPath)) {
+            return 0;
+        }
+        long validLength = 0;
+        long fileLength = Files.size(journalPath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            byte[] payload;
+            while ((payload = readFrame(in, fileLength - validLength)) != null) {
+                handler.accept(payload);
+                validLength += 8 + payload.length;
+                entryCount++;
+            }
+        }
+        if (validLength < fileLength) {
+            log.warn("Log {} has a corrupt tail, truncating {} bytes", journalPath, fileLength - validLength);
+            closeFile();
+            try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+        return entryCount;
+    }
+
+    /**
+     * Empties the log, e.g. after its contents were compacted into a snapshot.
+     * @throws IOException If an error occurs while truncating the log
+     */
+    public synchronized void reset() throws IOException {
+        closeFile();
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+        Files.write(journalPath, new byte[0]);
+        entryCount = 0;
+    }
+
+    /**
+     * Deletes the log file.
+     * @throws IOException If an error occurs while deleting the log
+     */
+    public synchronized void delete() throws IOException {
+        closeFile();
+        Files.deleteIfExists(journalPath);
+        entryCount = 0;
+    }
+
+    /**
+     * Returns the number of entries written or replayed since the log was last reset.
+     * @return The number of log entries
+     */
+    public synchronized long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Runs a task on the background thread, after the tasks handed over before it.
+     * @param task The task
+     * @return true if the task was accepted, false if the journal is closed
+     */
+    public boolean runInBackground(Runnable task) {
+        try {
+            background.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Log {} is closed, background task dropped", journalPath);
+            return false;
+        }
+    }
+
+    /**
+     * Waits for the background tasks handed over so far, then syncs pending entries,
+     * stops the background thread and closes the log file.
+     * @throws IOException If an error occurs while closing the log
+     */
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            if (!background.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Background tasks of log {} did not finish within one minute", journalPath);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closeFile();
+        }
+    }
+
+    /**
+     * Writes a file through a temporary file that is forced to disk and then atomically moved into place,
+     * so readers see either the old or the new file, never a partial one.
+     * @param target The file to replace
+     * @param writer Writes the new content
+     * @throws IOException If an error occurs while writing or moving the file
+     */
+    public static void replaceFile(Path target, ContentWriter writer) throws IOException {
+        Path tempPath = Paths.get(target + ".tmp");
+        if (tempPath.getParent() != null) {
+            Files.createDirectories(tempPath.getParent());
+        }
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(tempPath), 64 * 1024)) {
+            writer.write(file);
+        }
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tempPath, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes one entry.
+     * @param target  The stream to write to
+     * @param payload The entry's payload
+     * @throws IOException If an error occurs while writing
+     */
+    public static void writeFrame(DataOutputStream target, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        target.writeInt(payload.length);
+        target.write(payload);
+        target.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Reads one entry, or returns null at the end of the data or at a torn or corrupt entry.
+     * @param in        The stream to read from
+     * @param remaining The number of bytes left in the stream
+     * @return The entry's payload, or null
+     * @throws IOException If an error occurs while reading
+     */
+    public static byte[] readFrame(DataInputStream in, long remaining) throws IOException {
+        if (remaining < 8) {
+            return null;
+        }
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length <= 0 || length > remaining - 8) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        int checksum;
+        try {
+            in.readFully(payload);
+            checksum = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == checksum ? payload : null;
+    }
+
+    private synchronized void syncIfDue() {
+        if (pendingEntries > 0 && System.currentTimeMillis() - lastSyncMillis >= groupCommitIntervalMillis) {
+            try {
+                sync();
+            } catch (IOException e) {
+                log.error("Error syncing log {}: {}", journalPath, e.getMessage());
+            }
+        }
+    }
+
+    private void closeFile() throws IOException {
+        if (out != null) {
+            sync();
+            out.close();
+            out = null;
+            fileOut = null;
+        }
+    }
+
+    private DataOutputStream openForAppend() throws IOException {
+        if (out == null) {
+            if (journalPath.getParent() != null) {
+                Files.createDirectories(journalPath.getParent());
+            }
+            fileOut = new FileOutputStream(journalPath.toFile(), true);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024));
+        }
+        return out;
+    }
+
+    /**
+     * Receives the payload of a replayed entry.
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+        void accept(byte[] payload) throws IOException;
+    }
+
+    /**
+     * Writes the content of a file replaced by {@link #replaceFile(Path, ContentWriter)}.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Payload of one entry, written in memory before it is framed.
+     */
+    public static final class Payload extends DataOutputStream {
+        /**
+         * Creates an empty payload.
+         */
+        public Payload() {
+            super(new ByteArrayOutputStream(64));
+        }
+
+        /**
+         * Returns the bytes written so far.
+         * @return The payload
+         */
+        public byte[] toByteArray() {
+            return ((ByteArrayOutputStream) out).toByteArray();
+        }
+    }
+}
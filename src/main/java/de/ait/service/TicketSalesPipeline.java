@@ -0,0 +1,211 @@
+package de.ait.service;
+
+import de.ait.model.Event;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The TicketSalesPipeline class sells tickets for many concurrent buyers in batches.
+ * <p>
+ * Purchase requests are queued per event in a bounded ring buffer ({@link ArrayBlockingQueue}).
+ * A single writer per event drains the queue in batches on a shared worker pool,
+ * so requests for one event never compete with each other for the sold ticket count:
+ * a whole batch is sold with one compare-and-set when enough tickets are left,
+ * and request by request in arrival order otherwise. Events with a seat inventory are
+ * always sold request by request, because every request needs its own block of seats.
+ * <p>
+ * Every request gets a future that completes with true if the tickets were sold
+ * and false if not enough tickets were left. If selling fails with an exception, the futures of the
+ * affected requests fail with it and the event's writer goes on with the next requests.
+ * The queue of an event is dropped once its writer has drained it.
+ */
+@Slf4j
+public class TicketSalesPipeline implements AutoCloseable {
+    private static final int DEFAULT_QUEUE_CAPACITY = 65_536; // pending requests per event
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+    private static final int BATCHES_PER_TURN = 16; // a hot event yields its worker after this many batches
+
+    private final int queueCapacity;
+    private final int batchSize;
+    private final ExecutorService workers;
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pipeline with one worker per available processor.
+     */
+    public TicketSalesPipeline() {
+        this(DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a pipeline.
+     * @param queueCapacity Maximum number of pending requests per event
+     * @param batchSize     Maximum number of requests sold together
+     * @param workerCount   Number of worker threads shared by all events
+     * @throws IllegalArgumentException If a value is not positive
+     */
+    public TicketSalesPipeline(int queueCapacity, int batchSize, int workerCount) {
+        if (queueCapacity <= 0 || batchSize <= 0 || workerCount <= 0) {
+            log.error("Invalid pipeline size: capacity {}, batch {}, workers {}", queueCapacity, batchSize, workerCount);
+            throw new IllegalArgumentException("Invalid pipeline size: values must be greater than zero");
+        }
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "ticket-sales-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a purchase request.
+     * The future fails with {@link IllegalArgumentException} if the count is not positive,
+     * with {@link RejectedExecutionException} if the event's queue is full,
+     * and with {@link IllegalStateException} if the pipeline is closed.
+     * @param event Event to buy tickets for
+     * @param count Number of tickets
+     * @return Future that completes with true if the tickets were sold, false if not enough were left
+     */
+    public CompletableFuture<Boolean> submit(Event event, int count) {
+        if (event == null || count <= 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("The number of tickets must be greater than 0."));
+        }
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Ticket sales pipeline is closed"));
+        }
+        SaleRequest request = new SaleRequest(count);
+        boolean[] queued = new boolean[1];
+        // queued under the map's lock, so a lane is never dropped while a request is being added to it
+        Lane lane = lanes.compute(event.getId(), (id, existing) -> {
+            Lane current = existing != null ? existing : new Lane(event, queueCapacity);
+            queued[0] = current.queue.offer(request);
+            return current;
+        });
+        if (!queued[0]) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Sales queue for event " + event.getName() + " is full"));
+        }
+        schedule(lane);
+        return request.result;
+    }
+
+    /**
+     * Stops accepting requests and waits until all queued requests are processed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Ticket sales pipeline did not finish within one minute");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // requests queued while the workers were shutting down
+        lanes.values().forEach(lane -> failPending(lane, new IllegalStateException("Ticket sales pipeline is closed")));
+    }
+
+    private void schedule(Lane lane) {
+        if (!lane.scheduled.compareAndSet(false, true)) {
+            return; // the event's writer is already running and will see the request
+        }
+        try {
+            workers.execute(() -> drain(lane));
+        } catch (RejectedExecutionException e) {
+            lane.scheduled.set(false);
+            failPending(lane, new IllegalStateException("Ticket sales pipeline is closed"));
+        }
+    }
+
+    /**
+     * Runs as the single writer of one event.
+     */
+    private void drain(Lane lane) {
+        List<SaleRequest> batch = new ArrayList<>(batchSize);
+        try {
+            // once closed, nothing can be scheduled any more, so the last turn runs until the queue is empty
+            for (int i = 0; (i < BATCHES_PER_TURN || closed) && lane.queue.drainTo(batch, batchSize) > 0; i++) {
+                try {
+                    sell(lane.event, batch);
+                } catch (RuntimeException e) {
+                    log.error("Selling tickets for event {} failed", lane.event.getName(), e);
+                    batch.forEach(request -> request.result.completeExceptionally(e));
+                }
+                batch.clear();
+            }
+        } finally {
+            lane.scheduled.set(false);
+        }
+        if (!lane.queue.isEmpty()) {
+            schedule(lane);
+        } else {
+            lanes.computeIfPresent(lane.event.getId(), (id, current) -> current == lane && current.queue.isEmpty()
+                    && !current.scheduled.get() ? null : current);
+        }
+    }
+
+    private static void sell(Event event, List<SaleRequest> batch) {
+        long total = 0;
+        for (SaleRequest request : batch) {
+            total += request.count;
+        }
+        if (event.getSeatInventory() == null && total <= Integer.MAX_VALUE && event.trySellTicket((int) total)) {
+            batch.forEach(request -> request.result.complete(true));
+            return;
+        }
+        for (SaleRequest request : batch) {
+            try {
+                request.result.complete(event.trySellTicket(request.count));
+            } catch (RuntimeException e) {
+                log.error("Selling {} tickets for event {} failed", request.count, event.getName(), e);
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static void failPending(Lane lane, RuntimeException cause) {
+        SaleRequest request;
+        while ((request = lane.queue.poll()) != null) {
+            request.result.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Queue and writer state of one event.
+     */
+    private static final class Lane {
+        private final Event event;
+        private final ArrayBlockingQueue<SaleRequest> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Lane(Event event, int capacity) {
+            this.event = event;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private static final class SaleRequest {
+        private final int count;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private SaleRequest(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.ait.utilities;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * The CachedToday class returns today's date without recomputing it on every call.
+ * <p>
+ * {@link LocalDate#now()} converts the current instant through the time zone rules each time it is called,
+ * which adds up when thousands of contracts are checked in one go. This class remembers the date together
+ * with the instants at which it starts and ends, so most calls only read the clock's milliseconds.
+ * The date is recomputed once the clock leaves that day, in either direction.
+ */
+public final class CachedToday {
+    /**
+     * Today in the system default time zone.
+     */
+    public static final CachedToday SYSTEM = new CachedToday(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile Day day; // replaced as a whole, so readers never see a mixed state
+
+    /**
+     * Creates a cached date for a clock.
+     * @param clock Clock that defines today
+     */
+    public CachedToday(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns today's date according to the clock.
+     * @return Today
+     */
+    public LocalDate get() {
+        Day current = day;
+        long now = clock.millis();
+        if (current == null || now < current.startMillis || now >= current.endMillis) {
+            current = new Day(LocalDate.now(clock), clock.getZone());
+            day = current;
+        }
+        return current.date;
+    }
+
+    /**
+     * A date and the instants (epoch milliseconds) at which it starts and ends.
+     */
+    private static final class Day {
+        private final LocalDate date;
+        private final long startMillis;
+        private final long endMillis;
+
+        private Day(LocalDate date, ZoneId zone) {
+            this.date = date;
+            this.startMillis = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            this.endMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+}
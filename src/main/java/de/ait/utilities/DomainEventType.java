@@ -0,0 +1,13 @@
+package de.ait.utilities;
+
+public enum DomainEventType {
+    EVENT_ADDED,            // Event added to the event list
+    EVENT_REMOVED,          // Event removed from the event list
+    EVENT_UPDATED,          // Event date, type or location changed
+    TICKETS_SOLD,           // Tickets sold for an event
+    ARTIST_ADDED,           // Artist added to an event
+    ARTIST_REMOVED,         // Artist removed from an event
+    CASTING_REGISTERED,     // Casting registered
+    CONTRACT_UPDATED,       // Contract artist, dates or terms changed
+    CONTRACT_EXPIRING       // Contract entered the expiry window
+}
@@ -1,8 +1,26 @@
 package de.ait.utilities;
 
+/**
+ * Status of a casting participant.
+ * A participant moves from NEW through IN_PROGRESS to APPROVED_CANDIDATE, and can be rejected
+ * at any point before that. APPROVED_CANDIDATE and REJECTED_CANDIDATE are final.
+ */
 public enum ParticipantStatus {
     NEW,
     IN_PROGRESS,
     REJECTED_CANDIDATE,
-    APPROVED_CANDIDATE
+    APPROVED_CANDIDATE;
+
+    /**
+     * Checks whether a participant with this status may move to another status.
+     * @param next the new status
+     * @return true if the transition is allowed
+     */
+    public boolean canMoveTo(ParticipantStatus next) {
+        return switch (this) {
+            case NEW -> next == IN_PROGRESS || next == REJECTED_CANDIDATE;
+            case IN_PROGRESS -> next == APPROVED_CANDIDATE || next == REJECTED_CANDIDATE;
+            case REJECTED_CANDIDATE, APPROVED_CANDIDATE -> false;
+        };
+    }
 }
@@ -6,11 +6,20 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EventTest {
@@ -87,4 +96,73 @@ public class EventTest {
         double profit = event.calculateProfit(expenses); // Profit calculation
         assertEquals(expectedProfit, profit);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTrySellTicketWhenNotEnoughTickets() {
+        Event event = new Event("Jazz Night", EventType.CONCERT,
+                LocalDate.of(2025, 6, 1), "Hamburg Elbphilharmonie", 10, 8, 40.00);
+        assertFalse(event.trySellTicket(3));
+        assertTrue(event.trySellTicket(2));
+        assertEquals(10, event.getSoldTicketCount());
+        assertThrows(IllegalArgumentException.class, () -> event.sellTicket(1));
+        assertThrows(IllegalArgumentException.class, () -> event.trySellTicket(0));
+    }
+
+    @Test
+    void testTrySellTicketUnderContentionNeverOversells() throws Exception {
+        int totalTickets = 1_000_000;
+        int threads = 8;
+        int attemptsPerThread = 500_000; // 4 million purchases for 1 million tickets
+        Event event = new Event("Champions League Final", EventType.SPORTS,
+                LocalDate.of(2025, 5, 28), "London Wembley Stadium", totalTickets, 60.00);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int ticketsPerPurchase = t % 2 == 0 ? 1 : 3;
+            results.add(executor.submit(() -> {
+                start.await();
+                int sold = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (event.trySellTicket(ticketsPerPurchase)) {
+                        sold += ticketsPerPurchase;
+                    }
+                }
+                return sold;
+            }));
+        }
+        start.countDown();
+        int sold = 0;
+        for (Future<Integer> result : results) {
+            sold += result.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(event.getSoldTicketCount(), sold);
+        assertTrue(sold <= totalTickets);
+        assertTrue(totalTickets - sold < 3); // only a remainder smaller than the largest purchase may be left
+    }
+
+    @Test
+    void testArtistListCanBeCopiedWhileArtistsChange() throws Exception {
+        Event event = new Event("Jazz Weekend", EventType.CONCERT,
+                LocalDate.of(2025, 9, 12), "Hamburg Elbphilharmonie", 2000, 55.00);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> changes = executor.submit(() -> {
+            for (int i = 0; i < 100_000; i++) {
+                event.addArtist("Artist " + i % 100 + "/" + i);
+                event.removeArtist("Artist " + i % 100 + "/" + i);
+            }
+        });
+        while (!changes.isDone()) {
+            event.getArtistList(); // copying used to fail with ConcurrentModificationException
+        }
+        changes.get();
+        executor.shutdown();
+
+        assertTrue(event.getArtistList().isEmpty());
+        assertThrows(NoSuchElementException.class, () -> event.removeArtist(null));
+    }
+}
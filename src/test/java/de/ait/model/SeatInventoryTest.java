@@ -0,0 +1,195 @@
+package de.ait.model;
+
+import de.ait.utilities.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeatInventoryTest {
+    private static final Duration HOLD = Duration.ofMinutes(10);
+
+    @Test
+    void testHoldBestAvailablePrefersFrontRowAndMiddle() {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("A", 2, 10);
+
+        SeatHold hold = inventory.holdBestAvailable(4, HOLD).orElseThrow();
+
+        assertEquals("A", hold.getSection());
+        assertEquals(1, hold.getRow());
+        assertEquals(4, hold.getFirstSeat());
+        assertFalse(inventory.isAvailable("A", 1, 4));
+        assertFalse(inventory.isAvailable("A", 1, 7));
+        assertTrue(inventory.isAvailable("A", 1, 8));
+        assertEquals(16, inventory.getAvailableCount());
+    }
+
+    @Test
+    void testHoldBestAvailableNeedsAdjacentSeats() {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("A", 1, 10);
+        inventory.addSection("B", 1, 10);
+        assertTrue(inventory.hold("A", 1, 4, 3, HOLD).isPresent());
+
+        SeatHold hold = inventory.holdBestAvailable(4, HOLD).orElseThrow();
+        assertEquals("A", hold.getSection());
+        assertEquals(7, hold.getFirstSeat());
+
+        SeatHold next = inventory.holdBestAvailable(4, HOLD).orElseThrow();
+        assertEquals("B", next.getSection());
+        assertTrue(inventory.holdBestAvailable(11, HOLD).isEmpty());
+    }
+
+    @Test
+    void testHoldSpecificSeatsFailsWhenTaken() {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("Floor", 5, 20);
+        assertTrue(inventory.hold("Floor", 3, 5, 2, HOLD).isPresent());
+
+        assertTrue(inventory.hold("Floor", 3, 6, 2, HOLD).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> inventory.hold("Floor", 6, 1, 1, HOLD));
+        assertThrows(IllegalArgumentException.class, () -> inventory.hold("Floor", 1, 20, 2, HOLD));
+        assertThrows(IllegalArgumentException.class, () -> inventory.hold("Balcony", 1, 1, 1, HOLD));
+    }
+
+    @Test
+    void testCommitAndRelease() {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("A", 1, 10);
+        SeatHold sold = inventory.holdBestAvailable(2, HOLD).orElseThrow();
+        SeatHold released = inventory.holdBestAvailable(3, HOLD).orElseThrow();
+
+        assertTrue(inventory.commit(sold.getId()).isPresent());
+        assertTrue(inventory.release(released.getId()));
+        assertFalse(inventory.release(sold.getId()));
+        assertTrue(inventory.commit(released.getId()).isEmpty());
+
+        assertEquals(2, inventory.getSoldCount());
+        assertEquals(0, inventory.getHeldCount());
+        assertEquals(8, inventory.getAvailableCount());
+        assertTrue(inventory.isAvailable("A", 1, released.getFirstSeat()));
+    }
+
+    @Test
+    void testExpiredHoldIsReleasedAndCannotBeCommitted() {
+        MutableClock clock = new MutableClock();
+        SeatInventory inventory = new SeatInventory(clock);
+        inventory.addSection("A", 1, 4);
+        SeatHold hold = inventory.holdBestAvailable(4, HOLD).orElseThrow();
+        assertTrue(inventory.holdBestAvailable(1, HOLD).isEmpty());
+
+        clock.advance(HOLD);
+
+        assertTrue(inventory.commit(hold.getId()).isEmpty());
+        assertEquals(4, inventory.getAvailableCount());
+        assertTrue(inventory.holdBestAvailable(4, HOLD).isPresent());
+    }
+
+    @Test
+    void testStadiumSellsOutExactly() {
+        SeatInventory inventory = new SeatInventory();
+        for (int section = 1; section <= 40; section++) {
+            inventory.addSection("S" + section, 50, 50); // 40 x 2,500 = 100,000 seats
+        }
+        Event event = new Event("Cup Final", EventType.SPORTS,
+                LocalDate.of(2025, 5, 24), "Berlin Olympic Stadium", 1, 80.00);
+        event.attachSeatInventory(inventory);
+        assertEquals(100_000, event.getTotalTicketCount());
+
+        int sold = 0;
+        while (true) {
+            Optional<SeatHold> hold = event.holdSeats(4, HOLD);
+            if (hold.isEmpty()) {
+                break;
+            }
+            assertTrue(event.commitSeatHold(hold.get().getId()));
+            sold += 4;
+        }
+        while (event.trySellTicket(1)) {
+            sold++;
+        }
+
+        assertEquals(100_000, sold);
+        assertEquals(100_000, event.getSoldTicketCount());
+        assertEquals(0, inventory.getAvailableCount());
+        assertThrows(IllegalArgumentException.class, () -> event.sellTicket(1));
+    }
+
+    @Test
+    void testTotalTicketCountFollowsAttachedSeatMap() {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("A", 2, 10);
+        Event event = new Event("Hamlet", EventType.THEATER,
+                LocalDate.of(2025, 9, 10), "Globe Theatre", 10, 50.00);
+        event.setTotalTicketCount(30);
+        event.attachSeatInventory(inventory);
+
+        assertThrows(IllegalArgumentException.class, () -> event.setTotalTicketCount(25));
+        assertThrows(IllegalStateException.class, () -> inventory.addSection("B", 1, 10));
+        assertEquals(20, event.getTotalTicketCount());
+        assertEquals(20, inventory.getCapacity());
+    }
+
+    @Test
+    void testDirectSaleExplainsMissingAdjacentSeats() {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("A", 2, 4);
+        Event event = new Event("Hamlet", EventType.THEATER,
+                LocalDate.of(2025, 9, 10), "Globe Theatre", 8, 50.00);
+        event.attachSeatInventory(inventory);
+        assertTrue(inventory.hold("A", 1, 2, 2, HOLD).isPresent());
+        assertTrue(inventory.hold("A", 2, 2, 2, HOLD).isPresent());
+
+        IllegalArgumentException scattered = assertThrows(IllegalArgumentException.class, () -> event.sellTicket(3));
+        assertTrue(scattered.getMessage().startsWith("No block of 3 adjacent seats is free"));
+        IllegalArgumentException soldOut = assertThrows(IllegalArgumentException.class, () -> event.sellTicket(5));
+        assertTrue(soldOut.getMessage().startsWith("Not enough tickets"));
+        event.sellTicket(1);
+        assertEquals(1, event.getSoldTicketCount());
+    }
+
+    @Test
+    void testAttachSeatInventoryAfterSalesFails() {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("A", 1, 10);
+        Event event = new Event("Hamlet", EventType.THEATER,
+                LocalDate.of(2025, 9, 10), "Globe Theatre", 10, 3, 50.00);
+
+        assertThrows(IllegalArgumentException.class, () -> event.attachSeatInventory(inventory));
+        assertThrows(IllegalStateException.class, () -> event.holdSeats(1, HOLD));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
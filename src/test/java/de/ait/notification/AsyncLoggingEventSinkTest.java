@@ -0,0 +1,33 @@
+package de.ait.notification;
+
+import de.ait.utilities.DomainEventType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncLoggingEventSinkTest {
+
+    @Test
+    void testPublishAfterCloseIsDropped() {
+        AsyncLoggingEventSink sink = new AsyncLoggingEventSink(4);
+        sink.publish(new DomainEvent(DomainEventType.CASTING_REGISTERED, "1", "Voice", null));
+        sink.close();
+
+        sink.publish(new DomainEvent(DomainEventType.CASTING_REGISTERED, "2", "Voice", null));
+
+        assertEquals(1, sink.getDroppedCount());
+    }
+
+    @Test
+    void testFullQueueDropsInsteadOfBlocking() {
+        AsyncLoggingEventSink sink = new AsyncLoggingEventSink(1);
+        for (int i = 0; i < 100_000; i++) {
+            sink.publish(new DomainEvent(DomainEventType.TICKETS_SOLD, "1", "Hot event", null, 1, i));
+        }
+        sink.close();
+
+        // the background thread keeps up with part of the events; the rest must be counted, not block
+        assertTrue(sink.getDroppedCount() > 0);
+    }
+}
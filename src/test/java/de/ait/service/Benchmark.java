@@ -0,0 +1,20 @@
+package de.ait.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a timing run at production-like volume. Benchmarks are excluded from {@code mvn test};
+ * run them with {@code mvn test -Dgroups=benchmark -DexcludedGroups=}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("benchmark")
+@Test
+@interface Benchmark {
+}
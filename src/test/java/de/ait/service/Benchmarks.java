@@ -0,0 +1,37 @@
+package de.ait.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helpers shared by the {@link Benchmark} runs.
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    interface Run {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs with the application's logging limited to errors, so that per-operation log lines
+     * do not end up in the measured time.
+     */
+    static void quietly(Run run) throws Exception {
+        Logger logger = (Logger) LoggerFactory.getLogger("de.ait");
+        Level level = logger.getLevel();
+        logger.setLevel(Level.ERROR);
+        try {
+            run.run();
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    static void report(String result) {
+        System.out.println("[benchmark] " + result);
+    }
+}
@@ -0,0 +1,120 @@
+package de.ait.service;
+
+import de.ait.model.Participant;
+import de.ait.utilities.ParticipantStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CastingManagerBenchmark {
+
+    @Benchmark
+    void statusUpdatesUnderContention() throws Exception {
+        CastingManager manager = new CastingManager();
+        Benchmarks.quietly(() -> {
+            int participantCount = 20_000;
+            List<String> ids = new ArrayList<>(participantCount);
+            for (int i = 0; i < participantCount; i++) {
+                Participant participant = new Participant("Applicant " + i, ParticipantStatus.NEW);
+                manager.registerParticipant(participant);
+                ids.add(participant.getId());
+            }
+
+            int threads = 16;
+            int updatesPerThread = 100_000;
+            ParticipantStatus[] targets = {ParticipantStatus.IN_PROGRESS, ParticipantStatus.APPROVED_CANDIDATE,
+                    ParticipantStatus.REJECTED_CANDIDATE};
+            AtomicLong moves = new AtomicLong();
+            CountDownLatch startSignal = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> assistants = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                assistants.add(executor.submit(() -> {
+                    startSignal.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        String id = ids.get(random.nextInt(participantCount));
+                        if (manager.updateParticipantStatus(id, targets[random.nextInt(targets.length)])) {
+                            moves.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            startSignal.countDown();
+            for (Future<?> assistant : assistants) {
+                assistant.get();
+            }
+            long millis = Math.max(1, (System.nanoTime() - begin) / 1_000_000);
+            executor.shutdown();
+            Benchmarks.report("Participant status updates: " + threads + " threads, " + threads * updatesPerThread
+                    + " updates on " + participantCount + " participants in " + millis + " ms ("
+                    + threads * (long) updatesPerThread * 1000 / millis + " updates/s, " + moves + " moves)");
+
+            assertEquals(participantCount, manager.getParticipantCounts().values().stream()
+                    .mapToInt(Integer::intValue).sum());
+        });
+    }
+
+    @Benchmark
+    void countAndFirstPageAtThreeHundredThousandApplicants() throws Exception {
+        CastingManager manager = new CastingManager();
+        Benchmarks.quietly(() -> {
+            int applicants = 300_000;
+            for (int i = 0; i < applicants; i++) {
+                Participant participant = new Participant("Applicant " + i, ParticipantStatus.NEW);
+                manager.registerParticipant(participant);
+                if (i % 10 < 3) {
+                    manager.updateParticipantStatus(participant.getId(), ParticipantStatus.IN_PROGRESS);
+                }
+                if (i % 10 == 0) {
+                    manager.updateParticipantStatus(participant.getId(), ParticipantStatus.APPROVED_CANDIDATE);
+                }
+            }
+
+            int rounds = 20;
+            long begin = System.nanoTime();
+            int shortlist = 0;
+            for (int round = 0; round < rounds; round++) {
+                shortlist = manager.countParticipants(ParticipantStatus.APPROVED_CANDIDATE)
+                        + manager.getParticipantsByStatus(ParticipantStatus.IN_PROGRESS, null, 50).size();
+            }
+            long indexedNanos = (System.nanoTime() - begin) / rounds;
+
+            begin = System.nanoTime();
+            long scanned = 0;
+            for (int round = 0; round < rounds; round++) { // the previous path: iterate every participant
+                scanned = manager.getParticipants().values().stream()
+                        .filter(p -> p.getStatus() == ParticipantStatus.APPROVED_CANDIDATE).count()
+                        + manager.getParticipants().values().stream()
+                        .filter(p -> p.getStatus() == ParticipantStatus.IN_PROGRESS).limit(50).count();
+            }
+            long scanNanos = (System.nanoTime() - begin) / rounds;
+
+            begin = System.nanoTime();
+            int approved = 0;
+            List<Participant> page = manager.getParticipantsByStatus(ParticipantStatus.APPROVED_CANDIDATE, null, 1_000);
+            while (!page.isEmpty()) {
+                approved += page.size();
+                page = manager.getParticipantsByStatus(ParticipantStatus.APPROVED_CANDIDATE,
+                        page.get(page.size() - 1).getId(), 1_000);
+            }
+            long pageMillis = (System.nanoTime() - begin) / 1_000_000;
+            Benchmarks.report("Funnel at " + applicants + " applicants: count + first page " + indexedNanos
+                    + " ns, full scan " + scanNanos + " ns, all " + approved + " approved paged in " + pageMillis + " ms");
+
+            assertEquals(30_000 + 50, shortlist);
+            assertEquals(scanned, shortlist);
+            assertEquals(30_000, approved);
+        });
+    }
+}
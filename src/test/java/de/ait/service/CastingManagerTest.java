@@ -1,14 +1,31 @@
 package de.ait.service;
 
+import de.ait.exceptions.NoRegisteredException;
 import de.ait.model.Casting;
+import de.ait.model.Participant;
 import de.ait.repository.CastingManagerRepository;
+import de.ait.utilities.ParticipantStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CastingManagerTest {
 
@@ -30,4 +47,121 @@ public class CastingManagerTest {
 
         assertEquals(1, size);
     }
+
+    @Test
+    void updateParticipantStatusTestShouldFollowAllowedTransitions() throws NoRegisteredException {
+        Participant participant = new Participant("Neo", ParticipantStatus.NEW);
+        manager.registerParticipant(participant);
+
+        assertFalse(manager.updateParticipantStatus(participant.getId(), ParticipantStatus.APPROVED_CANDIDATE));
+        assertTrue(manager.updateParticipantStatus(participant.getId(), ParticipantStatus.IN_PROGRESS));
+        assertFalse(manager.updateParticipantStatus(participant.getId(), ParticipantStatus.NEW));
+        assertTrue(manager.updateParticipantStatus(participant.getId(), ParticipantStatus.APPROVED_CANDIDATE));
+        assertFalse(manager.updateParticipantStatus(participant.getId(), ParticipantStatus.REJECTED_CANDIDATE));
+        assertEquals(ParticipantStatus.APPROVED_CANDIDATE, participant.getStatus());
+        assertFalse(manager.updateParticipantStatus("0000000000000000", ParticipantStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void updateParticipantStatusTestUnderContention() throws Exception {
+        int participantCount = 50;
+        List<String> ids = new ArrayList<>(participantCount);
+        for (int i = 0; i < participantCount; i++) {
+            Participant participant = new Participant("Applicant " + i, ParticipantStatus.NEW);
+            manager.registerParticipant(participant);
+            ids.add(participant.getId());
+        }
+
+        int threads = 8;
+        int updatesPerThread = 100;
+        ParticipantStatus[] targets = {ParticipantStatus.IN_PROGRESS, ParticipantStatus.APPROVED_CANDIDATE,
+                ParticipantStatus.REJECTED_CANDIDATE};
+        // successful transitions per participant and target status
+        AtomicIntegerArray moves = new AtomicIntegerArray(participantCount * ParticipantStatus.values().length);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> assistants = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            assistants.add(executor.submit(() -> {
+                startSignal.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < updatesPerThread; i++) {
+                    int participant = random.nextInt(participantCount); // every thread works on every participant
+                    ParticipantStatus target = targets[random.nextInt(targets.length)];
+                    if (manager.updateParticipantStatus(ids.get(participant), target)) {
+                        moves.incrementAndGet(participant * ParticipantStatus.values().length + target.ordinal());
+                    }
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> assistant : assistants) {
+            assistant.get();
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < participantCount; i++) {
+            ParticipantStatus status = manager.getParticipants().get(ids.get(i)).getStatus();
+            int base = i * ParticipantStatus.values().length;
+            int started = moves.get(base + ParticipantStatus.IN_PROGRESS.ordinal());
+            int approved = moves.get(base + ParticipantStatus.APPROVED_CANDIDATE.ordinal());
+            int rejected = moves.get(base + ParticipantStatus.REJECTED_CANDIDATE.ordinal());
+            // every participant took one legal path, and each step was made by exactly one thread
+            assertEquals(status == ParticipantStatus.APPROVED_CANDIDATE ? 1 : 0, approved);
+            assertEquals(status == ParticipantStatus.REJECTED_CANDIDATE ? 1 : 0, rejected);
+            if (status == ParticipantStatus.REJECTED_CANDIDATE) {
+                assertTrue(started <= 1);
+            } else {
+                assertEquals(status == ParticipantStatus.NEW ? 0 : 1, started);
+            }
+        }
+        for (ParticipantStatus status : ParticipantStatus.values()) { // the index followed every move
+            long expected = manager.getParticipants().values().stream().filter(p -> p.getStatus() == status).count();
+            assertEquals(expected, manager.countParticipants(status));
+            assertEquals(expected, pageThrough(status, 7).size());
+        }
+    }
+
+    @Test
+    void participantsByStatusTestShouldCountAndPage() throws NoRegisteredException {
+        List<Participant> applicants = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Participant participant = new Participant("Applicant " + i, ParticipantStatus.NEW);
+            manager.registerParticipant(participant);
+            applicants.add(participant);
+        }
+        for (int i = 0; i < 10; i++) {
+            manager.updateParticipantStatus(applicants.get(i).getId(), ParticipantStatus.IN_PROGRESS);
+        }
+        for (int i = 0; i < 4; i++) {
+            manager.updateParticipantStatus(applicants.get(i).getId(), ParticipantStatus.APPROVED_CANDIDATE);
+        }
+        manager.updateParticipantStatus(applicants.get(24).getId(), ParticipantStatus.REJECTED_CANDIDATE);
+
+        assertEquals(Map.of(ParticipantStatus.NEW, 14, ParticipantStatus.IN_PROGRESS, 6,
+                ParticipantStatus.APPROVED_CANDIDATE, 4, ParticipantStatus.REJECTED_CANDIDATE, 1),
+                manager.getParticipantCounts());
+
+        List<Participant> firstPage = manager.getParticipantsByStatus(ParticipantStatus.IN_PROGRESS, null, 4);
+        List<Participant> secondPage = manager.getParticipantsByStatus(ParticipantStatus.IN_PROGRESS,
+                firstPage.get(3).getId(), 4);
+        assertEquals(4, firstPage.size());
+        assertEquals(2, secondPage.size());
+        Set<Participant> inProgress = new HashSet<>(firstPage);
+        inProgress.addAll(secondPage);
+        assertEquals(new HashSet<>(applicants.subList(4, 10)), inProgress);
+        assertTrue(firstPage.get(3).getId().compareTo(secondPage.get(0).getId()) < 0);
+        assertThrows(IllegalArgumentException.class, () -> manager.getParticipantsByStatus(null, null, 4));
+    }
+
+    private List<Participant> pageThrough(ParticipantStatus status, int pageSize) {
+        List<Participant> all = new ArrayList<>();
+        List<Participant> page = manager.getParticipantsByStatus(status, null, pageSize);
+        while (!page.isEmpty()) {
+            all.addAll(page);
+            page = manager.getParticipantsByStatus(status, page.get(page.size() - 1).getId(), pageSize);
+        }
+        return all;
+    }
 }
@@ -0,0 +1,100 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarFinanceManagerImplTest {
+
+    private static final String COLUMNS_FILE = "src/main/java/de/ait/files/FinanceRecordColumns.bin";
+
+    @TempDir
+    Path tempDir;
+
+    private ColumnarFinanceManagerImpl financeManager;
+
+    @BeforeEach
+    void setUp() {
+        new File(COLUMNS_FILE).delete();
+        financeManager = new ColumnarFinanceManagerImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(COLUMNS_FILE).delete();
+    }
+
+    @Test
+    void testAddRecord_MaterializesEqualRecord() {
+        financeManager.addRecord(RecordType.INCOME, 1000, "Salary", LocalDate.of(2024, 5, 1), CategoryType.INCOME_SALARY);
+        List<FinanceRecord> records = financeManager.getFinanceRecords();
+
+        assertEquals(1, records.size());
+        assertEquals(16, records.get(0).getId().length());
+        assertEquals(RecordType.INCOME, records.get(0).getType());
+        assertEquals(1000, records.get(0).getAmount());
+        assertEquals("Salary", records.get(0).getDescription());
+        assertEquals(LocalDate.of(2024, 5, 1), records.get(0).getDate());
+        assertEquals(CategoryType.INCOME_SALARY, records.get(0).getCategory());
+        assertEquals(records.get(0).getId(), financeManager.getFinanceRecordsView().get(0).getId());
+    }
+
+    @Test
+    void testAddRecord_InvalidAmount() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                financeManager.addRecord(RecordType.EXPENSE, -50, "Food", LocalDate.now(), CategoryType.EXPENSE_FOOD));
+        assertEquals("Amount must be greater than 0", exception.getMessage());
+        assertEquals(0, financeManager.size());
+    }
+
+    @Test
+    void testCalculateBalance() {
+        financeManager.addRecord(RecordType.INCOME, 2000, "Freelance", LocalDate.now(), CategoryType.INCOME_BUSINESS);
+        financeManager.addRecord(RecordType.EXPENSE, 500, "Rent", LocalDate.now(), CategoryType.EXPENSE_RENT);
+        financeManager.addRecord(RecordType.EXPENSE, 300, "Rent", LocalDate.now().minusDays(5), CategoryType.EXPENSE_RENT);
+
+        assertEquals(1500, financeManager.calculateBalance(LocalDate.now().minusDays(1), LocalDate.now()));
+        assertEquals(1200, financeManager.calculateBalance(LocalDate.now().minusDays(5), LocalDate.now()));
+    }
+
+    @Test
+    void testSaveAndLoadRecords_CSV() throws IOException {
+        String csvFile = tempDir.resolve("records.csv").toString();
+        financeManager.addRecord(RecordType.INCOME, 1500, "Consulting", LocalDate.now(), CategoryType.INCOME_BUSINESS);
+        financeManager.saveRecordsToFile(csvFile);
+
+        ColumnarFinanceManagerImpl newManager = new ColumnarFinanceManagerImpl();
+        newManager.loadRecordsFromFile(csvFile);
+
+        assertEquals(1, newManager.size());
+        assertEquals(1500, newManager.getFinanceRecords().get(0).getAmount());
+        assertEquals(CategoryType.INCOME_BUSINESS, newManager.getFinanceRecords().get(0).getCategory());
+    }
+
+    @Test
+    void testSaveAndLoadRecords_Columns() {
+        financeManager.addRecord(RecordType.EXPENSE, 200, "Gym", LocalDate.now(), CategoryType.EXPENSE_SPORT);
+        financeManager.addRecord(RecordType.EXPENSE, 250, "Gym", LocalDate.now(), CategoryType.EXPENSE_SPORT);
+        String firstId = financeManager.getFinanceRecords().get(0).getId();
+        financeManager.saveRecordsToFileSerialized();
+
+        ColumnarFinanceManagerImpl newManager = new ColumnarFinanceManagerImpl();
+        newManager.loadRecordsFromFileSerialized();
+        List<FinanceRecord> records = newManager.getFinanceRecords();
+
+        assertEquals(2, records.size());
+        assertEquals(firstId, records.get(0).getId());
+        assertEquals("Gym", records.get(1).getDescription());
+        assertEquals(250, records.get(1).getAmount());
+    }
+}
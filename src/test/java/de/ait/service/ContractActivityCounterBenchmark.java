@@ -0,0 +1,49 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContractActivityCounterBenchmark {
+
+    @Benchmark
+    void activeCountTodayAtFiveHundredThousandContracts() throws Exception {
+        ContractActivityCounter counter = new ContractActivityCounter();
+        Benchmarks.quietly(() -> {
+            LocalDate today = LocalDate.now();
+            List<Contract> contracts = new ArrayList<>();
+            for (int i = 0; i < 500_000; i++) {
+                LocalDate start = today.minusDays(i % 1_000);
+                Contract contract = new Contract("Artist " + i, start, start.plusDays(i % 700),
+                        ContractTerms.values()[i % ContractTerms.values().length]);
+                contracts.add(contract);
+                counter.add(contract);
+            }
+
+            int rounds = 5;
+            long begin = System.nanoTime();
+            long scanned = 0;
+            for (int round = 0; round < rounds; round++) { // the previous path: isActive() on every contract
+                scanned = contracts.stream().filter(c -> c.getTerms() == ContractTerms.EXCLUSIVE && c.isActive()).count();
+            }
+            long scanNanos = (System.nanoTime() - begin) / rounds;
+
+            int queries = 100_000;
+            begin = System.nanoTime();
+            int counted = 0;
+            for (int i = 0; i < queries; i++) {
+                counted = counter.activeOn(ContractTerms.EXCLUSIVE, today);
+            }
+            long counterNanos = (System.nanoTime() - begin) / queries;
+            Benchmarks.report("Active EXCLUSIVE contracts today at 500k contracts: counter " + counterNanos
+                    + " ns, isActive() scan " + scanNanos + " ns");
+
+            assertEquals(scanned, counted);
+        });
+    }
+}
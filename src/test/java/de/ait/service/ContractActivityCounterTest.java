@@ -0,0 +1,119 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractActivityCounterTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private ContractActivityCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new ContractActivityCounter();
+    }
+
+    @Test
+    void testEmptyCounter() {
+        assertEquals(0, counter.activeOn(ContractTerms.EXCLUSIVE, START));
+        assertEquals(0, counter.activeBetween(ContractTerms.PAID, START, START.plusYears(10)));
+    }
+
+    @Test
+    void testStartAndEndDatesAreInclusive() {
+        counter.add(new Contract("Artist A", START, START.plusDays(9), ContractTerms.EXCLUSIVE));
+        counter.add(new Contract("Artist B", START.plusDays(5), START.plusDays(5), ContractTerms.EXCLUSIVE));
+        counter.add(new Contract("Artist C", START, START.plusDays(30), ContractTerms.PAID));
+
+        assertEquals(0, counter.activeOn(ContractTerms.EXCLUSIVE, START.minusDays(1)));
+        assertEquals(1, counter.activeOn(ContractTerms.EXCLUSIVE, START));
+        assertEquals(2, counter.activeOn(ContractTerms.EXCLUSIVE, START.plusDays(5)));
+        assertEquals(1, counter.activeOn(ContractTerms.EXCLUSIVE, START.plusDays(9)));
+        assertEquals(0, counter.activeOn(ContractTerms.EXCLUSIVE, START.plusDays(10)));
+        assertEquals(2, counter.activeBetween(ContractTerms.EXCLUSIVE, START.minusDays(3), START.plusDays(20)));
+        assertEquals(0, counter.activeBetween(ContractTerms.EXCLUSIVE, START.plusDays(20), START));
+        assertEquals(1, counter.activeOn(START.plusDays(20)).get(ContractTerms.PAID));
+        assertEquals(0, counter.activeOn(START.plusDays(20)).get(ContractTerms.CHARITY));
+    }
+
+    @Test
+    void testMovedAndRemovedContracts() {
+        Contract contract = new Contract("Artist D", START, START.plusDays(10), ContractTerms.TEMPORARY);
+        counter.add(contract);
+
+        contract.setEndDate(LocalDate.of(2090, 1, 1)); // grows the covered range forwards
+        contract.setStartDate(LocalDate.of(1960, 1, 1)); // and backwards
+        counter.update(contract);
+        assertEquals(1, counter.activeOn(ContractTerms.TEMPORARY, LocalDate.of(1970, 6, 1)));
+        assertEquals(1, counter.activeOn(ContractTerms.TEMPORARY, LocalDate.of(2089, 12, 31)));
+
+        contract.setTerms(ContractTerms.CHARITY);
+        counter.update(contract);
+        assertEquals(0, counter.activeOn(ContractTerms.TEMPORARY, START));
+        assertEquals(1, counter.activeOn(ContractTerms.CHARITY, START));
+
+        counter.remove(contract.getId());
+        assertEquals(0, counter.activeOn(ContractTerms.CHARITY, START));
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    void testDatesFarOutsideTheWindow() {
+        Contract openEnded = new Contract("Artist E", START, LocalDate.of(9999, 12, 31), ContractTerms.PAID);
+        Contract endless = new Contract("Artist F", LocalDate.of(1, 1, 1), LocalDate.MAX, ContractTerms.PAID);
+        counter.add(openEnded);
+        counter.add(endless);
+
+        assertEquals(1, counter.activeOn(ContractTerms.PAID, START.minusDays(1)));
+        assertEquals(2, counter.activeOn(ContractTerms.PAID, START));
+        assertEquals(2, counter.activeOn(ContractTerms.PAID, LocalDate.of(9999, 12, 31)));
+        assertEquals(1, counter.activeOn(ContractTerms.PAID, LocalDate.of(5_000_000, 1, 1)));
+        assertEquals(2, counter.activeBetween(ContractTerms.PAID, LocalDate.of(3000, 1, 1), LocalDate.of(3000, 1, 2)));
+
+        openEnded.setEndDate(START.plusDays(30)); // moves the end date from outside into the window
+        counter.update(openEnded);
+        assertEquals(1, counter.activeOn(ContractTerms.PAID, LocalDate.of(9999, 12, 31)));
+        assertEquals(2, counter.activeOn(ContractTerms.PAID, START.plusDays(30)));
+
+        counter.remove(endless.getId());
+        assertEquals(0, counter.activeOn(ContractTerms.PAID, LocalDate.of(1000, 1, 1)));
+        assertEquals(1, counter.activeOn(ContractTerms.PAID, START));
+    }
+
+    @Test
+    void testCountsMatchFullScan() {
+        Random random = new Random(23);
+        List<Contract> contracts = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            LocalDate start = START.plusDays(random.nextInt(2_000) - 1_000);
+            Contract contract = new Contract("Artist " + i, start, start.plusDays(random.nextInt(400)),
+                    ContractTerms.values()[random.nextInt(ContractTerms.values().length)]);
+            contracts.add(contract);
+            counter.add(contract);
+        }
+        for (int i = 0; i < 500; i++) {
+            Contract contract = contracts.get(random.nextInt(contracts.size()));
+            contract.setEndDate(contract.getEndDate().plusDays(random.nextInt(50)));
+            counter.update(contract);
+        }
+        for (int i = 0; i < 300; i++) {
+            ContractTerms terms = ContractTerms.values()[random.nextInt(ContractTerms.values().length)];
+            LocalDate from = START.plusDays(random.nextInt(3_000) - 1_500);
+            LocalDate to = from.plusDays(random.nextInt(60));
+            assertEquals(contracts.stream().filter(c -> c.getTerms() == terms && c.isActive(from)).count(),
+                    counter.activeOn(terms, from));
+            assertEquals(contracts.stream().filter(c -> c.getTerms() == terms
+                            && !c.getStartDate().isAfter(to) && !c.getEndDate().isBefore(from)).count(),
+                    counter.activeBetween(terms, from, to));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.notification.DomainEvent;
+import de.ait.utilities.ContractTerms;
+import de.ait.utilities.DomainEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ContractExpiryNotifierTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    private static final Clock FIXED = Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private final ContractManagerImpl contractManager = new ContractManagerImpl();
+    private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testContractsInWindowAreAnnouncedOnStart() throws Exception {
+        Contract inWindow = contract("Artist A", TODAY.plusDays(6));
+        Contract lastDay = contract("Artist B", TODAY.plusDays(6));
+        contract("Artist C", TODAY.plusDays(7));
+        contract("Artist D", TODAY.minusDays(1));
+
+        try (ContractExpiryNotifier notifier = contractManager.startExpiryNotifier(7, received::add, FIXED)) {
+            awaitReceived(2);
+            Thread.sleep(100);
+
+            assertEquals(2, received.size());
+            assertEquals(List.of(inWindow.getId(), lastDay.getId()), received.stream().map(DomainEvent::getSubjectId).toList());
+            assertEquals(DomainEventType.CONTRACT_EXPIRING, received.get(0).getType());
+            assertEquals(6, received.get(0).getQuantity());
+            assertEquals("Artist A", received.get(0).getSubjectName());
+            assertThrows(IllegalStateException.class, () -> contractManager.startExpiryNotifier(7, received::add, FIXED));
+        }
+    }
+
+    @Test
+    void testContractIsAnnouncedWhenItCrossesTheThreshold() throws Exception {
+        Instant beforeMidnight = TODAY.atTime(23, 59, 59, 700_000_000).toInstant(ZoneOffset.UTC);
+        Clock clock = Clock.offset(Clock.systemUTC(), Duration.between(Instant.now(), beforeMidnight));
+        Contract crossing = contract("Artist E", TODAY.plusDays(7)); // enters a 7-day window tomorrow
+        contract("Artist F", TODAY.plusDays(30));
+
+        try (ContractExpiryNotifier ignored = contractManager.startExpiryNotifier(7, received::add, clock)) {
+            Thread.sleep(100);
+            assertTrue(received.isEmpty());
+
+            awaitReceived(1);
+            Thread.sleep(100);
+            assertEquals(1, received.size());
+            assertEquals(crossing.getId(), received.get(0).getSubjectId());
+            assertEquals(6, received.get(0).getQuantity());
+        }
+    }
+
+    @Test
+    void testAddedAndMovedContractsAreAnnounced() throws Exception {
+        Contract moved = contract("Artist G", TODAY.plusDays(100));
+        ContractExpiryNotifier notifier = contractManager.startExpiryNotifier(30, received::add, FIXED);
+        Thread.sleep(100);
+        assertTrue(received.isEmpty());
+
+        Contract added = contract("Artist H", TODAY.plusDays(2));
+        awaitReceived(1);
+        moved.setEndDate(TODAY.plusDays(20));
+        awaitReceived(2);
+        assertEquals(List.of(added.getId(), moved.getId()), received.stream().map(DomainEvent::getSubjectId).toList());
+
+        notifier.close();
+        contract("Artist I", TODAY.plusDays(1));
+        Thread.sleep(100);
+        assertEquals(2, received.size());
+    }
+
+    private Contract contract(String artistName, LocalDate endDate) {
+        Contract contract = new Contract(artistName, TODAY.minusDays(200), endDate, ContractTerms.STANDARD);
+        contractManager.addContract(contract);
+        return contract;
+    }
+
+    private void awaitReceived(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(received.size() >= count, "expected " + count + " notifications, got " + received.size());
+    }
+}
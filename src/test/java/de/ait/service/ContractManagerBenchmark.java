@@ -0,0 +1,101 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractManagerBenchmark {
+
+    @Benchmark
+    void lookupByIdAtOneMillionContracts() throws Exception {
+        ContractManagerImpl contractManager = new ContractManagerImpl();
+        Benchmarks.quietly(() -> {
+            int count = 1_000_000;
+            LocalDate start = LocalDate.of(2025, 1, 1);
+            List<String> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Contract contract = new Contract("Artist " + (i % 10_000), start, start.plusDays(30 + i % 700),
+                        i % 2 == 0 ? ContractTerms.STANDARD : ContractTerms.PAID); // overlapping, so not exclusive
+                contractManager.addContract(contract);
+                ids.add(contract.getId());
+            }
+
+            int lookups = 100_000;
+            long begin = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                String id = ids.get((int) ((i * 7_919L) % count));
+                assertEquals(id, contractManager.findById(id).orElseThrow().getId());
+            }
+            long indexedNanos = (System.nanoTime() - begin) / lookups;
+
+            int scans = 20; // the previous path: copy the list and scan it
+            begin = System.nanoTime();
+            for (int i = 0; i < scans; i++) {
+                String id = ids.get((int) ((i * 7_919L) % count));
+                assertEquals(id, contractManager.getContracts().stream()
+                        .filter(contract -> contract.getId().equals(id)).findFirst().orElseThrow().getId());
+            }
+            long scanNanos = (System.nanoTime() - begin) / scans;
+            Benchmarks.report("Lookup by id at 1M contracts: indexed " + indexedNanos + " ns, copy and scan "
+                    + scanNanos + " ns");
+        });
+    }
+
+    @Benchmark
+    void activeContractsForArtistAtFiveHundredThousandContracts() throws Exception {
+        ContractManagerImpl contractManager = new ContractManagerImpl();
+        Benchmarks.quietly(() -> {
+            // Per artist, blocks of 100 days: an exclusive contract on days 0-9, then nine overlapping
+            // non-exclusive contracts that stay inside the block.
+            int artists = 1_000;
+            int count = 500_000;
+            LocalDate base = LocalDate.of(2020, 1, 1);
+            long begin = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                int slot = i / artists;
+                LocalDate block = base.plusDays(slot / 10 * 100L);
+                int inBlock = slot % 10;
+                Contract contract = inBlock == 0
+                        ? new Contract("Artist " + i % artists, block, block.plusDays(9), ContractTerms.EXCLUSIVE)
+                        : new Contract("Artist " + i % artists, block.plusDays(10 + (inBlock - 1) * 9L),
+                        block.plusDays(Math.min(10 + (inBlock - 1) * 9L + 19, 99)), ContractTerms.STANDARD);
+                contractManager.addContract(contract);
+            }
+            long addMillis = (System.nanoTime() - begin) / 1_000_000;
+
+            Random random = new Random(500);
+            int queries = 100_000;
+            begin = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < queries; i++) {
+                found += contractManager.getActiveContracts("Artist " + random.nextInt(artists),
+                        base.plusDays(random.nextInt(5_000))).size();
+            }
+            long indexedNanos = (System.nanoTime() - begin) / queries;
+
+            int scans = 20; // the previous path: scan all contracts
+            begin = System.nanoTime();
+            for (int i = 0; i < scans; i++) {
+                String artistName = "Artist " + random.nextInt(artists);
+                LocalDate date = base.plusDays(random.nextInt(5_000));
+                contractManager.getContracts().stream()
+                        .filter(contract -> contract.getArtistName().equals(artistName)
+                                && !date.isBefore(contract.getStartDate()) && !date.isAfter(contract.getEndDate()))
+                        .count();
+            }
+            long scanNanos = (System.nanoTime() - begin) / scans;
+            Benchmarks.report("Active contracts for artist at 500k contracts: " + count + " adds with conflict checks in "
+                    + addMillis + " ms, indexed query " + indexedNanos + " ns, full scan " + scanNanos + " ns");
+
+            assertTrue(found > 0);
+            assertEquals(count, contractManager.getContracts().size());
+        });
+    }
+}
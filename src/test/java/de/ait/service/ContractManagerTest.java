@@ -6,7 +6,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,4 +85,183 @@ public class ContractManagerTest {
 
         assertDoesNotThrow(() -> contractManager.notifyExpiringContracts());
     }
+
+    @Test
+    void testGetExpiringContractsUsesWindow() {
+        LocalDate today = LocalDate.now();
+        Contract endsToday = new Contract("Artist E", today.minusDays(100), today, ContractTerms.PAID);
+        Contract endsIn29Days = new Contract("Artist F", today.minusDays(100), today.plusDays(29), ContractTerms.PAID);
+        Contract endsIn30Days = new Contract("Artist G", today.minusDays(100), today.plusDays(30), ContractTerms.PAID);
+        Contract endsIn9Days = new Contract("Artist H", today.minusDays(100), today.plusDays(9), ContractTerms.PAID);
+        Contract ended = new Contract("Artist I", today.minusDays(100), today.minusDays(1), ContractTerms.PAID);
+        List.of(endsIn30Days, endsIn29Days, ended, endsToday, endsIn9Days).forEach(contractManager::addContract);
+
+        assertEquals(List.of(endsToday, endsIn9Days, endsIn29Days), contractManager.getExpiringContracts(30));
+        assertEquals(List.of(endsToday, endsIn9Days), contractManager.getExpiringContracts(10));
+        assertEquals(List.of(endsToday), contractManager.getExpiringContracts(1));
+        assertThrows(IllegalArgumentException.class, () -> contractManager.getExpiringContracts(0));
+    }
+
+    @Test
+    void testExpiryIndexFollowsEndDateChanges() {
+        LocalDate today = LocalDate.now();
+        Contract contract = new Contract("Artist J", today.minusDays(10), today.plusDays(90), ContractTerms.EXCLUSIVE);
+        contractManager.addContract(contract);
+        assertTrue(contractManager.getExpiringContracts(30).isEmpty());
+
+        contract.setEndDate(today.plusDays(3));
+        assertEquals(List.of(contract), contractManager.getExpiringContracts(30));
+
+        contract.setEndDate(today.plusDays(60));
+        assertTrue(contractManager.getExpiringContracts(30).isEmpty());
+        assertEquals(List.of(contract), contractManager.getExpiringContracts(61));
+    }
+
+    @Test
+    void testFindAndRemoveById() {
+        LocalDate today = LocalDate.now();
+        Contract contract = new Contract("Artist K", today, today.plusDays(5), ContractTerms.PAID);
+        contractManager.addContract(contract);
+
+        assertSame(contract, contractManager.findById(contract.getId()).orElseThrow());
+        assertTrue(contractManager.findById("0000000000000000").isEmpty());
+        assertTrue(contractManager.findById(null).isEmpty());
+
+        assertTrue(contractManager.removeById(contract.getId()));
+        assertFalse(contractManager.removeById(contract.getId()));
+        assertTrue(contractManager.findById(contract.getId()).isEmpty());
+        assertTrue(contractManager.getContracts().isEmpty());
+        assertTrue(contractManager.getExpiringContracts(30).isEmpty());
+
+        contract.setEndDate(today.plusDays(1)); // no longer tracked
+        assertTrue(contractManager.getExpiringContracts(30).isEmpty());
+    }
+
+    @Test
+    void testAddDuplicateContractThrowsException() {
+        Contract contract = new Contract("Artist L", LocalDate.now(), LocalDate.now().plusDays(5), ContractTerms.PAID);
+        contractManager.addContract(contract);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> contractManager.addContract(contract));
+        assertEquals("Error: A contract with this ID already exists.", exception.getMessage());
+        assertEquals(1, contractManager.getContracts().size());
+    }
+
+    @Test
+    void testAddRejectsOverlapWithExclusiveContract() {
+        LocalDate today = LocalDate.now();
+        Contract exclusive = new Contract("Artist M", today, today.plusDays(30), ContractTerms.EXCLUSIVE);
+        contractManager.addContract(exclusive);
+
+        Contract overlapping = new Contract("Artist M", today.plusDays(30), today.plusDays(60), ContractTerms.PAID);
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> contractManager.addContract(overlapping));
+        assertEquals("Error: The contract overlaps with another contract of the same artist, and one of them is exclusive.",
+                exception.getMessage());
+        assertEquals(List.of(exclusive), contractManager.getContracts());
+
+        Contract after = new Contract("Artist M", today.plusDays(31), today.plusDays(60), ContractTerms.EXCLUSIVE);
+        Contract otherArtist = new Contract("Artist N", today, today.plusDays(30), ContractTerms.EXCLUSIVE);
+        Contract first = new Contract("Artist O", today, today.plusDays(30), ContractTerms.PAID);
+        Contract second = new Contract("Artist O", today.plusDays(10), today.plusDays(20), ContractTerms.STANDARD);
+        List.of(after, otherArtist, first, second).forEach(contractManager::addContract);
+        assertEquals(List.of(exclusive, after), contractManager.getContractsByArtist("Artist M"));
+        assertEquals(List.of(first, second), contractManager.getContractsByArtist("Artist O"));
+
+        Contract exclusiveOverNonExclusive = new Contract("Artist O", today.plusDays(20), today.plusDays(40),
+                ContractTerms.EXCLUSIVE);
+        assertThrows(IllegalArgumentException.class, () -> contractManager.addContract(exclusiveOverNonExclusive));
+        assertEquals(5, contractManager.getContracts().size());
+    }
+
+    @Test
+    void testChangesThatCreateAnOverlapAreRejected() {
+        LocalDate today = LocalDate.now();
+        Contract exclusive = new Contract("Artist P", today, today.plusDays(30), ContractTerms.EXCLUSIVE);
+        Contract later = new Contract("Artist P", today.plusDays(40), today.plusDays(60), ContractTerms.PAID);
+        Contract other = new Contract("Artist Q", today, today.plusDays(60), ContractTerms.PAID);
+        List.of(exclusive, later, other).forEach(contractManager::addContract);
+
+        assertThrows(IllegalArgumentException.class, () -> later.setStartDate(today.plusDays(30)));
+        assertThrows(IllegalArgumentException.class, () -> exclusive.setEndDate(today.plusDays(45)));
+        assertThrows(IllegalArgumentException.class, () -> other.setArtistName("Artist P"));
+        assertEquals(today.plusDays(40), later.getStartDate());
+        assertEquals(today.plusDays(30), exclusive.getEndDate());
+        assertEquals("Artist Q", other.getArtistName());
+
+        exclusive.setEndDate(today.plusDays(35)); // still no overlap
+        later.setStartDate(today.plusDays(36));
+        assertEquals(List.of(later), contractManager.getActiveContracts("Artist P", today.plusDays(36)));
+        assertEquals(List.of(exclusive), contractManager.getActiveContracts("Artist P", today.plusDays(35)));
+
+        other.setArtistName("Artist R");
+        assertEquals(List.of(other), contractManager.getActiveContracts("Artist R", today));
+        assertTrue(contractManager.getContractsByArtist("Artist Q").isEmpty());
+
+        assertTrue(contractManager.removeById(exclusive.getId()));
+        later.setStartDate(today); // the exclusive contract is gone
+        assertEquals(List.of(later), contractManager.getActiveContracts("Artist P", today));
+        assertThrows(IllegalArgumentException.class, () -> contractManager.getActiveContracts(null, today));
+    }
+
+    @Test
+    void testActiveContractsMatchFullScan() {
+        Random random = new Random(21);
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate start = base.plusDays(random.nextInt(365));
+            contractManager.addContract(new Contract("Artist " + random.nextInt(20), start,
+                    start.plusDays(random.nextInt(60)), ContractTerms.PAID));
+        }
+        for (int i = 0; i < 500; i++) {
+            String artistName = "Artist " + random.nextInt(20);
+            LocalDate date = base.plusDays(random.nextInt(430));
+            assertEquals(activeByScan(artistName, date),
+                    new HashSet<>(contractManager.getActiveContracts(artistName, date)));
+        }
+    }
+
+    @Test
+    void testActiveContractCountsFollowChanges() {
+        LocalDate today = LocalDate.now();
+        Contract exclusive = new Contract("Artist S", today.minusDays(10), today.plusDays(10), ContractTerms.EXCLUSIVE);
+        Contract paid = new Contract("Artist T", today.plusDays(1), today.plusDays(10), ContractTerms.PAID);
+        List.of(exclusive, paid).forEach(contractManager::addContract);
+
+        assertEquals(1, contractManager.countActiveContracts(ContractTerms.EXCLUSIVE));
+        assertEquals(0, contractManager.countActiveContracts(ContractTerms.PAID));
+        assertEquals(1, contractManager.countActiveContracts(ContractTerms.PAID, today.plusDays(1)));
+        assertEquals(1, contractManager.countActiveContracts(ContractTerms.PAID, today, today.plusDays(30)));
+
+        paid.setStartDate(today);
+        exclusive.setEndDate(today.minusDays(1));
+        assertEquals(1, contractManager.countActiveContracts(ContractTerms.PAID));
+        assertEquals(0, contractManager.countActiveContracts(ContractTerms.EXCLUSIVE));
+
+        contractManager.removeById(paid.getId());
+        assertEquals(0, contractManager.countActiveContracts(ContractTerms.PAID));
+        assertThrows(IllegalArgumentException.class, () -> contractManager.countActiveContracts(null, today));
+    }
+
+    @Test
+    void testFarFutureEndDate() {
+        LocalDate today = LocalDate.now();
+        Contract openEnded = new Contract("Artist U", today, LocalDate.of(9999, 12, 31), ContractTerms.STANDARD);
+        Contract endless = new Contract("Artist V", today, LocalDate.of(5_000_000, 1, 1), ContractTerms.STANDARD);
+        List.of(openEnded, endless).forEach(contractManager::addContract);
+
+        assertEquals(2, contractManager.countActiveContracts(ContractTerms.STANDARD));
+        assertEquals(1, contractManager.countActiveContracts(ContractTerms.STANDARD, LocalDate.of(100_000, 1, 1)));
+        assertEquals(List.of(endless), contractManager.getActiveContracts("Artist V", LocalDate.of(100_000, 1, 1)));
+    }
+
+    private Set<Contract> activeByScan(String artistName, LocalDate date) {
+        Set<Contract> active = new HashSet<>();
+        for (Contract contract : contractManager.getContracts()) {
+            if (contract.getArtistName().equals(artistName)
+                    && !date.isBefore(contract.getStartDate()) && !date.isAfter(contract.getEndDate())) {
+                active.add(contract);
+            }
+        }
+        return active;
+    }
 }
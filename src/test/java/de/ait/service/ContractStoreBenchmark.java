@@ -0,0 +1,48 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContractStoreBenchmark {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @TempDir
+    Path tempDir;
+
+    @Benchmark
+    void recoveryOfOneMillionContracts() throws Exception {
+        Benchmarks.quietly(() -> {
+            int count = 1_000_000;
+            try (ContractStore store = newStore()) {
+                ContractManagerImpl manager = new ContractManagerImpl(store);
+                for (int i = 0; i < count; i++) {
+                    manager.addContract(new Contract("Artist " + (i % 10_000), START, START.plusDays(30 + i % 700),
+                            i % 2 == 0 ? ContractTerms.STANDARD : ContractTerms.PAID));
+                }
+            }
+            long snapshotBytes = Files.size(tempDir.resolve("contracts.snapshot"));
+
+            long begin = System.nanoTime();
+            try (ContractStore store = newStore()) {
+                ContractManagerImpl recovered = new ContractManagerImpl(store);
+                long recoveryMillis = (System.nanoTime() - begin) / 1_000_000;
+                Benchmarks.report("Recovery of " + count + " contracts: " + recoveryMillis + " ms from a "
+                        + snapshotBytes / 1024 + " KiB snapshot and " + store.getEntryCount() + " log entries");
+
+                assertEquals(count, recovered.getContracts().size());
+            }
+        });
+    }
+
+    private ContractStore newStore() {
+        return new ContractStore(tempDir.resolve("contracts.journal").toString(),
+                tempDir.resolve("contracts.snapshot").toString(), 256, 200, 100_000);
+    }
+}
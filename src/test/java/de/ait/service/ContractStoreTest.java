@@ -0,0 +1,190 @@
+package de.ait.service;
+
+import de.ait.model.Contract;
+import de.ait.utilities.ContractTerms;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractStoreTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testChangesSurviveRestart() throws Exception {
+        String keptId;
+        String exclusiveId;
+        try (ContractStore store = newStore(1000)) {
+            ContractManagerImpl manager = new ContractManagerImpl(store);
+            Contract kept = new Contract("Artist A", START, START.plusDays(30), ContractTerms.STANDARD);
+            Contract exclusive = new Contract("Artist B", START, START.plusDays(90), ContractTerms.EXCLUSIVE);
+            Contract removed = new Contract("Artist C", START, START.plusDays(10), ContractTerms.PAID);
+            List.of(kept, exclusive, removed).forEach(manager::addContract);
+            keptId = kept.getId();
+            exclusiveId = exclusive.getId();
+
+            kept.setArtistName("Artist D");
+            kept.setTerms(ContractTerms.TEMPORARY);
+            kept.setEndDate(START.plusDays(200));
+            kept.setStartDate(START.plusDays(100));
+            manager.removeById(removed.getId());
+        }
+
+        try (ContractStore store = newStore(1000)) {
+            ContractManagerImpl recovered = new ContractManagerImpl(store);
+            assertEquals(2, recovered.getContracts().size());
+            Contract contract = recovered.findById(keptId).orElseThrow();
+            assertEquals("Artist D", contract.getArtistName());
+            assertEquals(ContractTerms.TEMPORARY, contract.getTerms());
+            assertEquals(START.plusDays(100), contract.getStartDate());
+            assertEquals(START.plusDays(200), contract.getEndDate());
+            assertEquals(List.of(contract), recovered.getActiveContracts("Artist D", START.plusDays(150)));
+
+            // recovered contracts are checked and logged again
+            Contract overlapping = new Contract("Artist B", START.plusDays(50), START.plusDays(60), ContractTerms.PAID);
+            assertThrows(IllegalArgumentException.class, () -> recovered.addContract(overlapping));
+            recovered.findById(exclusiveId).orElseThrow().setEndDate(START.plusDays(40));
+        }
+
+        try (ContractStore store = newStore(1000)) {
+            assertEquals(START.plusDays(40),
+                    new ContractManagerImpl(store).findById(exclusiveId).orElseThrow().getEndDate());
+        }
+    }
+
+    @Test
+    void testCorruptTailIsCutOff() throws Exception {
+        String contractId;
+        try (ContractStore store = newStore(1000)) {
+            ContractManagerImpl manager = new ContractManagerImpl(store);
+            Contract contract = new Contract("Artist E", START, START.plusDays(30), ContractTerms.PAID);
+            manager.addContract(contract);
+            contractId = contract.getId();
+            contract.setEndDate(START.plusDays(45));
+        }
+        Path journal = tempDir.resolve("contracts.journal");
+        long validLength = Files.size(journal);
+        Files.write(journal, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND); // torn entry
+
+        try (ContractStore store = newStore(1000)) {
+            ContractManagerImpl recovered = new ContractManagerImpl(store);
+            assertEquals(validLength, Files.size(journal));
+            Contract contract = recovered.findById(contractId).orElseThrow();
+            assertEquals(START.plusDays(45), contract.getEndDate());
+            contract.setEndDate(START.plusDays(50));
+        }
+
+        try (ContractStore store = newStore(1000)) {
+            assertEquals(START.plusDays(50),
+                    new ContractManagerImpl(store).findById(contractId).orElseThrow().getEndDate());
+        }
+    }
+
+    @Test
+    void testLogWrittenBeforeTheSnapshotIsReplayedOverIt() throws Exception {
+        Path journal = tempDir.resolve("contracts.journal");
+        String contractId;
+        byte[] oldLog;
+        try (ContractStore store = newStore(1000)) {
+            ContractManagerImpl manager = new ContractManagerImpl(store);
+            Contract contract = new Contract("Artist F", START, START.plusDays(30), ContractTerms.STANDARD);
+            manager.addContract(contract);
+            contractId = contract.getId();
+            store.compact(manager.getContracts());
+
+            contract.setEndDate(START.plusDays(14));
+            contract.setEndDate(START.plusDays(90));
+            contract.setStartDate(START.plusDays(60));
+            store.sync();
+            oldLog = Files.readAllBytes(journal);
+            store.compact(manager.getContracts());
+        }
+        // a crash after the new snapshot was moved into place, but before the log was emptied
+        Files.write(journal, oldLog);
+
+        try (ContractStore store = newStore(1000)) {
+            Contract contract = new ContractManagerImpl(store).findById(contractId).orElseThrow();
+            assertEquals(START.plusDays(60), contract.getStartDate()); // the end date was briefly before this
+            assertEquals(START.plusDays(90), contract.getEndDate());
+        }
+    }
+
+    @Test
+    void testCorruptSnapshotFailsRecoveryAndIsKept() throws Exception {
+        try (ContractStore store = newStore(100)) {
+            ContractManagerImpl manager = new ContractManagerImpl(store);
+            for (int i = 0; i < 300; i++) {
+                manager.addContract(new Contract("Artist " + i, START, START.plusDays(30), ContractTerms.STANDARD));
+            }
+        }
+        Path snapshot = tempDir.resolve("contracts.snapshot");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(snapshot, bytes);
+
+        try (ContractStore store = newStore(100)) {
+            assertThrows(UncheckedIOException.class, () -> new ContractManagerImpl(store));
+        }
+        assertArrayEquals(bytes, Files.readAllBytes(snapshot));
+    }
+
+    @Test
+    void testRecoverEmptyStore() throws IOException {
+        try (ContractStore store = newStore(1000)) {
+            assertTrue(store.recover().isEmpty());
+            assertEquals(0, store.getEntryCount());
+        }
+    }
+
+    @Test
+    void testRecoveryReadsTheSnapshotAndTheLogAfterIt() throws Exception {
+        int count = 2_000;
+        String changedId;
+        try (ContractStore store = newStore(500)) {
+            ContractManagerImpl manager = new ContractManagerImpl(store);
+            Contract changed = null;
+            for (int i = 0; i < count; i++) {
+                Contract contract = new Contract("Artist " + (i % 20), START, START.plusDays(30 + i % 700),
+                        i % 2 == 0 ? ContractTerms.STANDARD : ContractTerms.PAID);
+                manager.addContract(contract);
+                changed = contract;
+            }
+            changed.setEndDate(START.plusDays(5));
+            changedId = changed.getId();
+            assertTrue(store.getEntryCount() < 500, "the log is compacted into the snapshot");
+        }
+
+        try (ContractStore store = newStore(500)) {
+            ContractManagerImpl recovered = new ContractManagerImpl(store);
+
+            assertEquals(count, recovered.getContracts().size());
+            assertEquals(START.plusDays(5), recovered.findById(changedId).orElseThrow().getEndDate());
+            assertEquals(100, recovered.getContractsByArtist("Artist 7").size());
+            LocalDate date = START.plusDays(400);
+            assertEquals(recovered.getContracts().stream()
+                            .filter(contract -> contract.getArtistName().equals("Artist 7")
+                                    && !contract.getEndDate().isBefore(date))
+                            .count(),
+                    recovered.getActiveContracts("Artist 7", date).size());
+        }
+    }
+
+    private ContractStore newStore(int compactionThreshold) {
+        return new ContractStore(tempDir.resolve("contracts.journal").toString(),
+                tempDir.resolve("contracts.snapshot").toString(), 256, 200, compactionThreshold);
+    }
+}
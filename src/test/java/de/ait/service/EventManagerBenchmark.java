@@ -0,0 +1,42 @@
+package de.ait.service;
+
+import de.ait.model.Event;
+import de.ait.model.EventImportResult;
+import de.ait.utilities.EventType;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventManagerBenchmark {
+
+    @Benchmark
+    void bulkImportFromCsv(@TempDir Path tempDir) throws Exception {
+        EventManagerImpl manager = new EventManagerImpl();
+        Benchmarks.quietly(() -> {
+            int count = 200_000;
+            List<Event> schedule = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                schedule.add(new Event("Show " + i, EventType.values()[i % EventType.values().length],
+                        LocalDate.of(2025, 1, 1).plusDays(i % 365), "Venue " + (i % 500), 100 + i % 1000, 20.00));
+            }
+            schedule.add(new Event("Broken", EventType.CONCERT, LocalDate.of(2025, 1, 1), "Venue", 0, 20.00));
+            Path file = tempDir.resolve("schedule.csv");
+            EventCsv.write(file, schedule);
+
+            long begin = System.nanoTime();
+            EventImportResult result = manager.importEventsFromCsv(file.toString());
+            long millis = Math.max(1, (System.nanoTime() - begin) / 1_000_000);
+            Benchmarks.report("Event import: " + result.getAddedCount() + " events and " + result.getErrors().size()
+                    + " row error in " + millis + " ms (" + result.getAddedCount() * 1000L / millis + " events/s)");
+
+            assertEquals(count, result.getAddedCount());
+            assertEquals(count + 1, result.getErrors().get(0).getRow());
+            assertEquals(400, manager.getEventsByLocation("Venue 7").size());
+        });
+    }
+}
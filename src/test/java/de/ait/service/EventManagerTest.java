@@ -3,20 +3,37 @@ package de.ait.service;
 import de.ait.exceptions.EventAlreadyInListException;
 import de.ait.exceptions.EventIsNotInListException;
 import de.ait.model.Event;
+import de.ait.model.EventImportResult;
+import de.ait.notification.DomainEvent;
 import de.ait.repository.EventManagerRepository;
+import de.ait.utilities.DomainEventType;
 import de.ait.utilities.EventType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EventManagerTest {
     public EventManagerRepository eventManager;
@@ -291,4 +308,187 @@ public class EventManagerTest {
         String eventId = "null";
         assertThrows(EventIsNotInListException.class, () -> eventManager.removeEventById(eventId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddEventConcurrentlyOnlyOnceSucceeds() throws InterruptedException {
+        Event event = new Event("Berlin Marathon", EventType.SPORTS,
+                LocalDate.of(2025, 9, 21), "Berlin",
+                40000, 35.00);
+        int threads = 8;
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                try {
+                    eventManager.addEvent(event);
+                    added.incrementAndGet();
+                } catch (EventAlreadyInListException exception) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(1, added.get());
+        assertEquals(threads - 1, rejected.get());
+        assertEquals(1, eventManager.getEvents().size());
+    }
+
+    @Test
+    void testChangesArePublishedToEventSink() throws Exception {
+        List<DomainEvent> published = new ArrayList<>();
+        EventManagerRepository manager = new EventManagerImpl(published::add);
+        Event event = new Event("Summer Jam", EventType.OPEN_AIR,
+                LocalDate.of(2025, 7, 5), "Cologne Fühlinger See", 100, 45.00);
+
+        manager.addEvent(event);
+        event.sellTicket(3);
+        event.addArtist("Seeed");
+        manager.removeEventById(event.getId());
+
+        assertEquals(List.of(DomainEventType.EVENT_ADDED, DomainEventType.TICKETS_SOLD,
+                DomainEventType.ARTIST_ADDED, DomainEventType.EVENT_REMOVED),
+                published.stream().map(DomainEvent::getType).toList());
+        assertEquals("3 tickets sold. Tickets remaining: 97", published.get(1).getMessage());
+    }
+
+    @Test
+    void testSecondaryIndexQueries() throws Exception {
+        Event rock = new Event("Rock Night", EventType.CONCERT,
+                LocalDate.of(2025, 6, 1), "Berlin Arena", 5000, 50.00);
+        Event jazz = new Event("Jazz Evening", EventType.CONCERT,
+                LocalDate.of(2025, 6, 15), "Hamburg Hall", 800, 40.00);
+        Event derby = new Event("Derby", EventType.SPORTS,
+                LocalDate.of(2025, 5, 20), " berlin arena ", 20000, 30.00);
+        eventManager.addEvent(rock);
+        eventManager.addEvent(jazz);
+        eventManager.addEvent(derby);
+        rock.addArtist("Rammstein");
+        jazz.addArtist("Rammstein");
+
+        assertEquals(List.of(derby, rock, jazz),
+                eventManager.getEventsBetween(LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 30)));
+        assertEquals(List.of(rock), eventManager.getEventsBetween(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 1)));
+        assertEquals(Set.of(rock, jazz), new HashSet<>(eventManager.getEventsByType(EventType.CONCERT)));
+        assertEquals(Set.of(rock, derby), new HashSet<>(eventManager.getEventsByLocation("Berlin Arena")));
+        assertEquals(List.of(rock), eventManager.getEventsByTypeAndLocation(EventType.CONCERT, "BERLIN ARENA"));
+        assertEquals(Set.of(rock, jazz), new HashSet<>(eventManager.getEventsByArtist("Rammstein")));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventManager.getEventsBetween(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 6, 1)));
+    }
+
+    @Test
+    void testSecondaryIndexesFollowChanges() throws Exception {
+        Event event = new Event("Open Air", EventType.OPEN_AIR,
+                LocalDate.of(2025, 8, 1), "Munich", 3000, 0, 25.00, new HashSet<>(Set.of("Peter Fox")));
+        eventManager.addEvent(event);
+        assertEquals(List.of(event), eventManager.getEventsByArtist("Peter Fox"));
+
+        event.removeArtist("Peter Fox");
+        event.setLocation("Leipzig");
+        event.setDate(LocalDate.of(2025, 9, 1));
+        event.setEventType(EventType.FESTIVAL);
+
+        assertTrue(eventManager.getEventsByArtist("Peter Fox").isEmpty());
+        assertTrue(eventManager.getEventsByLocation("Munich").isEmpty());
+        assertTrue(eventManager.getEventsByType(EventType.OPEN_AIR).isEmpty());
+        assertEquals(List.of(event), eventManager.getEventsByTypeAndLocation(EventType.FESTIVAL, "Leipzig"));
+        assertEquals(List.of(event), eventManager.getEventsBetween(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 1)));
+
+        eventManager.removeEvent(event);
+        event.addArtist("Seeed");
+        assertTrue(eventManager.getEventsByArtist("Seeed").isEmpty());
+        assertTrue(eventManager.getEventsByType(EventType.FESTIVAL).isEmpty());
+    }
+
+    @Test
+    void testReadViewsAndSnapshots() throws Exception {
+        assertTrue(eventManager.isEmpty());
+        Event first = new Event("Lecture", EventType.LECTURE,
+                LocalDate.of(2025, 10, 1), "Bonn", 200, 10.00);
+        Event second = new Event("Workshop", EventType.WORKSHOP,
+                LocalDate.of(2025, 10, 2), "Bonn", 30, 80.00);
+        eventManager.addEvent(first);
+
+        Map<String, Event> view = eventManager.getEventsView();
+        Map<String, Event> snapshot = eventManager.getEventsSnapshot();
+        assertSame(snapshot, eventManager.getEventsSnapshot());
+        eventManager.addEvent(second);
+
+        assertEquals(2, eventManager.size());
+        assertFalse(eventManager.isEmpty());
+        assertEquals(2, view.size());
+        assertEquals(Set.of(first.getId(), second.getId()), eventManager.getEventIds());
+        assertEquals(Map.of(first.getId(), first), snapshot);
+        assertEquals(2, eventManager.getEventsSnapshot().size());
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(first.getId()));
+        assertThrows(UnsupportedOperationException.class, () -> eventManager.getEventIds().clear());
+        assertThrows(UnsupportedOperationException.class, () -> eventManager.getEventsSnapshot().clear());
+    }
+
+    @Test
+    void testAddEventsCollectsRowErrors() throws Exception {
+        Event existing = new Event("Gala", EventType.CHARITY, LocalDate.of(2025, 12, 1), "Vienna", 400, 150.00);
+        eventManager.addEvent(existing);
+        Event valid = new Event("Expo", EventType.EXHIBITION, LocalDate.of(2025, 3, 3), "Frankfurt", 5000, 15.00);
+        Event noLocation = new Event("Expo", EventType.EXHIBITION, LocalDate.of(2025, 3, 3), "", 5000, 15.00);
+        Event oversold = new Event("Expo", EventType.EXHIBITION, LocalDate.of(2025, 3, 3), "Frankfurt", 10, 11, 15.00);
+
+        EventImportResult result = eventManager.addEvents(List.of(valid, noLocation, existing, oversold));
+
+        assertEquals(List.of(valid.getId()), result.getAddedIds());
+        assertEquals(List.of(2, 3, 4), result.getErrors().stream().map(EventImportResult.RowError::getRow).toList());
+        assertEquals("Invalid location: Location cannot be empty or null", result.getErrors().get(0).getMessage());
+        assertEquals("Error! This event already exists in the list", result.getErrors().get(1).getMessage());
+        assertEquals(2, eventManager.size());
+        assertEquals(List.of(valid), eventManager.getEventsByLocation("Frankfurt"));
+    }
+
+    @Test
+    void testImportEventsFromCsv(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("season.csv");
+        Files.write(file, List.of(EventCsv.HEADER,
+                "Rock am Ring,FESTIVAL,2025-06-06,Nuerburgring,90000,0,199.0,Slipknot;Korn",
+                "Broken,CONCERT,2025-13-01,Berlin,100,0,10.0,",
+                "Talk,LECTURE,2025-02-02,Bonn,abc,0,0.0",
+                "Short,CONCERT,2025-02-02",
+                "Poetry Slam,MEETUP,2025-02-03,Bonn,80,5,8.5"));
+
+        EventImportResult result = eventManager.importEventsFromCsv(file.toString());
+
+        assertEquals(2, result.getAddedCount());
+        assertEquals(List.of(2, 3, 4), result.getErrors().stream().map(EventImportResult.RowError::getRow).toList());
+        Event festival = eventManager.getEventsByArtist("Korn").get(0);
+        assertEquals("Rock am Ring", festival.getName());
+        assertEquals(90000, festival.getTotalTicketCount());
+        assertEquals(Set.of("Slipknot", "Korn"), festival.getArtistList());
+        assertEquals(5, eventManager.getEventsByLocation("Bonn").get(0).getSoldTicketCount());
+    }
+
+    @Test
+    void testBulkImportReportsRowOfInvalidEvent(@TempDir Path tempDir) throws Exception {
+        int count = 5_000; // above the threshold for parallel validation
+        List<Event> schedule = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            schedule.add(new Event("Show " + i, EventType.values()[i % EventType.values().length],
+                    LocalDate.of(2025, 1, 1).plusDays(i % 365), "Venue " + (i % 500), 100 + i % 1000, 20.00));
+        }
+        schedule.add(new Event("Broken", EventType.CONCERT, LocalDate.of(2025, 1, 1), "Venue", 0, 20.00));
+        Path file = tempDir.resolve("schedule.csv");
+        EventCsv.write(file, schedule);
+
+        EventImportResult result = eventManager.importEventsFromCsv(file.toString());
+
+        assertEquals(count, result.getAddedCount());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(count + 1, result.getErrors().get(0).getRow());
+        assertEquals(count, eventManager.size());
+        assertEquals(10, eventManager.getEventsByLocation("Venue 7").size());
+    }
+}
@@ -0,0 +1,189 @@
+package de.ait.service;
+
+import de.ait.model.Event;
+import de.ait.notification.DomainEventSink;
+import de.ait.utilities.EventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testChangesSurviveRestart() throws Exception {
+        String keptId;
+        String removedId;
+        try (EventStore store = newStore(1000)) {
+            EventManagerImpl manager = new EventManagerImpl(DomainEventSink.NONE, store);
+            Event kept = new Event("Jazz Night", EventType.CONCERT, LocalDate.of(2025, 6, 1), "Hamburg", 300, 45.00);
+            Event removed = new Event("Quiz", EventType.MEETUP, LocalDate.of(2025, 6, 2), "Bremen", 50, 0.00);
+            keptId = manager.addEvent(kept);
+            removedId = manager.addEvent(removed);
+
+            kept.sellTicket(20);
+            kept.addArtist("Quartet");
+            kept.addArtist("Trio");
+            kept.removeArtist("Trio");
+            kept.setLocation("Hamburg Elbphilharmonie");
+            kept.setTicketPrice(55.00);
+            manager.removeEventById(removedId);
+        }
+
+        try (EventStore store = newStore(1000)) {
+            EventManagerImpl recovered = new EventManagerImpl(DomainEventSink.NONE, store);
+            assertEquals(1, recovered.size());
+            Event event = recovered.getEventById(keptId);
+            assertEquals("Jazz Night", event.getName());
+            assertEquals(LocalDate.of(2025, 6, 1), event.getDate());
+            assertEquals("Hamburg Elbphilharmonie", event.getLocation());
+            assertEquals(20, event.getSoldTicketCount());
+            assertEquals(55.00, event.getTicketPrice());
+            assertEquals(Set.of("Quartet"), event.getArtistList());
+            assertEquals(1, recovered.getEventsByLocation("hamburg elbphilharmonie").size());
+
+            event.sellTicket(5); // the recovered event is logged again
+        }
+
+        try (EventStore store = newStore(1000)) {
+            assertEquals(25, new EventManagerImpl(DomainEventSink.NONE, store).getEventById(keptId).getSoldTicketCount());
+        }
+    }
+
+    @Test
+    void testConcurrentSalesAreLoggedAndCompacted() throws Exception {
+        String eventId;
+        int threads = 8;
+        int salesPerThread = 25_000;
+        try (EventStore store = newStore(10_000)) {
+            EventManagerImpl manager = new EventManagerImpl(DomainEventSink.NONE, store);
+            Event event = new Event("Arena Show", EventType.CONCERT, LocalDate.of(2025, 9, 9), "Berlin", 150_000, 70.00);
+            eventId = manager.addEvent(event);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> sellers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                sellers.add(executor.submit(() -> {
+                    for (int i = 0; i < salesPerThread; i++) {
+                        event.trySellTicket(1);
+                    }
+                }));
+            }
+            for (Future<?> seller : sellers) {
+                seller.get();
+            }
+            executor.shutdown();
+
+            assertEquals(150_000, event.getSoldTicketCount());
+        }
+        assertTrue(Files.exists(tempDir.resolve("events.snapshot")));
+
+        try (EventStore store = newStore(10_000)) {
+            Event recovered = new EventManagerImpl(DomainEventSink.NONE, store).getEventById(eventId);
+            assertEquals(150_000, recovered.getSoldTicketCount());
+            assertTrue(store.getEntryCount() < 150_000, "the log was compacted into the snapshot");
+        }
+    }
+
+    @Test
+    void testCorruptTailIsCutOff() throws Exception {
+        String eventId;
+        try (EventStore store = newStore(1000)) {
+            EventManagerImpl manager = new EventManagerImpl(DomainEventSink.NONE, store);
+            Event event = new Event("Opera", EventType.THEATER, LocalDate.of(2025, 11, 11), "Dresden", 800, 90.00);
+            eventId = manager.addEvent(event);
+            event.sellTicket(3);
+        }
+        Path journal = tempDir.resolve("events.journal");
+        long validLength = Files.size(journal);
+        Files.write(journal, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND); // torn entry
+
+        try (EventStore store = newStore(1000)) {
+            EventManagerImpl recovered = new EventManagerImpl(DomainEventSink.NONE, store);
+            assertEquals(validLength, Files.size(journal));
+            Event event = recovered.getEventById(eventId);
+            assertEquals(3, event.getSoldTicketCount());
+            event.sellTicket(2);
+        }
+
+        try (EventStore store = newStore(1000)) {
+            assertEquals(5, new EventManagerImpl(DomainEventSink.NONE, store).getEventById(eventId).getSoldTicketCount());
+        }
+    }
+
+    @Test
+    void testStoreFailureDoesNotFailTheSale() throws Exception {
+        EventStore failing = new EventStore(tempDir.resolve("events.journal").toString(),
+                tempDir.resolve("events.snapshot").toString()) {
+            @Override
+            public synchronized void logSold(String eventId, int soldTicketCount) {
+                throw new IllegalStateException("store failed");
+            }
+        };
+        try (failing) {
+            EventManagerImpl manager = new EventManagerImpl(DomainEventSink.NONE, failing);
+            Event event = new Event("Matinee", EventType.THEATER, LocalDate.of(2025, 10, 10), "Bonn", 100, 25.00);
+            manager.addEvent(event);
+
+            assertTrue(event.trySellTicket(4));
+            assertEquals(4, event.getSoldTicketCount());
+        }
+    }
+
+    @Test
+    void testEventIsLoggedBeforeItBecomesVisible() throws Exception {
+        EventManagerImpl[] manager = new EventManagerImpl[1];
+        List<Boolean> visibleWhileLogged = new ArrayList<>();
+        EventStore store = new EventStore(tempDir.resolve("events.journal").toString(),
+                tempDir.resolve("events.snapshot").toString()) {
+            @Override
+            public synchronized void logAdded(Event event) throws IOException {
+                super.logAdded(event);
+                visibleWhileLogged.add(manager[0].getEvents().containsKey(event.getId()));
+            }
+        };
+        try (store) {
+            manager[0] = new EventManagerImpl(DomainEventSink.NONE, store);
+            Event event = new Event("Matinee", EventType.THEATER, LocalDate.of(2025, 10, 10), "Bonn", 100, 25.00);
+            manager[0].addEvent(event);
+            manager[0].addEvents(List.of(new Event("Revue", EventType.THEATER, LocalDate.of(2025, 10, 11), "Bonn", 100, 25.00)));
+            assertTrue(manager[0].getEventById(event.getId()).trySellTicket(3));
+        }
+
+        assertEquals(List.of(false, false), visibleWhileLogged);
+        try (EventStore reopened = newStore(1000)) {
+            EventManagerImpl recovered = new EventManagerImpl(DomainEventSink.NONE, reopened);
+            assertEquals(2, recovered.size());
+            assertEquals(3, recovered.getEvents().values().stream().mapToInt(Event::getSoldTicketCount).sum());
+        }
+    }
+
+    @Test
+    void testRecoverEmptyStore() throws IOException {
+        try (EventStore store = newStore(1000)) {
+            assertTrue(store.recover().isEmpty());
+            assertEquals(0, store.getEntryCount());
+        }
+    }
+
+    private EventStore newStore(int compactionThreshold) {
+        return new EventStore(tempDir.resolve("events.journal").toString(),
+                tempDir.resolve("events.snapshot").toString(), 256, 200, compactionThreshold);
+    }
+}
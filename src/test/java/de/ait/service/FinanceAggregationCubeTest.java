@@ -0,0 +1,68 @@
+package de.ait.service;
+
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinanceAggregationCubeTest {
+
+    private FinanceAggregationCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new FinanceAggregationCube();
+        cube.add(RecordType.INCOME, CategoryType.INCOME_TICKET_SALES, 1000, LocalDate.of(2024, 1, 5));
+        cube.add(RecordType.INCOME, CategoryType.INCOME_TICKET_SALES, 500, LocalDate.of(2024, 1, 20));
+        cube.add(RecordType.INCOME, CategoryType.INCOME_MERCHANDISE, 200, LocalDate.of(2024, 4, 1));
+        cube.add(RecordType.EXPENSE, CategoryType.EXPENSE_VENUE_RENTAL, 700, LocalDate.of(2024, 3, 31));
+        cube.add(RecordType.EXPENSE, CategoryType.EXPENSE_STAFF, 300, LocalDate.of(2019, 12, 31));
+    }
+
+    @Test
+    void testTotalForCategory() {
+        assertEquals(1500, cube.total(CategoryType.INCOME_TICKET_SALES, RecordType.INCOME, YearMonth.of(2024, 1), YearMonth.of(2024, 1)));
+        assertEquals(0, cube.total(CategoryType.INCOME_TICKET_SALES, RecordType.INCOME, YearMonth.of(2024, 2), YearMonth.of(2024, 12)));
+        assertEquals(300, cube.total(CategoryType.EXPENSE_STAFF, RecordType.EXPENSE, YearMonth.of(2000, 1), YearMonth.of(2030, 1)));
+    }
+
+    @Test
+    void testTotalsByCategory() {
+        Map<CategoryType, Double> income = cube.totalsByCategory(RecordType.INCOME, YearMonth.of(2024, 1), YearMonth.of(2024, 12));
+
+        assertEquals(2, income.size());
+        assertEquals(1500, income.get(CategoryType.INCOME_TICKET_SALES));
+        assertEquals(200, income.get(CategoryType.INCOME_MERCHANDISE));
+    }
+
+    @Test
+    void testTotalsByMonth() {
+        Map<YearMonth, Double> expenses = cube.totalsByMonth(RecordType.EXPENSE, YearMonth.of(2024, 2), YearMonth.of(2024, 4));
+
+        assertEquals(3, expenses.size());
+        assertEquals(0, expenses.get(YearMonth.of(2024, 2)));
+        assertEquals(700, expenses.get(YearMonth.of(2024, 3)));
+        assertEquals(0, expenses.get(YearMonth.of(2024, 4)));
+    }
+
+    @Test
+    void testTotalsByQuarter() {
+        Map<Integer, Double> income = cube.totalsByQuarter(RecordType.INCOME, 2024);
+
+        assertEquals(1500, income.get(1));
+        assertEquals(200, income.get(2));
+        assertEquals(0, income.get(3));
+        assertEquals(0, income.get(4));
+    }
+
+    @Test
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () ->
+                cube.totalsByCategory(RecordType.INCOME, YearMonth.of(2024, 2), YearMonth.of(2024, 1)));
+    }
+}
@@ -0,0 +1,57 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinanceDuplicateIndexTest {
+
+    private FinanceDuplicateIndex duplicateIndex;
+
+    @BeforeEach
+    void setUp() {
+        duplicateIndex = new FinanceDuplicateIndex();
+    }
+
+    @Test
+    void testSameContentWithDifferentIdIsDuplicate() {
+        FinanceRecord first = new FinanceRecord(RecordType.EXPENSE, 42.5, "Taxi", LocalDate.of(2024, 2, 2), CategoryType.EXPENSE_LOGISTICS);
+        FinanceRecord second = new FinanceRecord(RecordType.EXPENSE, 42.5, "Taxi", LocalDate.of(2024, 2, 2), CategoryType.EXPENSE_LOGISTICS);
+
+        assertTrue(duplicateIndex.add(first));
+        assertFalse(duplicateIndex.add(second));
+        assertEquals(1, duplicateIndex.size());
+    }
+
+    @Test
+    void testAnyDifferentFieldIsNotDuplicate() {
+        LocalDate date = LocalDate.of(2024, 2, 2);
+        assertTrue(duplicateIndex.add(RecordType.EXPENSE, 42.5, "Taxi", date.toEpochDay(), CategoryType.EXPENSE_LOGISTICS));
+        assertTrue(duplicateIndex.add(RecordType.INCOME, 42.5, "Taxi", date.toEpochDay(), CategoryType.EXPENSE_LOGISTICS));
+        assertTrue(duplicateIndex.add(RecordType.EXPENSE, 42.6, "Taxi", date.toEpochDay(), CategoryType.EXPENSE_LOGISTICS));
+        assertTrue(duplicateIndex.add(RecordType.EXPENSE, 42.5, "Taxi ", date.toEpochDay(), CategoryType.EXPENSE_LOGISTICS));
+        assertTrue(duplicateIndex.add(RecordType.EXPENSE, 42.5, "Taxi", date.toEpochDay() + 1, CategoryType.EXPENSE_LOGISTICS));
+        assertTrue(duplicateIndex.add(RecordType.EXPENSE, 42.5, "Taxi", date.toEpochDay(), CategoryType.EXPENSE_OTHER));
+        assertEquals(6, duplicateIndex.size());
+    }
+
+    @Test
+    void testGrowsAndKeepsFingerprints() {
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(duplicateIndex.add(RecordType.INCOME, i + 1, "Row", 19_000 + i % 500, CategoryType.INCOME_OTHER));
+        }
+        for (int i = 0; i < 100_000; i += 7) {
+            assertFalse(duplicateIndex.add(RecordType.INCOME, i + 1, "Row", 19_000 + i % 500, CategoryType.INCOME_OTHER));
+        }
+        assertEquals(100_000, duplicateIndex.size());
+
+        duplicateIndex.clear();
+        assertEquals(0, duplicateIndex.size());
+        assertTrue(duplicateIndex.add(RecordType.INCOME, 1, "Row", 19_000, CategoryType.INCOME_OTHER));
+    }
+}
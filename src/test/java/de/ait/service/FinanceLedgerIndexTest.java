@@ -0,0 +1,100 @@
+package de.ait.service;
+
+import de.ait.utilities.RecordType;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinanceLedgerIndexTest {
+
+    private FinanceLedgerIndex ledgerIndex;
+
+    @BeforeEach
+    void setUp() {
+        ledgerIndex = new FinanceLedgerIndex();
+    }
+
+    @Test
+    void testEmptyIndexHasZeroBalance() {
+        assertEquals(0, ledgerIndex.balance(LocalDate.of(2000, 1, 1), LocalDate.of(2030, 1, 1)));
+    }
+
+    @Test
+    void testBalanceWithinRange() {
+        ledgerIndex.add(RecordType.INCOME, 1000, LocalDate.of(2024, 1, 10));
+        ledgerIndex.add(RecordType.EXPENSE, 300, LocalDate.of(2024, 1, 15));
+        ledgerIndex.add(RecordType.INCOME, 500, LocalDate.of(2024, 2, 1));
+
+        assertEquals(700, ledgerIndex.balance(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        assertEquals(1000, ledgerIndex.income(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 10)));
+        assertEquals(300, ledgerIndex.expenses(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertEquals(0, ledgerIndex.balance(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31)));
+    }
+
+    @Test
+    void testIndexGrowsInBothDirections() {
+        ledgerIndex.add(RecordType.INCOME, 100, LocalDate.of(2024, 6, 1));
+        ledgerIndex.add(RecordType.INCOME, 200, LocalDate.of(1990, 6, 1));
+        ledgerIndex.add(RecordType.EXPENSE, 50, LocalDate.of(2025, 6, 1));
+
+        assertEquals(250, ledgerIndex.balance(LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1)));
+        assertEquals(200, ledgerIndex.balance(LocalDate.of(1990, 6, 1), LocalDate.of(1990, 6, 1)));
+        assertEquals(-50, ledgerIndex.balance(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+    }
+
+    @Test
+    void testMatchesScanForRandomRanges() {
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(2020, 1, 1);
+        double[] incomeByDay = new double[2000];
+        double[] expenseByDay = new double[2000];
+        for (int i = 0; i < 5000; i++) {
+            int day = random.nextInt(2000);
+            double amount = 1 + random.nextInt(1000);
+            RecordType type = random.nextBoolean() ? RecordType.INCOME : RecordType.EXPENSE;
+            ledgerIndex.add(type, amount, origin.plusDays(day));
+            if (type == RecordType.INCOME) {
+                incomeByDay[day] += amount;
+            } else {
+                expenseByDay[day] += amount;
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(2000);
+            int to = from + random.nextInt(2000 - from);
+            double expected = 0;
+            for (int day = from; day <= to; day++) {
+                expected += incomeByDay[day] - expenseByDay[day];
+            }
+            assertEquals(expected, ledgerIndex.balance(origin.plusDays(from), origin.plusDays(to)), 1e-6);
+        }
+    }
+
+    @Test
+    void testCentAmountsSumExactly() {
+        Random random = new Random(2);
+        LocalDate origin = LocalDate.of(2015, 1, 1);
+        long[] centsByDay = new long[3650];
+        for (int i = 0; i < 200_000; i++) {
+            int day = random.nextInt(3650);
+            long cents = 1 + random.nextInt(100_000);
+            RecordType type = random.nextBoolean() ? RecordType.INCOME : RecordType.EXPENSE;
+            ledgerIndex.add(type, cents / 100.0, origin.plusDays(day));
+            centsByDay[day] += type == RecordType.INCOME ? cents : -cents;
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(3650);
+            int to = from + random.nextInt(Math.min(30, 3650 - from));
+            long expected = 0;
+            for (int day = from; day <= to; day++) {
+                expected += centsByDay[day];
+            }
+            assertEquals(expected / 100.0, ledgerIndex.balance(origin.plusDays(from), origin.plusDays(to)));
+        }
+    }
+}
@@ -5,8 +5,15 @@ import de.ait.utilities.CategoryType;
 import de.ait.utilities.RecordType;
 import org.junit.jupiter.api.*;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,6 +23,8 @@ class FinanceManagerImplTest {
     private FinanceManagerImpl financeManager;
     private static final String CSV_FILE = "src/main/java/de/ait/files/FinanceRecord.csv";
     private static final String SERIALIZED_FILE = "src/main/java/de/ait/files/FinanceRecord.cer";
+    private static final String SNAPSHOT_FILE = "src/main/java/de/ait/files/FinanceRecord.snapshot";
+    private static final String JOURNAL_FILE = "src/main/java/de/ait/files/FinanceRecord.journal";
     private static final String TEST_CSV_FILE = "test_finance_records.csv";
     private static final String TEST_SERIALIZED_FILE = "test_finance_records.cer";
 
@@ -23,6 +32,8 @@ class FinanceManagerImplTest {
     void setUp() {
         new File (CSV_FILE).delete();
         new File(SERIALIZED_FILE).delete();
+        new File(SNAPSHOT_FILE).delete();
+        new File(JOURNAL_FILE).delete();
         new File(TEST_CSV_FILE).delete();
         new File(TEST_SERIALIZED_FILE).delete();
         financeManager = new FinanceManagerImpl();
@@ -38,6 +49,16 @@ class FinanceManagerImplTest {
         assertEquals(CategoryType.INCOME_SALARY, records.get(0).getCategory());
     }
 
+    @Test
+    void testAddRecord_DuplicateRejected() {
+        financeManager.addRecord(RecordType.EXPENSE, 80, "Lights", LocalDate.now(), CategoryType.EXPENSE_TECHNICAL);
+        financeManager.addRecord(RecordType.EXPENSE, 80, "Lights", LocalDate.now(), CategoryType.EXPENSE_TECHNICAL);
+        financeManager.addRecord(RecordType.EXPENSE, 80, "Lights", LocalDate.now().minusDays(1), CategoryType.EXPENSE_TECHNICAL);
+
+        assertEquals(2, financeManager.getFinanceRecords().size());
+        assertEquals(1, financeManager.getRejectedDuplicateCount());
+    }
+
     @Test
     void testAddRecord_InvalidAmount() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
@@ -62,6 +83,29 @@ class FinanceManagerImplTest {
         assertEquals(1200, balance);
     }
 
+    @Test
+    void testCalculateBalance_MatchesScan() {
+        financeManager.addRecord(RecordType.INCOME, 900, "Tickets", LocalDate.now().minusDays(40), CategoryType.INCOME_TICKET_SALES);
+        financeManager.addRecord(RecordType.EXPENSE, 250, "Venue", LocalDate.now().minusDays(10), CategoryType.EXPENSE_VENUE_RENTAL);
+        financeManager.addRecord(RecordType.INCOME, 120, "Merch", LocalDate.now(), CategoryType.INCOME_MERCHANDISE);
+
+        LocalDate start = LocalDate.now().minusDays(30);
+        LocalDate end = LocalDate.now();
+        assertEquals(financeManager.calculateBalanceByScan(start, end), financeManager.calculateBalance(start, end));
+        assertEquals(-130, financeManager.calculateBalance(start, end));
+    }
+
+    @Test
+    void testTotalsByCategory() {
+        financeManager.addRecord(RecordType.INCOME, 400, "Tickets", LocalDate.now(), CategoryType.INCOME_TICKET_SALES);
+        financeManager.addRecord(RecordType.INCOME, 100, "More tickets", LocalDate.now(), CategoryType.INCOME_TICKET_SALES);
+        financeManager.addRecord(RecordType.EXPENSE, 50, "Security", LocalDate.now(), CategoryType.EXPENSE_STAFF);
+
+        YearMonth month = YearMonth.now();
+        assertEquals(500, financeManager.getTotalsByCategory(RecordType.INCOME, month, month).get(CategoryType.INCOME_TICKET_SALES));
+        assertEquals(50, financeManager.getTotalsByMonth(RecordType.EXPENSE, month, month).get(month));
+    }
+
     @Test
     void testCalculateBalance_InvalidDateRange() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
@@ -83,6 +127,21 @@ class FinanceManagerImplTest {
         assertEquals(CategoryType.INCOME_BUSINESS, records.get(0).getCategory());
     }
 
+    @Test
+    void testLoadRecords_CSVDuplicatesSkipped() throws IOException {
+        financeManager.addRecord(RecordType.INCOME, 1500, "Consulting", LocalDate.now(), CategoryType.INCOME_BUSINESS);
+        financeManager.addRecord(RecordType.INCOME, 300, "Workshop", LocalDate.now(), CategoryType.INCOME_BUSINESS);
+        financeManager.saveRecordsToFile(TEST_CSV_FILE);
+        Files.writeString(Path.of(TEST_CSV_FILE), "INCOME,1500.0,INCOME_BUSINESS,Consulting," + LocalDate.now() + System.lineSeparator(),
+                StandardOpenOption.APPEND);
+
+        FinanceManagerImpl newManager = new FinanceManagerImpl();
+        newManager.loadRecordsFromFile(TEST_CSV_FILE);
+
+        assertEquals(2, newManager.getFinanceRecords().size());
+        assertEquals(1, newManager.getRejectedDuplicateCount());
+    }
+
     @Test
     void testSaveAndLoadRecords_Serialized() {
         financeManager.addRecord(RecordType.EXPENSE, 200, "Gym", LocalDate.now(), CategoryType.EXPENSE_SPORT);
@@ -97,6 +156,80 @@ class FinanceManagerImplTest {
         assertEquals(CategoryType.EXPENSE_SPORT, records.get(0).getCategory());
     }
 
+    @Test
+    void testSnapshot_DecodedLazilyOnFirstAccess() {
+        financeManager.addRecord(RecordType.INCOME, 900, "Festival", LocalDate.now().minusDays(3), CategoryType.INCOME_TICKET_SALES);
+        financeManager.addRecord(RecordType.EXPENSE, 150, "Stage", LocalDate.now().minusDays(3), CategoryType.EXPENSE_TECHNICAL);
+        financeManager.saveRecordsToFileSerialized();
+        financeManager.addRecord(RecordType.EXPENSE, 50, "Catering", LocalDate.now(), CategoryType.EXPENSE_FOOD);
+        financeManager.flushJournal();
+
+        FinanceManagerImpl newManager = new FinanceManagerImpl();
+        assertTrue(newManager.isSnapshotPending());
+
+        assertEquals(700, newManager.calculateBalance(LocalDate.now().minusDays(7), LocalDate.now()));
+        assertEquals(150, newManager.getTotalsByCategory(RecordType.EXPENSE, YearMonth.now().minusMonths(1), YearMonth.now())
+                .get(CategoryType.EXPENSE_TECHNICAL));
+        assertTrue(newManager.isSnapshotPending());
+
+        newManager.addRecord(RecordType.EXPENSE, 50, "Catering", LocalDate.now(), CategoryType.EXPENSE_FOOD);
+        newManager.addRecord(RecordType.EXPENSE, 150, "Stage", LocalDate.now().minusDays(3), CategoryType.EXPENSE_TECHNICAL);
+        newManager.addRecord(RecordType.EXPENSE, 80, "Security", LocalDate.now(), CategoryType.EXPENSE_STAFF);
+        assertTrue(newManager.isSnapshotPending()); // duplicates are checked on the snapshot columns
+        assertEquals(2, newManager.getRejectedDuplicateCount());
+        assertEquals(620, newManager.calculateBalance(LocalDate.now().minusDays(7), LocalDate.now()));
+
+        assertEquals(4, newManager.getFinanceRecords().size());
+        assertFalse(newManager.isSnapshotPending());
+        assertEquals(620, newManager.calculateBalanceByScan(LocalDate.now().minusDays(7), LocalDate.now()));
+        newManager.addRecord(RecordType.EXPENSE, 80, "Security", LocalDate.now(), CategoryType.EXPENSE_STAFF);
+        assertEquals(3, newManager.getRejectedDuplicateCount());
+    }
+
+    @Test
+    void testLegacySerializedFile_MigratedOnStart() throws IOException {
+        FinanceRecord legacy = new FinanceRecord(RecordType.INCOME, 450, "Old ledger", LocalDate.of(2023, 5, 1), CategoryType.INCOME_OTHER);
+        Files.createDirectories(Path.of(SERIALIZED_FILE).getParent());
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SERIALIZED_FILE))) {
+            oos.writeObject(new ArrayList<>(List.of(legacy)));
+        }
+
+        FinanceManagerImpl newManager = new FinanceManagerImpl();
+
+        assertEquals(1, newManager.getFinanceRecords().size());
+        assertEquals(legacy.getId(), newManager.getFinanceRecords().get(0).getId());
+        assertTrue(new File(SNAPSHOT_FILE).exists());
+        assertFalse(new File(SERIALIZED_FILE).exists());
+        assertEquals(1, new FinanceManagerImpl().getFinanceRecords().size());
+    }
+
+    @Test
+    void testAddRecord_ReplayedFromJournalOnStart() {
+        financeManager.addRecord(RecordType.INCOME, 300, "Merch", LocalDate.now(), CategoryType.INCOME_MERCHANDISE);
+        financeManager.addRecord(RecordType.EXPENSE, 100, "Taxi", LocalDate.now(), CategoryType.EXPENSE_LOGISTICS);
+        financeManager.flushJournal();
+
+        FinanceManagerImpl newManager = new FinanceManagerImpl();
+        List<FinanceRecord> records = newManager.getFinanceRecords();
+
+        assertEquals(2, records.size());
+        assertEquals(financeManager.getFinanceRecords().get(0).getId(), records.get(0).getId());
+        assertEquals(CategoryType.EXPENSE_LOGISTICS, records.get(1).getCategory());
+    }
+
+    @Test
+    void testSnapshotAndJournal_NoDuplicatesOnStart() {
+        financeManager.addRecord(RecordType.INCOME, 700, "Sponsor", LocalDate.now(), CategoryType.INCOME_SPONSORSHIPS);
+        financeManager.saveRecordsToFileSerialized();
+        financeManager.addRecord(RecordType.EXPENSE, 50, "Flyers", LocalDate.now(), CategoryType.EXPENSE_MARKETING);
+        financeManager.flushJournal();
+
+        FinanceManagerImpl newManager = new FinanceManagerImpl();
+
+        assertEquals(2, newManager.getFinanceRecords().size());
+        assertEquals(650, newManager.calculateBalance(LocalDate.now(), LocalDate.now()));
+    }
+
     @Test
     void testLoadRecords_FileNotFound() {
         FinanceManagerImpl newManager = new FinanceManagerImpl();
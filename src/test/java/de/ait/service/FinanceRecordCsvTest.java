@@ -0,0 +1,153 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinanceRecordCsvTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        Path file = tempDir.resolve("records.csv");
+        List<FinanceRecord> records = List.of(
+                new FinanceRecord(RecordType.INCOME, 15_000_000, "Stadium tour", LocalDate.of(2024, 7, 1), CategoryType.INCOME_TICKET_SALES),
+                new FinanceRecord(RecordType.EXPENSE, 0.1, "Cables", LocalDate.of(2023, 12, 31), CategoryType.EXPENSE_TECHNICAL),
+                new FinanceRecord(RecordType.EXPENSE, 123.45, "Café catering", LocalDate.of(2020, 2, 29), CategoryType.EXPENSE_FOOD));
+        FinanceRecordCsv.write(file, records);
+
+        List<FinanceRecord> loaded = FinanceRecordCsv.read(file);
+
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i).getType(), loaded.get(i).getType());
+            assertEquals(records.get(i).getAmount(), loaded.get(i).getAmount());
+            assertEquals(records.get(i).getCategory(), loaded.get(i).getCategory());
+            assertEquals(records.get(i).getDescription(), loaded.get(i).getDescription());
+            assertEquals(records.get(i).getDate(), loaded.get(i).getDate());
+        }
+    }
+
+    @Test
+    void testReadSkipsInvalidRowsAndFutureDates() throws IOException {
+        Path file = tempDir.resolve("records.csv");
+        Files.writeString(file, FinanceRecordCsv.HEADER + "\r\n"
+                + "INCOME,100.0,INCOME_OTHER,Windows line,2024-01-01\r\n"
+                + "EXPENSE,20.0,EXPENSE_OTHER,Trailing commas,2024-01-02,,\n"
+                + "EXPENSE,20.0,EXPENSE_OTHER,Too,many,fields,2024-01-03\n"
+                + "\n"
+                + "INCOME,50.0,INCOME_OTHER,Future," + LocalDate.now().plusDays(1) + "\n"
+                + "INCOME,7,INCOME_OTHER,No trailing newline,2024-01-04");
+
+        List<FinanceRecord> loaded = FinanceRecordCsv.read(file);
+
+        assertEquals(3, loaded.size());
+        assertEquals("Windows line", loaded.get(0).getDescription());
+        assertEquals(LocalDate.of(2024, 1, 1), loaded.get(0).getDate());
+        assertEquals("Trailing commas", loaded.get(1).getDescription());
+        assertEquals(7, loaded.get(2).getAmount());
+    }
+
+    @Test
+    void testReadInvalidEnumThrows() throws IOException {
+        Path file = tempDir.resolve("records.csv");
+        Files.writeString(file, FinanceRecordCsv.HEADER + "\nPROFIT,1.0,INCOME_OTHER,Bad,2024-01-01\n");
+
+        assertThrows(IllegalArgumentException.class, () -> FinanceRecordCsv.read(file));
+    }
+
+    @Test
+    void testParallelReadMatchesSequentialRead() throws IOException {
+        Path file = tempDir.resolve("large.csv");
+        Random random = new Random(7);
+        StringBuilder csv = new StringBuilder(FinanceRecordCsv.HEADER).append('\n');
+        for (int i = 0; i < 60_000; i++) {
+            csv.append(i % 2 == 0 ? "INCOME" : "EXPENSE").append(',')
+                    .append(1 + random.nextInt(100_000) / 100.0).append(',')
+                    .append(i % 2 == 0 ? "INCOME_MERCHANDISE" : "EXPENSE_STAFF").append(',')
+                    .append("Row ").append(i).append(',')
+                    .append(LocalDate.of(2024, 1, 1).plusDays(i % 300)).append('\n');
+        }
+        Files.writeString(file, csv);
+
+        List<FinanceRecord> sequential = FinanceRecordCsv.read(file, false);
+        List<FinanceRecord> parallel = FinanceRecordCsv.read(file, true);
+
+        assertEquals(60_000, sequential.size());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).getDescription(), parallel.get(i).getDescription());
+            assertEquals(sequential.get(i).getAmount(), parallel.get(i).getAmount());
+        }
+    }
+
+    @Test
+    void testWriteLargeListInParallelChunks() throws IOException {
+        Path file = tempDir.resolve("export.csv");
+        List<FinanceRecord> records = new ArrayList<>();
+        for (int i = 0; i < FinanceRecordCsv.EXPORT_CHUNK_RECORDS * 3 + 17; i++) {
+            records.add(new FinanceRecord(i % 2 == 0 ? RecordType.INCOME : RecordType.EXPENSE, 1 + i / 4.0, "Row " + i,
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365), i % 2 == 0 ? CategoryType.INCOME_STREAMING : CategoryType.EXPENSE_MARKETING));
+        }
+        FinanceRecordCsv.write(file, records);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(records.size() + 1, lines.size());
+        assertEquals(FinanceRecordCsv.HEADER, lines.get(0));
+        for (int i = 0; i < records.size(); i++) {
+            FinanceRecord record = records.get(i);
+            assertEquals(record.getType() + "," + record.getAmount() + "," + record.getCategory() + ","
+                    + record.getDescription() + "," + record.getDate(), lines.get(i + 1));
+        }
+    }
+
+    @Test
+    void testWriteGzip() throws IOException {
+        Path plain = tempDir.resolve("export.csv");
+        Path compressed = tempDir.resolve("export.csv.gz");
+        List<FinanceRecord> records = List.of(
+                new FinanceRecord(RecordType.INCOME, 99.9, "Streaming royalties", LocalDate.of(2024, 4, 1), CategoryType.INCOME_STREAMING));
+        FinanceRecordCsv.write(plain, records);
+        FinanceRecordCsv.write(compressed, records);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+            assertArrayEquals(Files.readAllBytes(plain), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testParseAmountMatchesParseDouble() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            String text = Double.toString(random.nextInt(10_000_000) / 100.0 + random.nextDouble() * (i % 3 == 0 ? 1e9 : 1));
+            assertEquals(Double.parseDouble(text), parse(text), text);
+        }
+        assertEquals(1.5E7, parse("1.5E7"));
+        assertEquals(12345678901234567.0, parse("12345678901234567"));
+        assertEquals(0.05, parse("0.05"));
+        assertThrows(NumberFormatException.class, () -> parse("12a"));
+    }
+
+    private static double parse(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return FinanceRecordCsv.parseAmount(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
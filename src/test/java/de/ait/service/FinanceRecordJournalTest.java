@@ -0,0 +1,99 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinanceRecordJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path journalPath;
+    private FinanceRecordJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("finance.journal");
+        journal = new FinanceRecordJournal(journalPath.toString(), 4, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    void testAppendAndReplay() throws IOException {
+        FinanceRecord record = new FinanceRecord(RecordType.INCOME, 1500.5, "Tickets, evening show", LocalDate.of(2024, 3, 15), CategoryType.INCOME_TICKET_SALES);
+        journal.append(record);
+        journal.sync();
+
+        List<FinanceRecord> records = new FinanceRecordJournal(journalPath.toString(), 4, 60_000).replay();
+
+        assertEquals(1, records.size());
+        assertEquals(record.getId(), records.get(0).getId());
+        assertEquals(RecordType.INCOME, records.get(0).getType());
+        assertEquals(1500.5, records.get(0).getAmount());
+        assertEquals("Tickets, evening show", records.get(0).getDescription());
+        assertEquals(LocalDate.of(2024, 3, 15), records.get(0).getDate());
+        assertEquals(CategoryType.INCOME_TICKET_SALES, records.get(0).getCategory());
+    }
+
+    @Test
+    void testGroupCommitWritesAfterBatchIsFull() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            journal.append(new FinanceRecord(RecordType.EXPENSE, 10 + i, "Batch " + i, LocalDate.now(), CategoryType.EXPENSE_STAFF));
+        }
+        assertEquals(0, Files.size(journalPath));
+
+        journal.append(new FinanceRecord(RecordType.EXPENSE, 13, "Batch 3", LocalDate.now(), CategoryType.EXPENSE_STAFF));
+        assertTrue(Files.size(journalPath) > 0);
+        assertEquals(4, journal.getEntryCount());
+    }
+
+    @Test
+    void testIdleJournalIsSyncedWithinInterval() throws Exception {
+        try (FinanceRecordJournal idle = new FinanceRecordJournal(tempDir.resolve("idle.journal").toString(), 1000, 50)) {
+            idle.append(new FinanceRecord(RecordType.INCOME, 75, "Last record before a pause", LocalDate.now(), CategoryType.INCOME_OTHER));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (Files.size(tempDir.resolve("idle.journal")) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.size(tempDir.resolve("idle.journal")) > 0, "synced without another append");
+        }
+    }
+
+    @Test
+    void testReplayTruncatesTornTail() throws IOException {
+        journal.append(new FinanceRecord(RecordType.INCOME, 100, "Complete", LocalDate.now(), CategoryType.INCOME_OTHER));
+        journal.close();
+        long validLength = Files.size(journalPath);
+        Files.write(journalPath, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        List<FinanceRecord> records = journal.replay();
+
+        assertEquals(1, records.size());
+        assertEquals(validLength, Files.size(journalPath));
+    }
+
+    @Test
+    void testResetEmptiesJournal() throws IOException {
+        journal.append(new FinanceRecord(RecordType.INCOME, 100, "Old", LocalDate.now(), CategoryType.INCOME_OTHER));
+        journal.reset();
+
+        assertEquals(0, journal.getEntryCount());
+        assertTrue(journal.replay().isEmpty());
+    }
+}
@@ -0,0 +1,132 @@
+package de.ait.service;
+
+import de.ait.model.FinanceRecord;
+import de.ait.utilities.CategoryType;
+import de.ait.utilities.RecordType;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinanceSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAndOpen() throws IOException {
+        Path file = tempDir.resolve("records.snapshot");
+        List<FinanceRecord> records = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            records.add(new FinanceRecord(i % 3 == 0 ? RecordType.INCOME : RecordType.EXPENSE, 10 + i / 8.0,
+                    "Tour stop " + (i % 10), LocalDate.of(2024, 1, 1).plusDays(i % 200),
+                    i % 3 == 0 ? CategoryType.INCOME_TICKET_SALES : CategoryType.EXPENSE_LOGISTICS));
+        }
+        FinanceSnapshot.write(file, records);
+
+        FinanceSnapshot snapshot = FinanceSnapshot.open(file);
+        List<FinanceRecord> loaded = snapshot.readAll();
+
+        assertEquals(records.size(), snapshot.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i).getId(), loaded.get(i).getId());
+            assertEquals(records.get(i).getType(), loaded.get(i).getType());
+            assertEquals(records.get(i).getAmount(), loaded.get(i).getAmount());
+            assertEquals(records.get(i).getDescription(), loaded.get(i).getDescription());
+            assertEquals(records.get(i).getDate(), loaded.get(i).getDate());
+            assertEquals(records.get(i).getCategory(), loaded.get(i).getCategory());
+        }
+        assertEquals(records.get(42).getDate().toEpochDay(), snapshot.epochDay(42));
+        assertEquals(records.get(42).getCategory(), snapshot.category(42));
+    }
+
+    @Test
+    void testFindIds() throws IOException {
+        Path file = tempDir.resolve("records.snapshot");
+        FinanceRecord first = new FinanceRecord(RecordType.INCOME, 1, "A", LocalDate.of(2024, 1, 1), CategoryType.INCOME_OTHER);
+        FinanceRecord second = new FinanceRecord(RecordType.INCOME, 2, "B", LocalDate.of(2024, 1, 2), CategoryType.INCOME_OTHER);
+        FinanceSnapshot.write(file, List.of(first, second));
+
+        assertEquals(Set.of(second.getId()),
+                FinanceSnapshot.open(file).findIds(List.of(second.getId(), "0000000000000000", "not-an-id")));
+    }
+
+    @Test
+    void testNonNumericIdsAndEmptySnapshot() throws IOException {
+        Path file = tempDir.resolve("records.snapshot");
+        FinanceSnapshot.write(file, List.of(
+                new FinanceRecord("legacy-1", RecordType.EXPENSE, 5, "Café", LocalDate.of(2022, 2, 2), CategoryType.EXPENSE_FOOD)));
+        assertEquals("legacy-1", FinanceSnapshot.open(file).record(0).getId());
+        assertEquals("Café", FinanceSnapshot.open(file).record(0).getDescription());
+
+        FinanceSnapshot.write(file, List.of());
+        assertEquals(0, FinanceSnapshot.open(file).size());
+    }
+
+    @Test
+    void testCorruptSnapshotRejected() throws IOException {
+        Path file = tempDir.resolve("records.snapshot");
+        FinanceSnapshot.write(file, List.of(
+                new FinanceRecord(RecordType.INCOME, 100, "Sponsor", LocalDate.of(2024, 3, 3), CategoryType.INCOME_SPONSORSHIPS)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 10] ^= 1; // the category column
+        Files.write(file, bytes);
+
+        FinanceSnapshot snapshot = FinanceSnapshot.open(file); // columns are checked when they are read
+        snapshot.verify(FinanceSnapshot.Column.IDS, FinanceSnapshot.Column.AMOUNTS, FinanceSnapshot.Column.DATES);
+        assertThrows(IOException.class, () -> snapshot.verify(FinanceSnapshot.Column.CATEGORIES));
+        assertThrows(IOException.class, () -> snapshot.verify(FinanceSnapshot.Column.values()));
+
+        bytes[bytes.length - 10] ^= 1;
+        bytes[22] ^= 1; // the dictionary
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> FinanceSnapshot.open(file));
+    }
+
+    @Test
+    void testVersionOneSnapshotStillOpens() throws IOException {
+        Path file = tempDir.resolve("records.snapshot");
+        byte[] description = "Sponsor".getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bytes, crc))) {
+            out.writeInt(FinanceSnapshot.MAGIC);
+            out.writeShort(1);
+            out.writeShort(0);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(4 + description.length);
+            out.writeInt(description.length);
+            out.write(description);
+            out.writeLong(42);
+            out.writeDouble(100);
+            out.writeInt((int) LocalDate.of(2024, 3, 3).toEpochDay());
+            out.writeByte(RecordType.INCOME.ordinal());
+            out.writeByte(CategoryType.INCOME_SPONSORSHIPS.ordinal());
+            out.writeInt(0);
+            out.flush();
+            out.writeInt((int) crc.getValue());
+        }
+        Files.write(file, bytes.toByteArray());
+
+        FinanceSnapshot snapshot = FinanceSnapshot.open(file);
+        snapshot.verify(FinanceSnapshot.Column.values());
+        FinanceRecord record = snapshot.record(0);
+        assertEquals("0000000000000042", record.getId());
+        assertEquals("Sponsor", record.getDescription());
+        assertEquals(CategoryType.INCOME_SPONSORSHIPS, record.getCategory());
+    }
+}
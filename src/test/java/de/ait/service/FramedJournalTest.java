@@ -0,0 +1,60 @@
+package de.ait.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FramedJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReplayReturnsEntriesAndCutsOffTornTail() throws IOException {
+        Path journalPath = tempDir.resolve("test.journal");
+        try (FramedJournal journal = new FramedJournal(journalPath.toString(), "test-sync", 2, 60_000)) {
+            journal.append(bytes("first"));
+            assertEquals(0, Files.size(journalPath)); // waits for the second entry of the group
+            journal.append(bytes("second"));
+            assertTrue(Files.size(journalPath) > 0);
+        }
+        long validLength = Files.size(journalPath);
+        Files.write(journalPath, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (FramedJournal journal = new FramedJournal(journalPath.toString(), "test-sync", 2, 60_000)) {
+            List<String> entries = new ArrayList<>();
+            assertEquals(2, journal.replay(payload -> entries.add(new String(payload, StandardCharsets.UTF_8))));
+            assertEquals(List.of("first", "second"), entries);
+            assertEquals(validLength, Files.size(journalPath));
+            assertEquals(2, journal.getEntryCount());
+
+            journal.reset();
+            assertEquals(0, journal.replay(payload -> fail("the log was reset")));
+        }
+    }
+
+    @Test
+    void testReplaceFileKeepsOldContentOnFailure() throws IOException {
+        Path target = tempDir.resolve("test.snapshot");
+        FramedJournal.replaceFile(target, out -> out.write(bytes("old")));
+
+        assertThrows(IOException.class, () -> FramedJournal.replaceFile(target, out -> {
+            out.write(bytes("partial"));
+            throw new IOException("disk full");
+        }));
+        assertEquals("old", Files.readString(target));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
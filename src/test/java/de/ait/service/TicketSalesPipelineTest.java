@@ -0,0 +1,169 @@
+package de.ait.service;
+
+import de.ait.model.Event;
+import de.ait.model.SeatInventory;
+import de.ait.utilities.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TicketSalesPipelineTest {
+
+    @Test
+    void testConcurrentRequestsOnHotEventNeverOversell() throws Exception {
+        Event event = new Event("Stadium Tour", EventType.CONCERT,
+                LocalDate.of(2025, 8, 1), "Munich Olympiastadion", 500_000, 95.00);
+        int producers = 8;
+        int requestsPerProducer = 125_000; // 1 million requests for 500,000 tickets
+
+        try (TicketSalesPipeline pipeline = new TicketSalesPipeline()) {
+            ExecutorService executor = Executors.newFixedThreadPool(producers);
+            List<Future<List<CompletableFuture<Boolean>>>> submitted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                submitted.add(executor.submit(() -> {
+                    List<CompletableFuture<Boolean>> results = new ArrayList<>(requestsPerProducer);
+                    for (int i = 0; i < requestsPerProducer; i++) {
+                        CompletableFuture<Boolean> result;
+                        do { // back off while the event's queue is full
+                            result = pipeline.submit(event, 1);
+                        } while (result.isCompletedExceptionally());
+                        results.add(result);
+                    }
+                    return results;
+                }));
+            }
+            int sold = 0;
+            int rejected = 0;
+            for (Future<List<CompletableFuture<Boolean>>> future : submitted) {
+                for (CompletableFuture<Boolean> result : future.get()) {
+                    if (result.get(30, TimeUnit.SECONDS)) {
+                        sold++;
+                    } else {
+                        rejected++;
+                    }
+                }
+            }
+            executor.shutdown();
+
+            assertEquals(500_000, sold);
+            assertEquals(500_000, rejected);
+            assertEquals(500_000, event.getSoldTicketCount());
+        }
+    }
+
+    @Test
+    void testBatchFallsBackToSingleRequests() throws Exception {
+        Event event = new Event("Club Night", EventType.CONCERT,
+                LocalDate.of(2025, 3, 1), "Berghain", 5, 20.00);
+        try (TicketSalesPipeline pipeline = new TicketSalesPipeline(16, 16, 1)) {
+            CompletableFuture<Boolean> first = pipeline.submit(event, 4);
+            CompletableFuture<Boolean> second = pipeline.submit(event, 2);
+            CompletableFuture<Boolean> third = pipeline.submit(event, 1);
+
+            assertTrue(first.get());
+            assertFalse(second.get());
+            assertTrue(third.get());
+            assertEquals(5, event.getSoldTicketCount());
+        }
+    }
+
+    @Test
+    void testSeatedEventSoldThroughPipeline() throws Exception {
+        SeatInventory inventory = new SeatInventory();
+        inventory.addSection("A", 2, 3);
+        Event event = new Event("Chamber Concert", EventType.CONCERT,
+                LocalDate.of(2025, 4, 4), "Leipzig Gewandhaus", 6, 30.00);
+        event.attachSeatInventory(inventory);
+        try (TicketSalesPipeline pipeline = new TicketSalesPipeline()) {
+            assertTrue(pipeline.submit(event, 3).get());
+            assertTrue(pipeline.submit(event, 2).get());
+            assertFalse(pipeline.submit(event, 2).get()); // one seat left
+        }
+        assertEquals(5, event.getSoldTicketCount());
+        assertEquals(5, inventory.getSoldCount());
+    }
+
+    @Test
+    void testFailingSaleDoesNotStallTheEvent() throws Exception {
+        Event event = new Event("Open Air", EventType.CONCERT,
+                LocalDate.of(2025, 7, 7), "Hamburg Stadtpark", 10, 45.00);
+        AtomicBoolean failing = new AtomicBoolean(true);
+        event.setEventSink(domainEvent -> {
+            if (failing.get()) {
+                throw new IllegalStateException("sink failed");
+            }
+        });
+        try (TicketSalesPipeline pipeline = new TicketSalesPipeline(16, 16, 1)) {
+            ExecutionException failed = assertThrows(ExecutionException.class,
+                    () -> pipeline.submit(event, 2).get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failed.getCause());
+
+            failing.set(false);
+            assertTrue(pipeline.submit(event, 3).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testCloseSellsEveryQueuedRequest() throws Exception {
+        Event event = new Event("Club Night", EventType.CONCERT,
+                LocalDate.of(2025, 11, 1), "Berlin", 1_000, 20.00);
+        CountDownLatch selling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        event.setEventSink(domainEvent -> { // holds the only worker inside the first sale
+            selling.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TicketSalesPipeline pipeline = new TicketSalesPipeline(1_000, 4, 1);
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        results.add(pipeline.submit(event, 1));
+        assertTrue(selling.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 200; i++) { // more than one turn of 16 batches of 4
+            results.add(pipeline.submit(event, 1));
+        }
+
+        Thread closer = new Thread(pipeline::close);
+        closer.start();
+        Thread.sleep(100); // let close shut the workers down while the requests are still queued
+        release.countDown();
+        closer.join(TimeUnit.SECONDS.toMillis(30));
+
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(201, event.getSoldTicketCount());
+    }
+
+    @Test
+    void testInvalidAndClosedRequestsFail() {
+        Event event = new Event("Meetup", EventType.MEETUP,
+                LocalDate.of(2025, 2, 2), "Cologne", 10, 0.00);
+        TicketSalesPipeline pipeline = new TicketSalesPipeline(1, 1, 1);
+
+        ExecutionException invalid = assertThrows(ExecutionException.class, () -> pipeline.submit(event, 0).get());
+        assertInstanceOf(IllegalArgumentException.class, invalid.getCause());
+
+        pipeline.close();
+        ExecutionException closed = assertThrows(ExecutionException.class, () -> pipeline.submit(event, 1).get());
+        assertInstanceOf(IllegalStateException.class, closed.getCause());
+    }
+}
@@ -0,0 +1,46 @@
+package de.ait.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedTodayTest {
+
+    @Test
+    void testDateFollowsTheClockAcrossMidnight() {
+        ZoneId zone = ZoneOffset.ofHours(2);
+        AtomicLong millis = new AtomicLong(LocalDate.of(2025, 3, 10).atTime(23, 59, 59).atZone(zone).toInstant().toEpochMilli());
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return zone;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zoneId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.get());
+            }
+        };
+        CachedToday today = new CachedToday(clock);
+
+        assertEquals(LocalDate.of(2025, 3, 10), today.get());
+        millis.addAndGet(999);
+        assertEquals(LocalDate.of(2025, 3, 10), today.get());
+        millis.addAndGet(1);
+        assertEquals(LocalDate.of(2025, 3, 11), today.get());
+        millis.addAndGet(-1); // a clock set back is followed as well
+        assertEquals(LocalDate.of(2025, 3, 10), today.get());
+    }
+}